@@ -0,0 +1,143 @@
+package org.jvnet.hyperjaxb3.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+
+import org.jvnet.hyperjaxb3.ejb.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures bulk id extraction with <code>EntityUtils.getId</code>, as done
+ * for every merged entity of an import. The <code>legacy*</code> benchmark
+ * repeats the previous per-call scan of the public fields and methods for
+ * <code>@EmbeddedId</code> and <code>@Id</code> as baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityIdBenchmark {
+
+	@Param({ "1000" })
+	public int size;
+
+	private Object[] entities;
+
+	@Setup
+	public void setup() {
+		entities = new Object[size];
+		for (int index = 0; index < size; index++) {
+			// Mix field and property access
+			if (index % 2 == 0) {
+				entities[index] = new FieldEntity(index);
+			} else {
+				final PropertyEntity entity = new PropertyEntity();
+				entity.setHjid(Long.valueOf(index));
+				entities[index] = entity;
+			}
+		}
+	}
+
+	@Benchmark
+	public void getId(Blackhole blackhole) throws Exception {
+		for (Object entity : entities) {
+			blackhole.consume(EntityUtils.getId(entity));
+		}
+	}
+
+	@Benchmark
+	public void legacyGetId(Blackhole blackhole) throws Exception {
+		for (Object entity : entities) {
+			blackhole.consume(legacyGetId(entity));
+		}
+	}
+
+	private static Object legacyGetId(Object entity) throws Exception {
+		Field embeddedIdField = null;
+		Method embeddedIdMethod = null;
+		Field idField = null;
+		Method idMethod = null;
+		for (Field field : entity.getClass().getFields()) {
+			if (field.isAnnotationPresent(EmbeddedId.class)) {
+				embeddedIdField = field;
+			}
+		}
+		for (Method method : entity.getClass().getMethods()) {
+			if (method.isAnnotationPresent(EmbeddedId.class)) {
+				embeddedIdMethod = method;
+			}
+		}
+		for (Field field : entity.getClass().getFields()) {
+			if (field.isAnnotationPresent(Id.class)) {
+				idField = field;
+			}
+		}
+		for (Method method : entity.getClass().getMethods()) {
+			if (method.isAnnotationPresent(Id.class)) {
+				idMethod = method;
+			}
+		}
+		if (embeddedIdField != null) {
+			return embeddedIdField.get(entity);
+		} else if (embeddedIdMethod != null) {
+			return embeddedIdMethod.invoke(entity);
+		} else if (idField != null) {
+			return idField.get(entity);
+		} else if (idMethod != null) {
+			return idMethod.invoke(entity);
+		} else {
+			throw new IllegalArgumentException("No id could be found.");
+		}
+	}
+
+	public static class FieldEntity {
+
+		@Id
+		public Long hjid;
+
+		public String name;
+
+		public FieldEntity(long hjid) {
+			this.hjid = Long.valueOf(hjid);
+			this.name = "entity" + hjid;
+		}
+	}
+
+	/**
+	 * Property access as in the generated classes.
+	 */
+	public static class PropertyEntity {
+
+		private Long hjid;
+
+		private String name;
+
+		@Id
+		public Long getHjid() {
+			return hjid;
+		}
+
+		public void setHjid(Long value) {
+			this.hjid = value;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String value) {
+			this.name = value;
+		}
+	}
+}
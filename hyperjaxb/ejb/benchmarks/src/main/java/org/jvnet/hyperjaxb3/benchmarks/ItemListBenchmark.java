@@ -0,0 +1,174 @@
+package org.jvnet.hyperjaxb3.benchmarks;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.jvnet.hyperjaxb3.item.Converter;
+import org.jvnet.hyperjaxb3.item.DefaultItemList;
+import org.jvnet.hyperjaxb3.item.Item;
+import org.jvnet.hyperjaxb3.item.RandomAccessConvertedList;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsDateTime;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XmlAdapterUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures iteration-heavy workloads on item list views: repeated iteration of
+ * an adapted list (<code>ConvertedList</code>) and bulk operations of item
+ * lists. The <code>legacy*</code> benchmarks repeat the previous behaviour
+ * (conversion on every access, element by element modifications) as baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemListBenchmark {
+
+	@Param({ "50000" })
+	public int size;
+
+	private Converter<Date, XMLGregorianCalendar> converter;
+
+	private List<XMLGregorianCalendar> convertedList;
+
+	private List<XMLGregorianCalendar> legacyConvertedList;
+
+	private List<String> values;
+
+	@Setup
+	public void setup() {
+		converter = XmlAdapterUtils
+				.getConverter(XMLGregorianCalendarAsDateTime.class);
+		final List<Date> dates = new ArrayList<Date>(size);
+		final long now = System.currentTimeMillis();
+		for (int index = 0; index < size; index++) {
+			dates.add(new Date(now + index * 1000L));
+		}
+		convertedList = new RandomAccessConvertedList<XMLGregorianCalendar, Date>(
+				dates, converter);
+		legacyConvertedList = new LegacyConvertedList<XMLGregorianCalendar, Date>(
+				dates, converter);
+		values = new ArrayList<String>(size);
+		for (int index = 0; index < size; index++) {
+			values.add("value" + index);
+		}
+	}
+
+	@Benchmark
+	public void iterateConverted(Blackhole blackhole) {
+		for (XMLGregorianCalendar value : convertedList) {
+			blackhole.consume(value);
+		}
+	}
+
+	@Benchmark
+	public void legacyIterateConverted(Blackhole blackhole) {
+		for (XMLGregorianCalendar value : legacyConvertedList) {
+			blackhole.consume(value);
+		}
+	}
+
+	@Benchmark
+	public List<String> addAllItems() {
+		final List<String> list = new DefaultItemList<String, StringItem>(
+				new ArrayList<StringItem>(), StringItem.class);
+		list.addAll(values);
+		return list;
+	}
+
+	@Benchmark
+	public List<String> legacyAddAllItems() {
+		final List<String> list = new DefaultItemList<String, StringItem>(
+				new ArrayList<StringItem>(), StringItem.class);
+		for (String value : values) {
+			list.add(list.size(), value);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public List<String> removeIfItems(ItemListState state) {
+		state.list.removeIf(new Predicate<String>() {
+			public boolean test(String value) {
+				return value.hashCode() % 2 == 0;
+			}
+		});
+		return state.list;
+	}
+
+	@Benchmark
+	public List<String> legacyRemoveIfItems(ItemListState state) {
+		// AbstractList iterator removal, one core removal per element
+		for (Iterator<String> iterator = state.list.iterator(); iterator
+				.hasNext();) {
+			if (iterator.next().hashCode() % 2 == 0) {
+				iterator.remove();
+			}
+		}
+		return state.list;
+	}
+
+	@State(Scope.Thread)
+	public static class ItemListState {
+
+		private List<String> list;
+
+		@Setup(Level.Invocation)
+		public void setup(ItemListBenchmark benchmark) {
+			list = new DefaultItemList<String, StringItem>(
+					new ArrayList<StringItem>(), StringItem.class);
+			list.addAll(benchmark.values);
+		}
+	}
+
+	public static class StringItem implements Item<String> {
+
+		private String item;
+
+		public String getItem() {
+			return item;
+		}
+
+		public void setItem(String value) {
+			this.item = value;
+		}
+	}
+
+	/**
+	 * Previous <code>ConvertedList</code>, converts on every access.
+	 */
+	public static class LegacyConvertedList<O, I> extends AbstractList<O> {
+
+		private final List<I> inner;
+		private final Converter<I, O> converter;
+
+		public LegacyConvertedList(List<I> inner, Converter<I, O> converter) {
+			this.inner = inner;
+			this.converter = converter;
+		}
+
+		@Override
+		public O get(int index) {
+			return converter.inverse(inner.get(index));
+		}
+
+		@Override
+		public int size() {
+			return inner.size();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package org.jvnet.hyperjaxb3.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.AbstractXMLGregorianCalendarAdapter;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsDate;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsDateTime;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGDay;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGMonth;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGMonthDay;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGYear;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGYearMonth;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the <code>XMLGregorianCalendarAs*</code> adapters for all
+ * supported XML Schema types. The <code>legacy*</code> benchmarks repeat the
+ * previous conversions (<code>DatatypeFactory.newInstance()</code> per value,
+ * deprecated <code>Date</code> getters and
+ * <code>normalize().toGregorianCalendar()</code>) as baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class XMLGregorianCalendarAdapterBenchmark {
+
+	@Param({ "dateTime", "date", "time", "gYear", "gYearMonth", "gMonth",
+			"gMonthDay", "gDay" })
+	public String type;
+
+	private AbstractXMLGregorianCalendarAdapter adapter;
+
+	private XMLGregorianCalendar calendar;
+
+	private Date date;
+
+	@Setup
+	public void setup() throws Exception {
+		final String text;
+		if ("dateTime".equals(type)) {
+			adapter = new XMLGregorianCalendarAsDateTime();
+			text = "2008-01-02T10:18:30.012+01:00";
+		} else if ("date".equals(type)) {
+			adapter = new XMLGregorianCalendarAsDate();
+			text = "2008-01-02";
+		} else if ("time".equals(type)) {
+			adapter = new XMLGregorianCalendarAsTime();
+			text = "10:18:30.012";
+		} else if ("gYear".equals(type)) {
+			adapter = new XMLGregorianCalendarAsGYear();
+			text = "2008";
+		} else if ("gYearMonth".equals(type)) {
+			adapter = new XMLGregorianCalendarAsGYearMonth();
+			text = "2008-01";
+		} else if ("gMonth".equals(type)) {
+			adapter = new XMLGregorianCalendarAsGMonth();
+			text = "--01";
+		} else if ("gMonthDay".equals(type)) {
+			adapter = new XMLGregorianCalendarAsGMonthDay();
+			text = "--01-02";
+		} else if ("gDay".equals(type)) {
+			adapter = new XMLGregorianCalendarAsGDay();
+			text = "---02";
+		} else {
+			throw new IllegalArgumentException(type);
+		}
+		calendar = DatatypeFactory.newInstance().newXMLGregorianCalendar(text);
+		date = adapter.unmarshal(calendar);
+	}
+
+	@Benchmark
+	public Date unmarshal() throws Exception {
+		return adapter.unmarshal(calendar);
+	}
+
+	@Benchmark
+	public XMLGregorianCalendar marshal() throws Exception {
+		return adapter.marshal(date);
+	}
+
+	@Benchmark
+	public long legacyUnmarshal() {
+		return calendar.normalize().toGregorianCalendar().getTimeInMillis();
+	}
+
+	@SuppressWarnings("deprecation")
+	@Benchmark
+	public XMLGregorianCalendar legacyMarshal() throws Exception {
+		final XMLGregorianCalendar target = DatatypeFactory.newInstance()
+				.newXMLGregorianCalendar();
+		if (!"time".equals(type)) {
+			target.setYear(date.getYear() + 1900);
+			target.setMonth(date.getMonth() + 1);
+			target.setDay(date.getDate());
+		}
+		if ("dateTime".equals(type) || "time".equals(type)) {
+			target.setHour(date.getHours());
+			target.setMinute(date.getMinutes());
+			target.setSecond(date.getSeconds());
+			target.setMillisecond((int) (date.getTime() % 1000));
+		}
+		return target;
+	}
+}
@@ -0,0 +1,116 @@
+package org.jvnet.hyperjaxb3.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.QNameAsString;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsDateTime;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XmlAdapterUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures adapted property accessors as generated by Hyperjaxb3:
+ * <ul>
+ * <li><code>newInstance*</code> - a new adapter per call (previous
+ * <code>XmlAdapterUtils.getXmlAdapter</code> behaviour);</li>
+ * <li><code>registry*</code> - <code>XmlAdapterUtils.marshall/unmarshall</code>
+ * with the adapter class;</li>
+ * <li><code>staticAdapter*</code> - <code>XmlAdapterUtils.marshall/unmarshall</code>
+ * with the <code>static final</code> adapter field of the generated class.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class XmlAdapterAccessorBenchmark {
+
+	private static final QNameAsString XML_ADAPTER_QNAMEASSTRING = ((QNameAsString) XmlAdapterUtils
+			.getXmlAdapter(QNameAsString.class));
+
+	private static final XMLGregorianCalendarAsDateTime XML_ADAPTER_XMLGREGORIANCALENDARASDATETIME = ((XMLGregorianCalendarAsDateTime) XmlAdapterUtils
+			.getXmlAdapter(XMLGregorianCalendarAsDateTime.class));
+
+	private String nameItem;
+
+	private QName name;
+
+	private Date timestampItem;
+
+	private XMLGregorianCalendar timestamp;
+
+	@Setup
+	public void setup() throws Exception {
+		nameItem = "{urn:test}test";
+		name = new QName("urn:test", "test");
+		timestamp = DatatypeFactory.newInstance().newXMLGregorianCalendar(
+				"2008-01-02T10:18:30.012+01:00");
+		timestampItem = XmlAdapterUtils.unmarshall(
+				XMLGregorianCalendarAsDateTime.class, timestamp);
+	}
+
+	@Benchmark
+	public QName newInstanceSetNameItem() throws Exception {
+		return XmlAdapterUtils.createXmlAdapter(QNameAsString.class).marshal(
+				nameItem);
+	}
+
+	@Benchmark
+	public QName registrySetNameItem() {
+		return XmlAdapterUtils.marshall(QNameAsString.class, nameItem);
+	}
+
+	@Benchmark
+	public QName staticAdapterSetNameItem() {
+		return XmlAdapterUtils.marshall(XML_ADAPTER_QNAMEASSTRING, nameItem);
+	}
+
+	@Benchmark
+	public String newInstanceGetNameItem() throws Exception {
+		return XmlAdapterUtils.createXmlAdapter(QNameAsString.class)
+				.unmarshal(name);
+	}
+
+	@Benchmark
+	public String registryGetNameItem() {
+		return XmlAdapterUtils.unmarshall(QNameAsString.class, name);
+	}
+
+	@Benchmark
+	public String staticAdapterGetNameItem() {
+		return XmlAdapterUtils.unmarshall(XML_ADAPTER_QNAMEASSTRING, name);
+	}
+
+	@Benchmark
+	public Date newInstanceGetTimestampItem() throws Exception {
+		return XmlAdapterUtils.createXmlAdapter(
+				XMLGregorianCalendarAsDateTime.class).unmarshal(timestamp);
+	}
+
+	@Benchmark
+	public Date registryGetTimestampItem() {
+		return XmlAdapterUtils.unmarshall(
+				XMLGregorianCalendarAsDateTime.class, timestamp);
+	}
+
+	@Benchmark
+	public Date staticAdapterGetTimestampItem() {
+		return XmlAdapterUtils.unmarshall(
+				XML_ADAPTER_XMLGREGORIANCALENDARASDATETIME, timestamp);
+	}
+
+	@Benchmark
+	public XMLGregorianCalendar staticAdapterSetTimestampItem() {
+		return XmlAdapterUtils.marshall(
+				XML_ADAPTER_XMLGREGORIANCALENDARASDATETIME, timestampItem);
+	}
+}
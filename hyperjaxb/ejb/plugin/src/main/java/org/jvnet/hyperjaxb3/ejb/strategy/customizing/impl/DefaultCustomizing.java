@@ -2,10 +2,13 @@ package org.jvnet.hyperjaxb3.ejb.strategy.customizing.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.xml.namespace.QName;
 
@@ -63,6 +66,16 @@ public class DefaultCustomizing implements Customizing {
 
 	private final Map<CPluginCustomization, Object> customizationsMap = new IdentityHashMap<CPluginCustomization, Object>();
 
+	// Model customizations which were already merged with the defaults
+	private final Set<Persistence> mergedPersistences = Collections
+			.newSetFromMap(new IdentityHashMap<Persistence, Boolean>());
+
+	// Default single and collection properties of the customizations by type
+	// name, customizations are merged only once so the indexes stay valid
+	private final Map<Persistence, Map<QName, SingleProperty>> defaultSingleProperties = new IdentityHashMap<Persistence, Map<QName, SingleProperty>>();
+
+	private final Map<Persistence, Map<QName, CollectionProperty>> defaultCollectionProperties = new IdentityHashMap<Persistence, Map<QName, CollectionProperty>>();
+
 	private <T> T findCustomization(Model model, QName name) {
 		final CPluginCustomization customization = CustomizationUtils
 				.findCustomization(model, name);
@@ -184,7 +197,7 @@ public class DefaultCustomizing implements Customizing {
 		if (cPersistence == null) {
 			return getDefaultCustomizations();
 		}
-		if (!cPersistence.isMerge()) {
+		if (!cPersistence.isMerge() || mergedPersistences.contains(cPersistence)) {
 			return cPersistence;
 		} else {
 			final Persistence defaultPersistence = getDefaultCustomizations();
@@ -220,6 +233,7 @@ public class DefaultCustomizing implements Customizing {
 			cPersistence.getDefaultCollectionProperty().addAll(
 					defaultPersistence.getDefaultCollectionProperty());
 			mergeFrom(cPersistence, defaultPersistence);
+			mergedPersistences.add(cPersistence);
 			return cPersistence;
 		}
 	}
@@ -517,26 +531,42 @@ public class DefaultCustomizing implements Customizing {
 			QName typeName) {
 		Validate.notNull(persistence);
 		Validate.notNull(typeName);
-		for (final SingleProperty property : persistence
-				.getDefaultSingleProperty()) {
-			if (typeName.equals(property.getType())) {
-				return property;
+		Map<QName, SingleProperty> properties = defaultSingleProperties
+				.get(persistence);
+		if (properties == null) {
+			properties = new HashMap<QName, SingleProperty>();
+			for (final SingleProperty property : persistence
+					.getDefaultSingleProperty()) {
+				// The first property declared for the type wins
+				if (property.getType() != null
+						&& !properties.containsKey(property.getType())) {
+					properties.put(property.getType(), property);
+				}
 			}
+			defaultSingleProperties.put(persistence, properties);
 		}
-		return null;
+		return properties.get(typeName);
 	}
 
 	public CollectionProperty getDefaultCollectionProperty(
 			Persistence persistence, QName typeName) {
 		Validate.notNull(persistence);
 		Validate.notNull(typeName);
-		for (final CollectionProperty property : persistence
-				.getDefaultCollectionProperty()) {
-			if (typeName.equals(property.getType())) {
-				return property;
+		Map<QName, CollectionProperty> properties = defaultCollectionProperties
+				.get(persistence);
+		if (properties == null) {
+			properties = new HashMap<QName, CollectionProperty>();
+			for (final CollectionProperty property : persistence
+					.getDefaultCollectionProperty()) {
+				// The first property declared for the type wins
+				if (property.getType() != null
+						&& !properties.containsKey(property.getType())) {
+					properties.put(property.getType(), property);
+				}
 			}
+			defaultCollectionProperties.put(persistence, properties);
 		}
-		return null;
+		return properties.get(typeName);
 	}
 
 	public Basic getBasic(CPropertyInfo property) {
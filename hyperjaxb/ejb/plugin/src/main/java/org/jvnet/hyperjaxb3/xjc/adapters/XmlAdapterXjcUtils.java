@@ -7,10 +7,47 @@ import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XmlAdapterUtils;
 
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMod;
 
 public class XmlAdapterXjcUtils {
 
+	/**
+	 * Returns an expression for the adapter instance of the given class. The
+	 * shared runtime adapters (see
+	 * {@link XmlAdapterUtils#isSharedXmlAdapter(String)}) are referenced by a
+	 * <code>private static final</code> field of the given class, the field is
+	 * declared on first request. Other adapters are created per use with
+	 * {@link XmlAdapterUtils#getXmlAdapter(Class)}.
+	 */
+	public static JExpression getXmlAdapter(JCodeModel codeModel,
+			JDefinedClass theClass, JClass xmlAdapterClass) {
+		final JExpression xmlAdapter = JExpr.cast(xmlAdapterClass, codeModel
+				.ref(XmlAdapterUtils.class).staticInvoke("getXmlAdapter")
+				.arg(xmlAdapterClass.dotclass()));
+		if (!XmlAdapterUtils.isSharedXmlAdapter(xmlAdapterClass.fullName())) {
+			return xmlAdapter;
+		}
+		final String baseName = "XML_ADAPTER_"
+				+ xmlAdapterClass.name().replaceAll("\\W", "_").toUpperCase();
+		String name = baseName;
+		for (int index = 1;; index++) {
+			final JFieldVar field = theClass.fields().get(name);
+			if (field == null) {
+				return theClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+						xmlAdapterClass, name, xmlAdapter);
+			} else if (field.type().fullName()
+					.equals(xmlAdapterClass.fullName())) {
+				return field;
+			} else {
+				name = baseName + "_" + index;
+			}
+		}
+	}
+
 	public static JExpression unmarshall(JCodeModel codeModel, JExpression value) {
 		return value;
 	}
@@ -22,6 +59,20 @@ public class XmlAdapterXjcUtils {
 				.arg(xmlAdapterClass.dotclass()).arg(value);
 	}
 
+	public static JExpression unmarshall(JCodeModel codeModel,
+			JExpression xmlAdapter, JExpression value) {
+
+		return codeModel.ref(XmlAdapterUtils.class).staticInvoke("unmarshall")
+				.arg(xmlAdapter).arg(value);
+	}
+
+	public static JExpression unmarshallJAXBElement(JCodeModel codeModel,
+			JExpression xmlAdapter, JExpression value) {
+
+		return codeModel.ref(XmlAdapterUtils.class).staticInvoke(
+				"unmarshallJAXBElement").arg(xmlAdapter).arg(value);
+	}
+
 	public static JExpression unmarshallJAXBElement(JCodeModel codeModel,
 			JClass xmlAdapterClass, JExpression value) {
 
@@ -45,6 +96,13 @@ public class XmlAdapterXjcUtils {
 				.arg(xmlAdapterClass.dotclass()).arg(value);
 	}
 
+	public static JExpression marshall(JCodeModel codeModel,
+			JExpression xmlAdapter, JExpression value) {
+
+		return codeModel.ref(XmlAdapterUtils.class).staticInvoke("marshall")
+				.arg(xmlAdapter).arg(value);
+	}
+
 	public static JExpression marshall(JCodeModel codeModel, JExpression value) {
 
 		return value;
@@ -62,6 +120,18 @@ public class XmlAdapterXjcUtils {
 				value);
 	}
 
+	public static JExpression marshallJAXBElement(JCodeModel codeModel,
+			JExpression xmlAdapter, JClass declaredType, QName name,
+			JClass scope, JExpression value) {
+
+		return codeModel.ref(XmlAdapterUtils.class).staticInvoke(
+				"marshallJAXBElement").arg(xmlAdapter).arg(
+				declaredType.dotclass()).
+
+		arg(JExprUtils.newQName(codeModel, name)).arg(scope.dotclass()).arg(
+				value);
+	}
+
 	public static JExpression marshallJAXBElement(JCodeModel codeModel,
 			JClass declaredType, QName name, JClass scope, JExpression value) {
 
@@ -1,6 +1,9 @@
 package org.jvnet.hyperjaxb3.xjc.generator.bean.field;
 
+import org.jvnet.hyperjaxb3.xjc.adapters.XmlAdapterXjcUtils;
+
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JExpression;
 import com.sun.tools.xjc.generator.bean.ClassOutlineImpl;
 import com.sun.tools.xjc.model.CAdapter;
 import com.sun.tools.xjc.model.CPropertyInfo;
@@ -23,4 +26,9 @@ public abstract class AdaptingWrappingField extends AbstractWrappingField {
 
 	}
 
+	protected JExpression getXmlAdapter() {
+		return XmlAdapterXjcUtils.getXmlAdapter(codeModel, outline.implClass,
+				xmlAdapterClass);
+	}
+
 }
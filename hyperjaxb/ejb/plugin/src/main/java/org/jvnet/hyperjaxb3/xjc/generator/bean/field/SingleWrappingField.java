@@ -20,7 +20,7 @@ public class SingleWrappingField extends AdaptingWrappingField {
 			return XmlAdapterXjcUtils.marshall(codeModel, target);
 		} else {
 
-			return XmlAdapterXjcUtils.marshall(codeModel, xmlAdapterClass,
+			return XmlAdapterXjcUtils.marshall(codeModel, getXmlAdapter(),
 					target);
 		}
 	}
@@ -30,7 +30,7 @@ public class SingleWrappingField extends AdaptingWrappingField {
 		if (xmlAdapterClass == null) {
 			return XmlAdapterXjcUtils.unmarshall(codeModel, source);
 		} else {
-			return XmlAdapterXjcUtils.unmarshall(codeModel, xmlAdapterClass,
+			return XmlAdapterXjcUtils.unmarshall(codeModel, getXmlAdapter(),
 					source);
 		}
 	}
@@ -44,7 +44,7 @@ public class SingleWrappingReferenceField extends AdaptingWrappingField {
 
 		} else {
 			return XmlAdapterXjcUtils.marshallJAXBElement(codeModel,
-					xmlAdapterClass, declaredType, name, scope, value);
+					getXmlAdapter(), declaredType, name, scope, value);
 		}
 	}
 
@@ -110,7 +110,7 @@ public class SingleWrappingReferenceField extends AdaptingWrappingField {
 
 		} else {
 			return XmlAdapterXjcUtils.unmarshallJAXBElement(codeModel,
-					xmlAdapterClass, value);
+					getXmlAdapter(), value);
 		}
 
 	}
@@ -35,6 +35,8 @@ public abstract class AbstractEntityManagerSamplesTest extends
 
 	private AbstractSamplesTest samplesTest;
 
+	private JAXBContext context;
+
 	@Override
 	public void setUp() throws Exception {
 		super.setUp();
@@ -96,6 +98,17 @@ public abstract class AbstractEntityManagerSamplesTest extends
 		return samplesTest.createContext();
 	}
 
+	/**
+	 * Returns the context shared by the samples of this test, created on first
+	 * access.
+	 */
+	protected synchronized JAXBContext getContext() throws JAXBException {
+		if (context == null) {
+			context = createContext();
+		}
+		return context;
+	}
+
 	@Override
 	public String getPersistenceUnitName() {
 		return getContextPath();
@@ -0,0 +1,294 @@
+package org.jvnet.hyperjaxb3.ejb.test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.util.JAXBSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hyperjaxb3.ejb.util.EntityUtils;
+import org.jvnet.jaxb.lang.CopyTo;
+
+/**
+ * Roundtrip test which checks the samples in parallel.
+ * <p>
+ * Samples are split into batches of {@link #getBatchSize()} samples. Each batch
+ * is checked by a worker thread with its own entity managers: the samples are
+ * unmarshalled with the shared context, merged in one transaction, loaded and
+ * compared. The etalon object is a copy of the unmarshalled object instead of
+ * a second unmarshalling of the sample file.
+ * </p>
+ * <p>
+ * Samples of a failed batch are checked again one by one with
+ * {@link #checkSample(File)} after all batches are done, since samples of a
+ * batch may share ids. Only samples which fail this check fail the test.
+ * </p>
+ */
+public abstract class ParallelRoundtripTest extends RoundtripTest {
+
+	public static final int DEFAULT_BATCH_SIZE = 20;
+
+	/**
+	 * Number of worker threads, defaults to the number of processors.
+	 */
+	protected int getThreads() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Number of samples merged in one transaction.
+	 */
+	protected int getBatchSize() {
+		return DEFAULT_BATCH_SIZE;
+	}
+
+	/**
+	 * Overrides of <code>setUp()</code> are not run unless annotated.
+	 */
+	@Override
+	@BeforeEach
+	public void setUp() throws Exception {
+		super.setUp();
+	}
+
+	@Override
+	@Test
+	public void testSamples() throws Exception {
+		logger.debug("Testing samples.");
+		final File[] sampleFiles = getSampleFiles();
+		final int batchSize = Math.max(1, getBatchSize());
+		final Statistics statistics = new Statistics();
+		final long start = System.nanoTime();
+		// Create the context before the workers start
+		getContext();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math
+				.max(1, getThreads()));
+		final List<Future<Collection<File>>> futures = new ArrayList<Future<Collection<File>>>();
+		try {
+			for (int index = 0; index < sampleFiles.length; index += batchSize) {
+				final List<File> batch = Arrays.asList(sampleFiles).subList(
+						index, Math.min(index + batchSize, sampleFiles.length));
+				futures.add(executor.submit(new Callable<Collection<File>>() {
+					public Collection<File> call() throws Exception {
+						return checkSamples(batch, statistics);
+					}
+				}));
+			}
+			final List<File> failedSamples = new ArrayList<File>();
+			for (Future<Collection<File>> future : futures) {
+				try {
+					failedSamples.addAll(future.get());
+				} catch (ExecutionException eex) {
+					throw new AssertionError(eex.getCause());
+				}
+			}
+			int failed = 0;
+			for (File sampleFile : failedSamples) {
+				logger.debug("Checking sample [" + sampleFile.getName()
+						+ "] again.");
+				try {
+					checkSample(sampleFile);
+				} catch (Throwable ex) {
+					logger.error("Sample [" + sampleFile.getName()
+							+ "] failed the check.", ex);
+					failed++;
+				}
+			}
+			statistics.log(System.nanoTime() - start);
+			logger.debug("Finished testing samples.");
+			Assertions.assertTrue(failed == 0, "Totally [" + failed + "/"
+					+ sampleFiles.length + "] failed the check.");
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	/**
+	 * Checks a batch of samples.
+	 *
+	 * @return samples which failed the check.
+	 */
+	protected Collection<File> checkSamples(List<File> sampleFiles,
+			Statistics statistics) throws JAXBException {
+		final JAXBContext context = getContext();
+		final Unmarshaller unmarshaller = context.createUnmarshaller();
+		final List<File> failedSamples = new ArrayList<File>();
+		final List<Sample> samples = new ArrayList<Sample>(sampleFiles.size());
+
+		for (File sampleFile : sampleFiles) {
+			final long start = System.nanoTime();
+			try {
+				final Sample sample = new Sample(sampleFile,
+						unmarshaller.unmarshal(sampleFile));
+				sample.etalonObject = copy(context, unmarshaller, sample);
+				sample.time = System.nanoTime() - start;
+				samples.add(sample);
+			} catch (Throwable ex) {
+				logger.debug("Sample [" + sampleFile.getName()
+						+ "] could not be unmarshalled.", ex);
+				failedSamples.add(sampleFile);
+			}
+		}
+
+		final long saveStart = System.nanoTime();
+		final EntityManager saveManager = createEntityManager();
+		try {
+			final EntityTransaction transaction = saveManager.getTransaction();
+			transaction.begin();
+			try {
+				for (Sample sample : samples) {
+					sample.mergedObject = saveManager.merge(sample.object);
+				}
+				transaction.commit();
+			} finally {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
+			}
+			for (Sample sample : samples) {
+				sample.id = EntityUtils.getId(saveManager, sample.mergedObject);
+			}
+		} catch (Throwable ex) {
+			logger.debug("Batch of [" + sampleFiles.size()
+					+ "] samples could not be saved.", ex);
+			return sampleFiles;
+		} finally {
+			saveManager.close();
+		}
+		// Share the batch save time among the samples
+		final long saveTime = samples.isEmpty() ? 0
+				: (System.nanoTime() - saveStart) / samples.size();
+
+		final EntityManager loadManager = createEntityManager();
+		try {
+			for (Sample sample : samples) {
+				final long start = System.nanoTime();
+				try {
+					final Object loadedObject = loadManager.find(
+							sample.mergedObject.getClass(), sample.id);
+					checkObjects(sample.mergedObject, loadedObject);
+					checkObjects(sample.etalonObject, loadedObject);
+					sample.time += saveTime + System.nanoTime() - start;
+					statistics.add(sample);
+				} catch (Throwable ex) {
+					logger.debug("Sample [" + sample.file.getName()
+							+ "] failed the check in batch.", ex);
+					failedSamples.add(sample.file);
+				}
+			}
+		} finally {
+			loadManager.close();
+		}
+		return failedSamples;
+	}
+
+	/**
+	 * Returns a deep copy of the unmarshalled object. Copyable objects are
+	 * copied, other objects are unmarshalled from the object.
+	 */
+	protected Object copy(JAXBContext context, Unmarshaller unmarshaller,
+			Sample sample) throws JAXBException {
+		if (sample.object instanceof CopyTo) {
+			final CopyTo copyable = (CopyTo) sample.object;
+			return copyable.copyTo(copyable.createNewInstance());
+		} else {
+			final Object copy = unmarshaller.unmarshal(
+					new JAXBSource(context, sample.draft));
+			return copy instanceof JAXBElement ? ((JAXBElement<?>) copy)
+					.getValue() : copy;
+		}
+	}
+
+	/**
+	 * Unmarshalled sample.
+	 */
+	protected static class Sample {
+
+		private final File file;
+
+		private final Object draft;
+
+		private final Object object;
+
+		private Object etalonObject;
+
+		private Object mergedObject;
+
+		private Object id;
+
+		private long time;
+
+		private Sample(File file, Object draft) {
+			this.file = file;
+			this.draft = draft;
+			this.object = draft instanceof JAXBElement ? ((JAXBElement<?>) draft)
+					.getValue() : draft;
+		}
+	}
+
+	/**
+	 * Check times of the samples, per sample and per root class.
+	 */
+	protected class Statistics {
+
+		private final Map<String, long[]> classes = new TreeMap<String, long[]>();
+
+		private int count;
+
+		private synchronized void add(Sample sample) {
+			logger.debug("Sample [" + sample.file.getName()
+					+ "] checked in [" + toMillis(sample.time) + "] ms.");
+			final String className = sample.object.getClass().getName();
+			long[] classStatistics = classes.get(className);
+			if (classStatistics == null) {
+				classStatistics = new long[2];
+				classes.put(className, classStatistics);
+			}
+			classStatistics[0]++;
+			classStatistics[1] += sample.time;
+			count++;
+		}
+
+		private synchronized void log(long time) {
+			logger.info("Checked [" + count + "] samples in ["
+					+ toMillis(time) + "] ms, ["
+					+ perSecond(count, time) + "] samples/s.");
+			for (Map.Entry<String, long[]> entry : classes.entrySet()) {
+				final long[] classStatistics = entry.getValue();
+				logger.info("Class [" + entry.getKey() + "]: ["
+						+ classStatistics[0] + "] samples, ["
+						+ perSecond(classStatistics[0], classStatistics[1])
+						+ "] samples/s per thread.");
+			}
+		}
+
+		private long toMillis(long nanos) {
+			return TimeUnit.NANOSECONDS.toMillis(nanos);
+		}
+
+		private long perSecond(long count, long nanos) {
+			return nanos == 0 ? 0 : count * TimeUnit.SECONDS.toNanos(1)
+					/ nanos;
+		}
+	}
+}
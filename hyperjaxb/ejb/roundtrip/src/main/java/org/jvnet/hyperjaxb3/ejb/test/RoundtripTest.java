@@ -18,7 +18,7 @@ public abstract class RoundtripTest extends AbstractEntityManagerSamplesTest {
 
 	@Override
 	protected void checkSample(File sample) throws Exception {
-		final JAXBContext context = createContext();
+		final JAXBContext context = getContext();
 		logger.debug("Unmarshalling.");
 		final Unmarshaller unmarshaller = context.createUnmarshaller();
 
@@ -0,0 +1,52 @@
+package org.jvnet.hyperjaxb3.ejb.test.tests;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.namespace.QName;
+
+import jakarta.persistence.EntityManager;
+import jakarta.xml.bind.JAXBContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hyperjaxb3.ejb.test.AbstractEntityManagerTest;
+import org.jvnet.hyperjaxb3.ejb.util.BatchPersister;
+
+public class BatchPersisterTest extends AbstractEntityManagerTest {
+
+    @Test
+	public void testPersist() throws Exception {
+		final StringBuilder document = new StringBuilder("<list>");
+		for (int index = 0; index < 250; index++) {
+			document.append("<K id=\"batch").append(index).append("\">")
+					.append("<one>one").append(index).append("</one>")
+					.append("<kthree>three").append(index).append("</kthree>")
+					.append("</K>");
+			// Other elements are skipped
+			document.append("<ignored><one>ignored</one></ignored>");
+		}
+		document.append("</list>");
+
+		final BatchPersister persister = new BatchPersister(
+				getEntityManagerFactory(),
+				JAXBContext.newInstance(ObjectFactory.class));
+		persister.setBatchSize(100);
+		final long count = persister.persist(new ByteArrayInputStream(document
+				.toString().getBytes(StandardCharsets.UTF_8)), new QName("K"),
+				K.class);
+		Assertions.assertEquals(250, count);
+
+		final EntityManager em = createEntityManager();
+		try {
+			Assertions.assertEquals(Long.valueOf(250), em.createQuery(
+					"select count(k) from K k where k.id like 'batch%'")
+					.getSingleResult());
+			final K k = em.find(K.class, "batch249");
+			Assertions.assertEquals("one249", k.getOne());
+			Assertions.assertEquals("three249", k.getKthree());
+		} finally {
+			em.close();
+		}
+	}
+}
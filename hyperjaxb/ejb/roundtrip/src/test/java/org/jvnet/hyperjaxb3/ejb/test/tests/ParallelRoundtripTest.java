@@ -0,0 +1,9 @@
+package org.jvnet.hyperjaxb3.ejb.test.tests;
+
+public class ParallelRoundtripTest extends org.jvnet.hyperjaxb3.ejb.test.ParallelRoundtripTest {
+
+	@Override
+	protected int getBatchSize() {
+		return 2;
+	}
+}
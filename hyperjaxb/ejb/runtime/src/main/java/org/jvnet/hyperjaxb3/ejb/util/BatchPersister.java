@@ -0,0 +1,154 @@
+package org.jvnet.hyperjaxb3.ejb.util;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+import org.apache.commons.lang3.Validate;
+import org.jvnet.jaxb.lang.ContextUtils;
+import org.jvnet.jaxb.xml.bind.StreamingUnmarshaller;
+
+/**
+ * Persists the repeating elements of an XML document in batches.
+ * <p>
+ * The document is read with a {@link StreamingUnmarshaller}, elements with the
+ * given name are unmarshalled one at a time and persisted. Every
+ * <code>batchSize</code> elements the
+ * persistence context is flushed and cleared, so that the memory used does
+ * not depend on the size of the document. The whole document is persisted in
+ * one transaction. The batch size is also set as JDBC batch size of the
+ * entity manager (<code>hibernate.jdbc.batch_size</code>, ignored by other
+ * providers).
+ * </p>
+ * <p>
+ * Relations inside of an element are persisted by cascading. An element may
+ * be attached to a parent entity in the {@link Handler}, for instance with a
+ * reference obtained by <code>EntityManager.getReference(...)</code>, which
+ * does not load the parent into the persistence context.
+ * </p>
+ */
+public class BatchPersister {
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	public static final String JDBC_BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	private final JAXBContext context;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	public BatchPersister(EntityManagerFactory entityManagerFactory,
+			JAXBContext context) {
+		Validate.notNull(entityManagerFactory);
+		Validate.notNull(context);
+		this.entityManagerFactory = entityManagerFactory;
+		this.context = context;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		Validate.isTrue(batchSize > 0, "Batch size must be positive.");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Persists the elements with the given name.
+	 *
+	 * @return number of persisted elements.
+	 */
+	public <T> long persist(InputStream is, QName elementName,
+			Class<T> declaredType) throws XMLStreamException, JAXBException {
+		return persist(is, elementName, declaredType, new Handler<T>() {
+			public void persist(EntityManager entityManager, T element) {
+				entityManager.persist(element);
+			}
+		});
+	}
+
+	/**
+	 * Persists the elements with the given name with the handler.
+	 *
+	 * @return number of persisted elements.
+	 */
+	public <T> long persist(InputStream is, QName elementName,
+			Class<T> declaredType, Handler<? super T> handler)
+			throws XMLStreamException, JAXBException {
+		final XMLStreamReader reader = ContextUtils.createXMLStreamReader(is);
+		try {
+			return persist(reader, elementName, declaredType, handler);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Persists the elements with the given name with the handler, reading from
+	 * the current position of the reader to the end of the document.
+	 *
+	 * @return number of persisted elements.
+	 */
+	public <T> long persist(XMLStreamReader reader, QName elementName,
+			Class<T> declaredType, final Handler<? super T> handler)
+			throws XMLStreamException, JAXBException {
+		Validate.notNull(elementName);
+		Validate.notNull(declaredType);
+		Validate.notNull(handler);
+		final StreamingUnmarshaller unmarshaller = new StreamingUnmarshaller(
+				context);
+		final EntityManager entityManager = entityManagerFactory
+				.createEntityManager();
+		try {
+			entityManager.setProperty(JDBC_BATCH_SIZE_PROPERTY,
+					Integer.valueOf(batchSize));
+			final EntityTransaction transaction = entityManager
+					.getTransaction();
+			transaction.begin();
+			try {
+				final long count = unmarshaller.unmarshal(reader, elementName,
+						declaredType, new Consumer<T>() {
+							private long persisted;
+
+							public void accept(T element) {
+								handler.persist(entityManager, element);
+								if (++persisted % batchSize == 0) {
+									entityManager.flush();
+									entityManager.clear();
+								}
+							}
+						});
+				entityManager.flush();
+				transaction.commit();
+				return count;
+			} finally {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
+			}
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	/**
+	 * Persists an unmarshalled element.
+	 */
+	public interface Handler<T> {
+
+		public void persist(EntityManager entityManager, T element);
+
+	}
+}
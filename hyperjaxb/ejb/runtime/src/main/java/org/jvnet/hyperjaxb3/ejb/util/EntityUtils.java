@@ -1,6 +1,9 @@
 package org.jvnet.hyperjaxb3.ejb.util;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -11,9 +14,23 @@ import java.util.LinkedList;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceUnitUtil;
 
 public class EntityUtils {
 
+	private static final MethodType ID_ACCESSOR_TYPE = MethodType.methodType(
+			Object.class, Object.class);
+
+	/**
+	 * Id accessors by entity class, resolved once per class.
+	 */
+	private static final ClassValue<IdAccessor> ID_ACCESSORS = new ClassValue<IdAccessor>() {
+		@Override
+		protected IdAccessor computeValue(Class<?> type) {
+			return createIdAccessor(type);
+		}
+	};
+
 	private EntityUtils() {
 	}
 
@@ -27,32 +44,24 @@ public class EntityUtils {
 			throws IllegalArgumentException, IllegalAccessException,
 			InvocationTargetException {
 		// Try annotations
-		{
-
-			final Collection<Field> atEmbeddedIdFields = getAnnotatedElements(
-					entity.getClass().getFields(), EmbeddedId.class);
-			final Collection<Method> atEmbeddedIdMethods = getAnnotatedElements(
-					entity.getClass().getMethods(), EmbeddedId.class);
-			final Collection<Field> atIdFields = getAnnotatedElements(entity
-					.getClass().getFields(), Id.class);
-			final Collection<Method> atIdMethods = getAnnotatedElements(entity
-					.getClass().getMethods(), Id.class);
-
-			if (atEmbeddedIdFields.size() > 0) {
-				assert atEmbeddedIdFields.size() == 1 : "More than one field is annotated with @EmbeddedId.";
-				final Field field = atEmbeddedIdFields.iterator().next();
-				return get(entity, field);
-			} else if (atEmbeddedIdMethods.size() > 0) {
-				assert atEmbeddedIdMethods.size() == 1 : "More than one method is annotated with @EmbeddedId.";
-				final Method method = atEmbeddedIdMethods.iterator().next();
-				return get(entity, method);
-			} else if (atIdFields.size() == 1) {
-				return get(entity, atIdFields.iterator().next());
-			} else if (atIdMethods.size() == 1) {
-				return get(entity, atIdMethods.iterator().next());
-			}
+		final IdAccessor idAccessor = ID_ACCESSORS.get(entity.getClass());
+		if (idAccessor.getter != null) {
+			return idAccessor.get(entity);
+		} else if (idAccessor.illegalAccessException != null) {
+			throw idAccessor.illegalAccessException;
 		}
 		if (entityManager != null) {
+			// Try the persistence provider, covers ids mapped in XML
+			try {
+				final PersistenceUnitUtil persistenceUnitUtil = entityManager
+						.getEntityManagerFactory().getPersistenceUnitUtil();
+				final Object id = persistenceUnitUtil.getIdentifier(entity);
+				if (id != null) {
+					return id;
+				}
+			} catch (RuntimeException ignored) {
+				// Not a managed entity class or not supported by the provider
+			}
 
 			// Try Hibernate org.hibernate.ejb.AbstractEntityManagerImpl
 			try {
@@ -65,18 +74,47 @@ public class EntityUtils {
 	}
 
 	private static Object getIdWithHibernate(EntityManager entityManager,
-			Object entity) throws ClassNotFoundException,
-			NoSuchMethodException, IllegalAccessException,
-			InvocationTargetException {
-		final Class<?> hibernateEntityManagerClass = Class
-				.forName("org.hibernate.ejb.AbstractEntityManagerImpl");
-		final Class<?> hibernateSessionClass = Class
-				.forName("org.hibernate.Session");
-		final Method getSession = hibernateEntityManagerClass
-				.getMethod("getSession");
-		final Method getIdentifier = hibernateSessionClass.getMethod(
-				"getIdentifier", Object.class);
-		return getIdentifier.invoke(getSession.invoke(entityManager), entity);
+			Object entity) throws ReflectiveOperationException {
+		final HibernateMethods hibernateMethods = HibernateMethods.INSTANCE;
+		if (hibernateMethods.exception != null) {
+			throw hibernateMethods.exception;
+		}
+		return hibernateMethods.getIdentifier.invoke(
+				hibernateMethods.getSession.invoke(entityManager), entity);
+	}
+
+	private static IdAccessor createIdAccessor(Class<?> type) {
+		final Collection<Field> atEmbeddedIdFields = getAnnotatedElements(
+				type.getFields(), EmbeddedId.class);
+		final Collection<Method> atEmbeddedIdMethods = getAnnotatedElements(
+				type.getMethods(), EmbeddedId.class);
+		final Collection<Field> atIdFields = getAnnotatedElements(
+				type.getFields(), Id.class);
+		final Collection<Method> atIdMethods = getAnnotatedElements(
+				type.getMethods(), Id.class);
+
+		final MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			if (atEmbeddedIdFields.size() > 0) {
+				assert atEmbeddedIdFields.size() == 1 : "More than one field is annotated with @EmbeddedId.";
+				return new IdAccessor(lookup.unreflectGetter(atEmbeddedIdFields
+						.iterator().next()));
+			} else if (atEmbeddedIdMethods.size() > 0) {
+				assert atEmbeddedIdMethods.size() == 1 : "More than one method is annotated with @EmbeddedId.";
+				return new IdAccessor(lookup.unreflect(atEmbeddedIdMethods
+						.iterator().next()));
+			} else if (atIdFields.size() == 1) {
+				return new IdAccessor(lookup.unreflectGetter(atIdFields
+						.iterator().next()));
+			} else if (atIdMethods.size() == 1) {
+				return new IdAccessor(lookup.unreflect(atIdMethods.iterator()
+						.next()));
+			} else {
+				return new IdAccessor((MethodHandle) null);
+			}
+		} catch (IllegalAccessException iaex) {
+			return new IdAccessor(iaex);
+		}
 	}
 
 	private static <T extends AnnotatedElement> Collection<T> getAnnotatedElements(
@@ -90,14 +128,69 @@ public class EntityUtils {
 		return annotatedElements;
 	}
 
-	private static Object get(Object target, Field field)
-			throws IllegalArgumentException, IllegalAccessException {
-		return field.get(target);
+	/**
+	 * Getter of the id field or method of an entity class, if any.
+	 */
+	private static class IdAccessor {
+
+		private final MethodHandle getter;
+
+		private final IllegalAccessException illegalAccessException;
+
+		private IdAccessor(MethodHandle getter) {
+			this.getter = getter == null ? null : getter
+					.asType(ID_ACCESSOR_TYPE);
+			this.illegalAccessException = null;
+		}
+
+		private IdAccessor(IllegalAccessException illegalAccessException) {
+			this.getter = null;
+			this.illegalAccessException = illegalAccessException;
+		}
+
+		private Object get(Object entity) throws InvocationTargetException {
+			try {
+				return (Object) getter.invokeExact(entity);
+			} catch (Error error) {
+				throw error;
+			} catch (Throwable throwable) {
+				// Only id getter methods may throw, wrap as Method.invoke does
+				throw new InvocationTargetException(throwable);
+			}
+		}
 	}
 
-	private static Object get(Object target, Method method)
-			throws IllegalArgumentException, IllegalAccessException,
-			InvocationTargetException {
-		return method.invoke(target, (Object[]) null);
+	/**
+	 * Hibernate methods, looked up once.
+	 */
+	private static class HibernateMethods {
+
+		private static final HibernateMethods INSTANCE = new HibernateMethods();
+
+		private final Method getSession;
+
+		private final Method getIdentifier;
+
+		private final ReflectiveOperationException exception;
+
+		private HibernateMethods() {
+			Method getSession = null;
+			Method getIdentifier = null;
+			ReflectiveOperationException exception = null;
+			try {
+				final Class<?> hibernateEntityManagerClass = Class
+						.forName("org.hibernate.ejb.AbstractEntityManagerImpl");
+				final Class<?> hibernateSessionClass = Class
+						.forName("org.hibernate.Session");
+				getSession = hibernateEntityManagerClass.getMethod("getSession");
+				getIdentifier = hibernateSessionClass.getMethod(
+						"getIdentifier", Object.class);
+			} catch (ReflectiveOperationException roex) {
+				exception = roex;
+			}
+			this.getSession = getSession;
+			this.getIdentifier = getIdentifier;
+			this.exception = exception;
+		}
 	}
 }
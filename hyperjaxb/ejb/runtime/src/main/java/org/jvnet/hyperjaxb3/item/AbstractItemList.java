@@ -2,10 +2,20 @@ package org.jvnet.hyperjaxb3.item;
 
 import java.io.Serializable;
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
+/**
+ * List of values backed by the list of items. Bulk operations create or
+ * update the items and then modify the core list once.
+ */
 public abstract class AbstractItemList<ListType, ItemType extends Item<ListType>>
-		extends AbstractList<ListType> implements ItemList<ListType, ItemType>, Serializable {
+		extends AbstractList<ListType> implements ItemList<ListType, ItemType>,
+		RandomAccess, Serializable {
 
 	private static final long serialVersionUID = -6512320214488719797L;
 
@@ -46,6 +56,36 @@ public abstract class AbstractItemList<ListType, ItemType extends Item<ListType>
 		return item.getItem();
 	}
 
+	@Override
+	public boolean addAll(int index, Collection<? extends ListType> elements) {
+		final List<ItemType> items = new ArrayList<ItemType>(elements.size());
+		for (ListType element : elements) {
+			items.add(create(element));
+		}
+		return core.addAll(index, items);
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super ListType> filter) {
+		return core.removeIf(new Predicate<ItemType>() {
+			public boolean test(ItemType item) {
+				return filter.test(item.getItem());
+			}
+		});
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<ListType> operator) {
+		for (ItemType item : core) {
+			item.setItem(operator.apply(item.getItem()));
+		}
+	}
+
+	@Override
+	public void clear() {
+		core.clear();
+	}
+
 	@Override
 	public int size() {
 		return core.size();
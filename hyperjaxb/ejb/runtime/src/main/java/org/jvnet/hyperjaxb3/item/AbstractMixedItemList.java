@@ -1,11 +1,20 @@
 package org.jvnet.hyperjaxb3.item;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
+/**
+ * List of texts and values backed by the list of mixed items. Bulk operations
+ * create or update the items and then modify the core list once.
+ */
 public abstract class AbstractMixedItemList<EffectiveListType, ListType extends EffectiveListType, ItemType extends MixedItem<ListType>>
 		extends AbstractList<EffectiveListType> implements
-		MixedItemList<EffectiveListType, ListType, ItemType> {
+		MixedItemList<EffectiveListType, ListType, ItemType>, RandomAccess {
 
 	protected final List<ItemType> core;
 
@@ -18,45 +27,53 @@ public abstract class AbstractMixedItemList<EffectiveListType, ListType extends
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public EffectiveListType get(int index) {
-		final ItemType item = core.get(index);
-		if (item.getText() != null) {
-			return (EffectiveListType) item.getText();
-		} else {
-			return item.getItem();
-		}
+		return getValue(core.get(index));
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public EffectiveListType set(int index, EffectiveListType element) {
 
 		final ItemType oldItem = core.get(index);
-		final EffectiveListType oldValue;
-		if (oldItem.getText() != null) {
-			oldValue = (EffectiveListType) oldItem.getText();
-		} else {
-			oldValue = oldItem.getItem();
-		}
-		if (element instanceof String) {
-			oldItem.setText((String) element);
-		} else {
-			oldItem.setItem((ListType) element);
-		}
+		final EffectiveListType oldValue = getValue(oldItem);
+		setValue(oldItem, element);
 		return oldValue;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public void add(int index, EffectiveListType element) {
-		final ItemType item;
-		if (element instanceof String) {
-			item = create((String) element);
-		} else {
-			item = create((ListType) element);
+		core.add(index, createItem(element));
+	}
+
+	@Override
+	public boolean addAll(int index,
+			Collection<? extends EffectiveListType> elements) {
+		final List<ItemType> items = new ArrayList<ItemType>(elements.size());
+		for (EffectiveListType element : elements) {
+			items.add(createItem(element));
+		}
+		return core.addAll(index, items);
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super EffectiveListType> filter) {
+		return core.removeIf(new Predicate<ItemType>() {
+			public boolean test(ItemType item) {
+				return filter.test(getValue(item));
+			}
+		});
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<EffectiveListType> operator) {
+		for (ItemType item : core) {
+			setValue(item, operator.apply(getValue(item)));
 		}
-		core.add(index, item);
+	}
+
+	@Override
+	public void clear() {
+		core.clear();
 	}
 
 	@Override
@@ -69,4 +86,31 @@ public abstract class AbstractMixedItemList<EffectiveListType, ListType extends
 	public int size() {
 		return core.size();
 	}
+
+	@SuppressWarnings("unchecked")
+	private EffectiveListType getValue(ItemType item) {
+		if (item.getText() != null) {
+			return (EffectiveListType) item.getText();
+		} else {
+			return item.getItem();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void setValue(ItemType item, EffectiveListType element) {
+		if (element instanceof String) {
+			item.setText((String) element);
+		} else {
+			item.setItem((ListType) element);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private ItemType createItem(EffectiveListType element) {
+		if (element instanceof String) {
+			return create((String) element);
+		} else {
+			return create((ListType) element);
+		}
+	}
 }
@@ -1,13 +1,37 @@
 package org.jvnet.hyperjaxb3.item;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
+/**
+ * View of the inner list which converts the inner values.
+ * <p>
+ * Converted values are memoized per index as long as the inner list holds the
+ * same inner instance at this index, so that repeated iterations convert each
+ * value once. Inner values must therefore not be modified in place, and
+ * returned values should not be modified either: changes must be made with
+ * {@link #set(int, Object)}. Concurrent readers may convert the same value
+ * more than once, but never see a converted value of another inner value.
+ * </p>
+ * <p>
+ * Use {@link RandomAccessConvertedList} for inner lists with fast random
+ * access.
+ * </p>
+ */
 public class ConvertedList<O, I> extends AbstractList<O> {
 
 	private final List<I> inner;
 	private final Converter<I, O> converter;
 
+	private volatile AtomicReferenceArray<Converted<I, O>> converted = new AtomicReferenceArray<Converted<I, O>>(
+			0);
+
 	public ConvertedList(List<I> inner, Converter<I, O> converter) {
 		super();
 		this.inner = inner;
@@ -16,7 +40,22 @@ public class ConvertedList<O, I> extends AbstractList<O> {
 
 	@Override
 	public O get(int index) {
-		return converter.inverse(inner.get(index));
+		final I innerValue = inner.get(index);
+		if (innerValue == null) {
+			return converter.inverse(null);
+		}
+		AtomicReferenceArray<Converted<I, O>> converted = this.converted;
+		if (index < converted.length()) {
+			final Converted<I, O> value = converted.get(index);
+			if (value != null && value.inner == innerValue) {
+				return value.outer;
+			}
+		} else {
+			converted = grow(index);
+		}
+		final O outerValue = converter.inverse(innerValue);
+		converted.set(index, new Converted<I, O>(innerValue, outerValue));
+		return outerValue;
 	}
 
 	public O set(int index, O element) {
@@ -32,9 +71,76 @@ public class ConvertedList<O, I> extends AbstractList<O> {
 		return converter.inverse(inner.remove(index));
 	}
 
+	@Override
+	public boolean addAll(int index, Collection<? extends O> elements) {
+		final List<I> innerElements = new ArrayList<I>(elements.size());
+		for (O element : elements) {
+			innerElements.add(converter.direct(element));
+		}
+		return inner.addAll(index, innerElements);
+	}
+
+	@Override
+	public boolean removeIf(final Predicate<? super O> filter) {
+		final boolean changed = inner.removeIf(new Predicate<I>() {
+			public boolean test(I innerElement) {
+				return filter.test(converter.inverse(innerElement));
+			}
+		});
+		reset();
+		return changed;
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<O> operator) {
+		// List iterator, so that linked inner lists are not traversed per index
+		for (ListIterator<I> iterator = inner.listIterator(); iterator
+				.hasNext();) {
+			iterator.set(converter.direct(operator.apply(converter
+					.inverse(iterator.next()))));
+		}
+		reset();
+	}
+
+	@Override
+	public void clear() {
+		inner.clear();
+		reset();
+	}
+
 	@Override
 	public int size() {
 		return inner.size();
 	}
 
+	private synchronized AtomicReferenceArray<Converted<I, O>> grow(int index) {
+		final AtomicReferenceArray<Converted<I, O>> converted = this.converted;
+		if (index < converted.length()) {
+			return converted;
+		}
+		final int length = Math.max(index + 1, inner.size());
+		final AtomicReferenceArray<Converted<I, O>> grown = new AtomicReferenceArray<Converted<I, O>>(
+				length);
+		for (int position = 0; position < converted.length(); position++) {
+			grown.set(position, converted.get(position));
+		}
+		this.converted = grown;
+		return grown;
+	}
+
+	private synchronized void reset() {
+		// Releases the converted values of removed inner values
+		this.converted = new AtomicReferenceArray<Converted<I, O>>(0);
+	}
+
+	private static class Converted<I, O> {
+
+		private final I inner;
+		private final O outer;
+
+		public Converted(I inner, O outer) {
+			this.inner = inner;
+			this.outer = outer;
+		}
+	}
 }
@@ -0,0 +1,15 @@
+package org.jvnet.hyperjaxb3.item;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Converted view of an inner list with fast random access.
+ */
+public class RandomAccessConvertedList<O, I> extends ConvertedList<O, I>
+		implements RandomAccess {
+
+	public RandomAccessConvertedList(List<I> inner, Converter<I, O> converter) {
+		super(inner, converter);
+	}
+}
@@ -1,11 +1,13 @@
 package org.jvnet.hyperjaxb3.transform;
 
 import java.util.List;
+import java.util.RandomAccess;
 
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 
 import org.jvnet.hyperjaxb3.item.ConvertedList;
 import org.jvnet.hyperjaxb3.item.Converter;
+import org.jvnet.hyperjaxb3.item.RandomAccessConvertedList;
 import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XmlAdapterUtils;
 
 public class TransformUtils {
@@ -23,7 +25,8 @@ public class TransformUtils {
 		if (inner == null || !(inner instanceof ConvertedList)) {
 			Converter<O, I> converter = XmlAdapterUtils
 					.getConverter(xmlAdapterClass);
-			final List<I> newInner = new ConvertedList<I, O>(outer, converter);
+			final List<I> newInner = outer instanceof RandomAccess ? new RandomAccessConvertedList<I, O>(
+					outer, converter) : new ConvertedList<I, O>(outer, converter);
 			if (inner != null) {
 				newInner.addAll(inner);
 			}
@@ -0,0 +1,196 @@
+package org.jvnet.hyperjaxb3.xml.bind;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Thread-safe cache of JAXB contexts (with their marshaller pools) by class
+ * loader and context path.
+ * <p>
+ * Each context is built only once, also under concurrent first access;
+ * contexts of different keys are built concurrently. Cache hits take no
+ * locks. Class loaders are held weakly and contexts softly, so that the
+ * contexts of an undeployed application do not pin its class loader and
+ * contexts may be released under memory pressure. A released context is
+ * built again on next access.
+ * </p>
+ */
+public class JAXBContextCache {
+
+	private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+
+	private final ReferenceQueue<ClassLoader> collectedClassLoaders = new ReferenceQueue<ClassLoader>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder buildTime = new LongAdder();
+
+	/**
+	 * Returns the context pool for the context path in the context class
+	 * loader of the current thread.
+	 */
+	public JAXBContextPool getJAXBContextPool(String contextPath)
+			throws JAXBException {
+		return getJAXBContextPool(contextPath, getContextClassLoader());
+	}
+
+	public JAXBContextPool getJAXBContextPool(String contextPath,
+			ClassLoader classLoader) throws JAXBException {
+		Validate.notNull(contextPath);
+		Validate.notNull(classLoader);
+		final Entry existingEntry = entries.get(new Key(classLoader,
+				contextPath, null));
+		if (existingEntry != null) {
+			final JAXBContextPool pool = existingEntry.pool.get();
+			if (pool != null) {
+				hits.increment();
+				return pool;
+			}
+		}
+		expungeCollectedClassLoaders();
+		final Entry entry = entries.computeIfAbsent(new Key(classLoader,
+				contextPath, collectedClassLoaders),
+				new Function<Key, Entry>() {
+					public Entry apply(Key key) {
+						return new Entry();
+					}
+				});
+		// Lock the entry only, so that other contexts are not blocked
+		synchronized (entry) {
+			JAXBContextPool pool = entry.pool.get();
+			if (pool != null) {
+				hits.increment();
+			} else {
+				misses.increment();
+				final long start = System.nanoTime();
+				try {
+					pool = new JAXBContextPool(JAXBContext.newInstance(
+							contextPath, classLoader));
+				} finally {
+					buildTime.add(System.nanoTime() - start);
+				}
+				entry.pool = new SoftReference<JAXBContextPool>(pool);
+			}
+			return pool;
+		}
+	}
+
+	private void expungeCollectedClassLoaders() {
+		Reference<? extends ClassLoader> reference;
+		while ((reference = collectedClassLoaders.poll()) != null) {
+			entries.remove(reference);
+		}
+	}
+
+	/**
+	 * Builds the contexts of the given context paths in parallel, in the
+	 * context class loader of the current thread.
+	 *
+	 * @return future which completes when all the contexts are built.
+	 */
+	public CompletableFuture<Void> preload(Collection<String> contextPaths,
+			Executor executor) {
+		final ClassLoader classLoader = getContextClassLoader();
+		final List<CompletableFuture<JAXBContextPool>> futures = new ArrayList<CompletableFuture<JAXBContextPool>>(
+				contextPaths.size());
+		for (final String contextPath : contextPaths) {
+			futures.add(CompletableFuture.supplyAsync(
+					new Supplier<JAXBContextPool>() {
+						public JAXBContextPool get() {
+							try {
+								return getJAXBContextPool(contextPath,
+										classLoader);
+							} catch (JAXBException jaxbex) {
+								throw new CompletionException(jaxbex);
+							}
+						}
+					}, executor));
+		}
+		return CompletableFuture.allOf(futures
+				.toArray(new CompletableFuture<?>[futures.size()]));
+	}
+
+	public long getCacheHits() {
+		return hits.sum();
+	}
+
+	public long getCacheMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the total time spent building contexts, in milliseconds.
+	 */
+	public long getBuildTime() {
+		return buildTime.sum() / 1000000L;
+	}
+
+	private static ClassLoader getContextClassLoader() {
+		final ClassLoader classLoader = Thread.currentThread()
+				.getContextClassLoader();
+		return classLoader != null ? classLoader : JAXBContextCache.class
+				.getClassLoader();
+	}
+
+	/**
+	 * Class loader (held weakly) and context path.
+	 */
+	private static class Key extends WeakReference<ClassLoader> {
+
+		private final String contextPath;
+
+		private final int hashCode;
+
+		private Key(ClassLoader classLoader, String contextPath,
+				ReferenceQueue<ClassLoader> queue) {
+			super(classLoader, queue);
+			this.contextPath = contextPath;
+			this.hashCode = 31 * System.identityHashCode(classLoader)
+					+ contextPath.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			} else if (!(object instanceof Key)) {
+				return false;
+			} else {
+				final Key that = (Key) object;
+				final ClassLoader classLoader = get();
+				return classLoader != null && classLoader == that.get()
+						&& contextPath.equals(that.contextPath);
+			}
+		}
+	}
+
+	private static class Entry {
+		private volatile SoftReference<JAXBContextPool> pool = new SoftReference<JAXBContextPool>(
+				null);
+	}
+}
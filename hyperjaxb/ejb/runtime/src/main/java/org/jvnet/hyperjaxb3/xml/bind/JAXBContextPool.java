@@ -0,0 +1,94 @@
+package org.jvnet.hyperjaxb3.xml.bind;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Pool of marshallers and unmarshallers of a JAXB context. Marshallers and
+ * unmarshallers are not thread-safe, a released instance is reused by the
+ * next thread which acquires one. At most <code>maxIdle</code> instances of
+ * each kind are kept.
+ */
+public class JAXBContextPool {
+
+	public static final int DEFAULT_MAX_IDLE = 2 * Runtime.getRuntime()
+			.availableProcessors();
+
+	private final JAXBContext context;
+
+	private final int maxIdle;
+
+	private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<Marshaller>();
+
+	private final AtomicInteger idleMarshallers = new AtomicInteger();
+
+	private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<Unmarshaller>();
+
+	private final AtomicInteger idleUnmarshallers = new AtomicInteger();
+
+	public JAXBContextPool(JAXBContext context) {
+		this(context, DEFAULT_MAX_IDLE);
+	}
+
+	public JAXBContextPool(JAXBContext context, int maxIdle) {
+		Validate.notNull(context);
+		this.context = context;
+		this.maxIdle = maxIdle;
+	}
+
+	public JAXBContext getContext() {
+		return context;
+	}
+
+	public Marshaller acquireMarshaller() throws JAXBException {
+		final Marshaller marshaller = marshallers.poll();
+		if (marshaller == null) {
+			return context.createMarshaller();
+		} else {
+			idleMarshallers.decrementAndGet();
+			return marshaller;
+		}
+	}
+
+	/**
+	 * Returns the marshaller to the pool. Marshallers which failed or which
+	 * were configured by the caller should not be released.
+	 */
+	public void releaseMarshaller(Marshaller marshaller) {
+		if (idleMarshallers.incrementAndGet() <= maxIdle) {
+			marshallers.offer(marshaller);
+		} else {
+			idleMarshallers.decrementAndGet();
+		}
+	}
+
+	public Unmarshaller acquireUnmarshaller() throws JAXBException {
+		final Unmarshaller unmarshaller = unmarshallers.poll();
+		if (unmarshaller == null) {
+			return context.createUnmarshaller();
+		} else {
+			idleUnmarshallers.decrementAndGet();
+			return unmarshaller;
+		}
+	}
+
+	/**
+	 * Returns the unmarshaller to the pool. Unmarshallers which failed or
+	 * which were configured by the caller should not be released.
+	 */
+	public void releaseUnmarshaller(Unmarshaller unmarshaller) {
+		if (idleUnmarshallers.incrementAndGet() <= maxIdle) {
+			unmarshallers.offer(unmarshaller);
+		} else {
+			idleUnmarshallers.decrementAndGet();
+		}
+	}
+}
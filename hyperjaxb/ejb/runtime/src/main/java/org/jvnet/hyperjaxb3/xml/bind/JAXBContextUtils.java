@@ -1,8 +1,10 @@
 package org.jvnet.hyperjaxb3.xml.bind;
 
+import java.io.StringReader;
 import java.io.StringWriter;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
@@ -10,6 +12,7 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
 
 import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.ElementAsString;
 import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XmlAdapterUtils;
@@ -67,12 +70,11 @@ public class JAXBContextUtils {
 	public static String marshalObject(String contextPath, Object object) {
 		if (object != null) {
 			try {
-				final Marshaller marshaller = getJAXBContext(contextPath)
-						.createMarshaller();
-
-				final StringWriter sw = new StringWriter();
-				marshaller.marshal(object, sw);
-				return sw.toString();
+				final JAXBContextPool pool = getJAXBContextPool(contextPath);
+				final Marshaller marshaller = pool.acquireMarshaller();
+				final String result = marshal(marshaller, object);
+				pool.releaseMarshaller(marshaller);
+				return result;
 			} catch (JAXBException ex) {
 				throw new RuntimeException(ex);
 			}
@@ -85,24 +87,35 @@ public class JAXBContextUtils {
 		if (object == null) {
 			return null;
 		} else {
-			final Element element = XmlAdapterUtils.marshall(
-					ElementAsString.class, object);
 			try {
-				final Unmarshaller unmarshaller = getJAXBContext(contextPath)
-						.createUnmarshaller();
-				return unmarshaller.unmarshal(element);
+				final JAXBContextPool pool = getJAXBContextPool(contextPath);
+				final Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+				final Object result = unmarshaller.unmarshal(new StreamSource(
+						new StringReader(object)));
+				pool.releaseUnmarshaller(unmarshaller);
+				return result;
 			} catch (JAXBException ex) {
-				return element;
+				return XmlAdapterUtils.marshall(ElementAsString.class, object);
 			}
 		}
 	}
 
 	public static String marshal(String contextPath, Object object) {
-		try {
-			return object == null ? null : marshal(getJAXBContext(contextPath),
-					object);
-		} catch (JAXBException ex) {
-			throw new RuntimeException(ex);
+		if (object == null) {
+			return null;
+		} else if (object instanceof Element) {
+			return XmlAdapterUtils.unmarshall(ElementAsString.class,
+					(Element) object);
+		} else {
+			try {
+				final JAXBContextPool pool = getJAXBContextPool(contextPath);
+				final Marshaller marshaller = pool.acquireMarshaller();
+				final String result = marshal(marshaller, object);
+				pool.releaseMarshaller(marshaller);
+				return result;
+			} catch (JAXBException ex) {
+				throw new RuntimeException(ex);
+			}
 		}
 	}
 
@@ -125,11 +138,7 @@ public class JAXBContextUtils {
 					(Element) object);
 		} else {
 			try {
-				Marshaller marshaller = context.createMarshaller();
-
-				final StringWriter sw = new StringWriter();
-				marshaller.marshal(object, sw);
-				return sw.toString();
+				return marshal(context.createMarshaller(), object);
 			} catch (JAXBException ex) {
 				throw new RuntimeException(ex);
 			}
@@ -137,26 +146,60 @@ public class JAXBContextUtils {
 
 	}
 
+	private static String marshal(Marshaller marshaller, Object object)
+			throws JAXBException {
+		final StringWriter sw = new StringWriter();
+		marshaller.marshal(object, sw);
+		return sw.toString();
+	}
+
 	public static Object unmarshal(String contextPath, String string) {
-		try {
-			return string == null ? null : unmarshal(
-					getJAXBContext(contextPath), string);
-		} catch (JAXBException ex) {
-			throw new RuntimeException(ex);
+		if (string == null) {
+			return null;
+		} else {
+			final JAXBContextPool pool;
+			final Unmarshaller unmarshaller;
+			try {
+				pool = getJAXBContextPool(contextPath);
+				unmarshaller = pool.acquireUnmarshaller();
+			} catch (JAXBException ex) {
+				throw new RuntimeException(ex);
+			}
+			final Object result = unmarshal(unmarshaller, string);
+			if (result != null) {
+				pool.releaseUnmarshaller(unmarshaller);
+				return result;
+			} else {
+				return XmlAdapterUtils.marshall(ElementAsString.class, string);
+			}
 		}
 	}
 
-	private static Map<String, JAXBContext> contextCache = new HashMap<String, JAXBContext>();
+	private static final JAXBContextCache contextCache = new JAXBContextCache();
+
+	public static JAXBContextCache getJAXBContextCache() {
+		return contextCache;
+	}
 
 	public static JAXBContext getJAXBContext(String contextPath)
 			throws JAXBException {
-		if (contextCache.containsKey(contextPath)) {
-			return contextCache.get(contextPath);
-		} else {
-			final JAXBContext context = JAXBContext.newInstance(contextPath);
-			contextCache.put(contextPath, context);
-			return context;
-		}
+		return getJAXBContextPool(contextPath).getContext();
+	}
+
+	public static JAXBContextPool getJAXBContextPool(String contextPath)
+			throws JAXBException {
+		return contextCache.getJAXBContextPool(contextPath);
+	}
+
+	/**
+	 * Builds the contexts of the given context paths in parallel, for
+	 * instance on application startup.
+	 * 
+	 * @see JAXBContextCache#preload(Collection, Executor)
+	 */
+	public static CompletableFuture<Void> preload(
+			Collection<String> contextPaths, Executor executor) {
+		return contextCache.preload(contextPaths, executor);
 	}
 
 	public static JAXBElement<Object> unmarshalJAXBElement(String contextPath,
@@ -174,22 +217,38 @@ public class JAXBContextUtils {
 		if (object == null) {
 			return null;
 		} else {
-			final Element element = XmlAdapterUtils.marshall(
-					ElementAsString.class, object);
-
+			final Unmarshaller unmarshaller;
 			try {
-				Unmarshaller unmarshaller = context.createUnmarshaller();
-				final Object result = unmarshaller.unmarshal(element);
-				if (result instanceof JAXBElement
-						&& Object.class.equals(((JAXBElement<?>) result)
-								.getDeclaredType())) {
-					return element;
-				} else {
-					return result;
-				}
+				unmarshaller = context.createUnmarshaller();
 			} catch (JAXBException ex) {
-				return element;
+				throw new RuntimeException(ex);
+			}
+			final Object result = unmarshal(unmarshaller, object);
+			return result != null ? result : XmlAdapterUtils.marshall(
+					ElementAsString.class, object);
+		}
+	}
+
+	/**
+	 * Unmarshals the string directly from a stream source.
+	 * 
+	 * @return the unmarshalled object or <code>null</code> if the string
+	 *         should be kept as DOM element, that is if it is not a known
+	 *         element or it is an element of <code>xs:anyType</code>.
+	 */
+	private static Object unmarshal(Unmarshaller unmarshaller, String object) {
+		try {
+			final Object result = unmarshaller.unmarshal(new StreamSource(
+					new StringReader(object)));
+			if (result instanceof JAXBElement
+					&& Object.class.equals(((JAXBElement<?>) result)
+							.getDeclaredType())) {
+				return null;
+			} else {
+				return result;
 			}
+		} catch (JAXBException ex) {
+			return null;
 		}
 	}
 
@@ -4,9 +4,10 @@ import java.util.Calendar;
 import java.util.Date;
 
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public abstract class AbstractXMLGregorianCalendarAdapter extends
 		XmlAdapter<XMLGregorianCalendar, Date> {
 
@@ -15,11 +16,6 @@ public abstract class AbstractXMLGregorianCalendarAdapter extends
 		if (calendar == null) {
 			return null;
 		} else {
-			// TODO Optimize
-			// final java.util.TimeZone timeZone =
-			// XMLGregorianCalendarUtils.TIMEZONE_UTC;
-			// return date.normalize().toGregorianCalendar(timeZone,
-			// Locale.getDefault(), null).getTime();
 			return createDate(calendar);
 		}
 	}
@@ -32,8 +28,8 @@ public abstract class AbstractXMLGregorianCalendarAdapter extends
 		if (date == null) {
 			return null;
 		} else {
-			final XMLGregorianCalendar target = DatatypeFactory.newInstance()
-					.newXMLGregorianCalendar();
+			final XMLGregorianCalendar target = XMLGregorianCalendarUtils
+					.getDatatypeFactory().newXMLGregorianCalendar();
 			createCalendar(date, target);
 			return target;
 		}
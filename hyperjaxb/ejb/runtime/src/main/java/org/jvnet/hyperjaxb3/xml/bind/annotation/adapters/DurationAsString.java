@@ -1,9 +1,10 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
-import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.Duration;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public class DurationAsString extends XmlAdapter<Duration, String> {
 
 	@Override
@@ -23,7 +24,8 @@ public class DurationAsString extends XmlAdapter<Duration, String> {
 		}
 		else
 		{
-			return DatatypeFactory.newInstance().newDuration(duration);
+			return XMLGregorianCalendarUtils.getDatatypeFactory()
+					.newDuration(duration);
 		}
 	}
 
@@ -2,19 +2,31 @@ package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
+import org.jvnet.hyperjaxb3.xml.bind.JAXBContextPool;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.xml.sax.InputSource;
 
+/**
+ * Converts DOM elements to strings and back. Document builders and
+ * transformers are pooled, at most
+ * {@link JAXBContextPool#DEFAULT_MAX_IDLE} idle instances of each kind are
+ * kept.
+ */
 public class ElementAsString extends XmlAdapter<Element, String> {
 
 	private final DocumentBuilderFactory documentBuilderFactory;
@@ -28,16 +40,24 @@ public class ElementAsString extends XmlAdapter<Element, String> {
 		transformerFactory = TransformerFactory.newInstance();
 	}
 
+	private final Queue<DocumentBuilder> documentBuilders = new ConcurrentLinkedQueue<DocumentBuilder>();
+
+	private final AtomicInteger idleDocumentBuilders = new AtomicInteger();
+
+	private final Queue<Transformer> transformers = new ConcurrentLinkedQueue<Transformer>();
+
+	private final AtomicInteger idleTransformers = new AtomicInteger();
+
 	@Override
 	public Element marshal(String element) throws Exception {
 		if (element == null) {
 			return null;
 		} else {
-			final DocumentBuilder documentBuilder = documentBuilderFactory
-					.newDocumentBuilder();
-
+			final DocumentBuilder documentBuilder = acquireDocumentBuilder();
 			final Document document = documentBuilder.parse(new InputSource(
 					new StringReader(element)));
+			documentBuilder.reset();
+			release(documentBuilders, idleDocumentBuilders, documentBuilder);
 			return document.getDocumentElement();
 		}
 	}
@@ -47,12 +67,48 @@ public class ElementAsString extends XmlAdapter<Element, String> {
 		if (element == null) {
 			return null;
 		} else {
-			final Transformer transformer = transformerFactory.newTransformer();
+			final Transformer transformer = acquireTransformer();
 			final StringWriter target = new StringWriter();
 			transformer.transform(new DOMSource(element), new StreamResult(
 					target));
+			transformer.reset();
+			release(transformers, idleTransformers, transformer);
 			return target.toString();
 		}
 	}
 
+	private DocumentBuilder acquireDocumentBuilder()
+			throws ParserConfigurationException {
+		final DocumentBuilder documentBuilder = documentBuilders.poll();
+		if (documentBuilder != null) {
+			idleDocumentBuilders.decrementAndGet();
+			return documentBuilder;
+		}
+		// DocumentBuilderFactory is not thread-safe
+		synchronized (documentBuilderFactory) {
+			return documentBuilderFactory.newDocumentBuilder();
+		}
+	}
+
+	private Transformer acquireTransformer()
+			throws TransformerConfigurationException {
+		final Transformer transformer = transformers.poll();
+		if (transformer != null) {
+			idleTransformers.decrementAndGet();
+			return transformer;
+		}
+		// TransformerFactory is not thread-safe
+		synchronized (transformerFactory) {
+			return transformerFactory.newTransformer();
+		}
+	}
+
+	private static <T> void release(Queue<T> pool, AtomicInteger idle,
+			T instance) {
+		if (idle.incrementAndGet() <= JAXBContextPool.DEFAULT_MAX_IDLE) {
+			pool.offer(instance);
+		} else {
+			idle.decrementAndGet();
+		}
+	}
 }
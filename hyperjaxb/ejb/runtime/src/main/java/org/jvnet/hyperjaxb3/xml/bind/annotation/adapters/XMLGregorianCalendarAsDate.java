@@ -1,23 +1,27 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public class XMLGregorianCalendarAsDate extends
 		AbstractXMLGregorianCalendarAdapter {
 
 	@Override
 	public Date createDate(XMLGregorianCalendar calendar) {
-		return new java.sql.Date(calendar.normalize().toGregorianCalendar()
-				.getTimeInMillis());
+		return new java.sql.Date(XMLGregorianCalendarUtils
+				.getTimeInMillis(calendar));
 	}
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public void createCalendar(Date date, XMLGregorianCalendar calendar) {
-		calendar.setYear(date.getYear() + 1900);
-		calendar.setMonth(date.getMonth() + 1);
-		calendar.setDay(date.getDate());
+		final LocalDateTime dateTime = XMLGregorianCalendarUtils
+				.getLocalDateTime(date);
+		calendar.setYear(dateTime.getYear());
+		calendar.setMonth(dateTime.getMonthValue());
+		calendar.setDay(dateTime.getDayOfMonth());
 	}
 }
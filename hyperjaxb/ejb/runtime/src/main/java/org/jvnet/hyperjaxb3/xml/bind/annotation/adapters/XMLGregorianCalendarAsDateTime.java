@@ -1,27 +1,31 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public class XMLGregorianCalendarAsDateTime extends
 		AbstractXMLGregorianCalendarAdapter {
 
 	public Date createDate(XMLGregorianCalendar calendar) {
-		final java.sql.Timestamp timestamp = new java.sql.Timestamp(calendar
-				.normalize().toGregorianCalendar().getTimeInMillis());
+		final java.sql.Timestamp timestamp = new java.sql.Timestamp(
+				XMLGregorianCalendarUtils.getTimeInMillis(calendar));
 		return timestamp;
 	}
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public void createCalendar(Date date, XMLGregorianCalendar calendar) {
-		calendar.setYear(date.getYear() + 1900);
-		calendar.setMonth(date.getMonth() + 1);
-		calendar.setDay(date.getDate());
-		calendar.setHour(date.getHours());
-		calendar.setMinute(date.getMinutes());
-		calendar.setSecond(date.getSeconds());
-		calendar.setMillisecond((int) (date.getTime() % 1000));
+		final LocalDateTime dateTime = XMLGregorianCalendarUtils
+				.getLocalDateTime(date);
+		calendar.setYear(dateTime.getYear());
+		calendar.setMonth(dateTime.getMonthValue());
+		calendar.setDay(dateTime.getDayOfMonth());
+		calendar.setHour(dateTime.getHour());
+		calendar.setMinute(dateTime.getMinute());
+		calendar.setSecond(dateTime.getSecond());
+		calendar.setMillisecond(dateTime.getNano() / 1000000);
 	}
 }
@@ -1,15 +1,19 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public class XMLGregorianCalendarAsGDay extends XMLGregorianCalendarAsDate {
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public void createCalendar(Date date, XMLGregorianCalendar calendar) {
-		calendar.setDay(date.getDate());
+		final LocalDateTime dateTime = XMLGregorianCalendarUtils
+				.getLocalDateTime(date);
+		calendar.setDay(dateTime.getDayOfMonth());
 	}
 	
 }
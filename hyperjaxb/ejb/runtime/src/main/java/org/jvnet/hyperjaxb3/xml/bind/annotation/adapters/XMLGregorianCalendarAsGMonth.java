@@ -1,14 +1,18 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public class XMLGregorianCalendarAsGMonth extends XMLGregorianCalendarAsDate {
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public void createCalendar(Date date, XMLGregorianCalendar calendar) {
-		calendar.setMonth(date.getMonth() + 1);
+		final LocalDateTime dateTime = XMLGregorianCalendarUtils
+				.getLocalDateTime(date);
+		calendar.setMonth(dateTime.getMonthValue());
 	}
 }
@@ -1,25 +1,28 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
 public class XMLGregorianCalendarAsTime extends
 		AbstractXMLGregorianCalendarAdapter {
 
 	public Date createDate(XMLGregorianCalendar calendar) {
-		final java.sql.Time time = new java.sql.Time(calendar.normalize()
-				.toGregorianCalendar(/* timeZone, Locale.UK, null */)
-				.getTimeInMillis());
+		final java.sql.Time time = new java.sql.Time(XMLGregorianCalendarUtils
+				.getTimeInMillis(calendar));
 		return time;
 	}
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public void createCalendar(Date date, XMLGregorianCalendar calendar) {
-		calendar.setHour(date.getHours());
-		calendar.setMinute(date.getMinutes());
-		calendar.setSecond(date.getSeconds());
-		calendar.setMillisecond((int) (date.getTime() % 1000));
+		final LocalDateTime dateTime = XMLGregorianCalendarUtils
+				.getLocalDateTime(date);
+		calendar.setHour(dateTime.getHour());
+		calendar.setMinute(dateTime.getMinute());
+		calendar.setSecond(dateTime.getSecond());
+		calendar.setMillisecond(dateTime.getNano() / 1000000);
 	}
 }
@@ -1,5 +1,11 @@
 package org.jvnet.hyperjaxb3.xml.bind.annotation.adapters;
 
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.namespace.QName;
@@ -39,19 +45,91 @@ public class XmlAdapterUtils {
 		}
 	}
 
+	public static <ValueType, BoundType> ValueType marshall(
+			XmlAdapter<ValueType, BoundType> xmlAdapter, BoundType v) {
+		try {
+			return xmlAdapter.marshal(v);
+		} catch (Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	public static <ValueType, BoundType> BoundType unmarshall(
+			XmlAdapter<ValueType, BoundType> xmlAdapter, ValueType v) {
+		try {
+			return xmlAdapter.unmarshal(v);
+		} catch (Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Returns an instance of the given adapter class. The stateless runtime
+	 * adapters of this package are shared, see
+	 * {@link #isSharedXmlAdapter(String)}; other adapters, which may hold
+	 * state, are created per call.
+	 */
+	@SuppressWarnings("unchecked")
 	public static <ValueType, BoundType> XmlAdapter<ValueType, BoundType> getXmlAdapter(
 			Class<? extends XmlAdapter<ValueType, BoundType>> xmlAdapterClass) {
+		if (SHARED_XML_ADAPTER_CLASSES.contains(xmlAdapterClass)) {
+			return (XmlAdapter<ValueType, BoundType>) SHARED_XML_ADAPTERS
+					.get(xmlAdapterClass);
+		} else {
+			return createXmlAdapter(xmlAdapterClass);
+		}
+	}
+
+	/**
+	 * Checks if the adapter class with the given name is a stateless runtime
+	 * adapter whose instance is shared by {@link #getXmlAdapter(Class)}.
+	 */
+	public static boolean isSharedXmlAdapter(String xmlAdapterClassName) {
+		for (Class<?> xmlAdapterClass : SHARED_XML_ADAPTER_CLASSES) {
+			if (xmlAdapterClass.getName().equals(xmlAdapterClassName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a new instance of the given adapter class.
+	 */
+	public static <A extends XmlAdapter<?, ?>> A createXmlAdapter(
+			Class<A> xmlAdapterClass) {
 		try {
-			final XmlAdapter<ValueType, BoundType> xmlAdapter = xmlAdapterClass
-					.newInstance();
-			return xmlAdapter;
-		} catch (IllegalAccessException iaex) {
-			throw new RuntimeException(iaex);
-		} catch (InstantiationException iex) {
-			throw new RuntimeException(iex);
+			final Constructor<A> constructor = xmlAdapterClass
+					.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor.newInstance();
+		} catch (ReflectiveOperationException roex) {
+			throw new RuntimeException(roex);
 		}
 	}
 
+	private static final Set<Class<?>> SHARED_XML_ADAPTER_CLASSES = Collections
+			.unmodifiableSet(new HashSet<Class<?>>(Arrays.<Class<?>> asList(
+					DurationAsString.class, ElementAsString.class,
+					IdentityAdapter.class, QNameAsString.class,
+					StringListAsString.class, TimeStringAsCalendar.class,
+					XMLGregorianCalendarAsDate.class,
+					XMLGregorianCalendarAsDateTime.class,
+					XMLGregorianCalendarAsGDay.class,
+					XMLGregorianCalendarAsGMonth.class,
+					XMLGregorianCalendarAsGMonthDay.class,
+					XMLGregorianCalendarAsGYear.class,
+					XMLGregorianCalendarAsGYearMonth.class,
+					XMLGregorianCalendarAsTime.class)));
+
+	private static final ClassValue<XmlAdapter<?, ?>> SHARED_XML_ADAPTERS = new ClassValue<XmlAdapter<?, ?>>() {
+		@SuppressWarnings("unchecked")
+		@Override
+		protected XmlAdapter<?, ?> computeValue(Class<?> type) {
+			return createXmlAdapter((Class<? extends XmlAdapter<?, ?>>) type);
+		}
+	};
+
 	public static <ValueType, BoundType> ValueType unmarshallJAXBElement(
 			Class<? extends XmlAdapter<BoundType, ValueType>> xmlAdapterClass,
 			JAXBElement<? extends BoundType> v) {
@@ -67,6 +145,20 @@ public class XmlAdapterUtils {
 		}
 	}
 
+	public static <ValueType, BoundType> ValueType unmarshallJAXBElement(
+			XmlAdapter<BoundType, ValueType> xmlAdapter,
+			JAXBElement<? extends BoundType> v) {
+		try {
+			if (v == null) {
+				return null;
+			} else {
+				return xmlAdapter.unmarshal(v.getValue());
+			}
+		} catch (Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	public static <BoundType> BoundType unmarshallJAXBElement(
 			JAXBElement<? extends BoundType> v) {
 		if (v == null) {
@@ -106,6 +198,21 @@ public class XmlAdapterUtils {
 		}
 	}
 
+	public static <ValueType, BoundType> JAXBElement<BoundType> marshallJAXBElement(
+			XmlAdapter<BoundType, ValueType> xmlAdapter,
+			Class<BoundType> declaredType, QName name, Class<?> scope, ValueType v) {
+		try {
+			if (v == null) {
+				return null;
+			} else {
+				return new JAXBElement<BoundType>(name, declaredType, scope,
+						xmlAdapter.marshal(v));
+			}
+		} catch (Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
 	public static <BoundType> JAXBElement<BoundType> marshallJAXBElement(
 			Class<BoundType> declaredType, QName name, Class<?> scope, BoundType v) {
 		if (v == null) {
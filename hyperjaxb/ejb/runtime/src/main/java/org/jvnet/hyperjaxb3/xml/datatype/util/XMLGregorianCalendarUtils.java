@@ -1,11 +1,99 @@
 package org.jvnet.hyperjaxb3.xml.datatype.util;
 
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 
 public class XMLGregorianCalendarUtils {
 
+	private static final DatatypeFactory datatypeFactory;
+	static {
+		try {
+			datatypeFactory = DatatypeFactory.newInstance();
+		} catch (DatatypeConfigurationException e) {
+			throw new Error(e);
+		}
+	}
+
+	/**
+	 * Returns the shared datatype factory.
+	 */
+	public static DatatypeFactory getDatatypeFactory() {
+		return datatypeFactory;
+	}
+
+	/**
+	 * Returns the same value as
+	 * <code>calendar.normalize().toGregorianCalendar().getTimeInMillis()</code>
+	 * without creating the intermediate calendars.
+	 */
 	public static long getTimeInMillis(XMLGregorianCalendar calendar) {
-		// TODO optimize
-		return calendar.toGregorianCalendar().getTimeInMillis();
+		final int year = valueOf(calendar.getYear(), 1970);
+		final int timezone = calendar.getTimezone();
+		// normalize() shifts partial values with a time zone irregularly,
+		// these are left to the calendar
+		final boolean shifted = timezone != 0
+				&& timezone != DatatypeConstants.FIELD_UNDEFINED;
+		if (calendar.getEon() == null && year > 0
+				&& (!shifted || isDateTime(calendar))) {
+			try {
+				final long epochDay = LocalDate.of(year,
+						valueOf(calendar.getMonth(), 1),
+						valueOf(calendar.getDay(), 1)).toEpochDay();
+				// Hour 24 or second 60 roll over as in a lenient calendar
+				final long secondOfDay = valueOf(calendar.getHour(), 0) * 3600L
+						+ valueOf(calendar.getMinute(), 0) * 60L
+						+ valueOf(calendar.getSecond(), 0);
+				final int millisecond = valueOf(calendar.getMillisecond(), 0);
+				if (timezone == DatatypeConstants.FIELD_UNDEFINED) {
+					// Ambiguous local times are taken as standard time, like
+					// GregorianCalendar does
+					return LocalDateTime
+							.ofEpochSecond(epochDay * 86400L + secondOfDay, 0,
+									ZoneOffset.UTC)
+							.atZone(ZoneId.systemDefault())
+							.withLaterOffsetAtOverlap().toInstant()
+							.toEpochMilli()
+							+ millisecond;
+				} else {
+					return (epochDay * 86400L + secondOfDay - timezone * 60L)
+							* 1000L + millisecond;
+				}
+			} catch (DateTimeException dtex) {
+				// Invalid day of month, leave it to the lenient calendar
+			}
+		}
+		return calendar.normalize().toGregorianCalendar().getTimeInMillis();
+	}
+
+	/**
+	 * Returns the date and time of the given date in the default time zone.
+	 * Unlike the deprecated getters of <code>java.util.Date</code>, dates
+	 * before 1582 are in the proleptic Gregorian calendar, as in
+	 * {@link #getTimeInMillis(XMLGregorianCalendar)}.
+	 */
+	public static LocalDateTime getLocalDateTime(Date date) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()),
+				ZoneId.systemDefault());
+	}
+
+	private static boolean isDateTime(XMLGregorianCalendar calendar) {
+		return calendar.getMonth() != DatatypeConstants.FIELD_UNDEFINED
+				&& calendar.getDay() != DatatypeConstants.FIELD_UNDEFINED
+				&& calendar.getHour() != DatatypeConstants.FIELD_UNDEFINED;
+	}
+
+	private static int valueOf(int field, int defaultValue) {
+		return field == DatatypeConstants.FIELD_UNDEFINED ? defaultValue
+				: field;
 	}
 }
@@ -10,6 +10,8 @@ import javax.xml.datatype.Duration;
 import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
 
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.DurationAsString;
@@ -35,6 +37,43 @@ public class XmlAdapterUtilsTest {
 				.marshall(QNameAsString.class, alpha), "Conversion failed.");
 	}
 
+    @Test
+	public void testSharedXmlAdapter() throws Exception {
+
+		Assertions.assertSame(XmlAdapterUtils
+				.getXmlAdapter(QNameAsString.class), XmlAdapterUtils
+				.getXmlAdapter(QNameAsString.class), "Adapter is not shared.");
+		Assertions.assertNotSame(XmlAdapterUtils
+				.getXmlAdapter(QNameAsString.class), XmlAdapterUtils
+				.createXmlAdapter(QNameAsString.class), "Adapter is shared.");
+		Assertions.assertEquals("{urn:test}test", XmlAdapterUtils.unmarshall(
+				XmlAdapterUtils.getXmlAdapter(QNameAsString.class), new QName(
+						"urn:test", "test")), "Conversion failed.");
+	}
+
+    @Test
+	public void testCustomXmlAdapterIsNotShared() throws Exception {
+
+		Assertions.assertNotSame(XmlAdapterUtils
+				.getXmlAdapter(CustomAdapter.class), XmlAdapterUtils
+				.getXmlAdapter(CustomAdapter.class), "Adapter is shared.");
+		Assertions.assertTrue(XmlAdapterUtils.isSharedXmlAdapter(QNameAsString.class.getName()));
+		Assertions.assertFalse(XmlAdapterUtils.isSharedXmlAdapter(CustomAdapter.class.getName()));
+	}
+
+	public static class CustomAdapter extends XmlAdapter<String, String> {
+
+		@Override
+		public String unmarshal(String value) {
+			return value;
+		}
+
+		@Override
+		public String marshal(String value) {
+			return value;
+		}
+	}
+
     @Test
 	public void testDuration() throws Exception {
 
@@ -45,6 +45,23 @@ public class EntityUtilsTest {
         Assertions.assertEquals(fourAlpha, EntityUtils.getId(four), "Wrong id.");
 	}
 
+    @Test
+	public void testGetIdRepeated() throws Exception {
+		for (long index = 0; index < 3; index++) {
+			Assertions.assertEquals(index, EntityUtils.getId(new One(index)), "Wrong id.");
+		}
+	}
+
+    @Test
+	public void testGetIdNone() throws Exception {
+		try {
+			EntityUtils.getId(new Alpha());
+			Assertions.fail("Expected IllegalArgumentException.");
+		} catch (IllegalArgumentException expected) {
+			// Alpha has no id
+		}
+	}
+
 	public static class One {
 		@Id
 		public long id;
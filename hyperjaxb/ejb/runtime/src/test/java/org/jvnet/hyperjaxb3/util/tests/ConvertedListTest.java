@@ -0,0 +1,128 @@
+package org.jvnet.hyperjaxb3.util.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hyperjaxb3.item.ConvertedList;
+import org.jvnet.hyperjaxb3.item.Converter;
+import org.jvnet.hyperjaxb3.transform.TransformUtils;
+
+public class ConvertedListTest {
+
+	private final Converter<String, Integer> converter = new Converter<String, Integer>() {
+
+		public String direct(Integer outer) {
+			return outer == null ? null : outer.toString();
+		}
+
+		public Integer inverse(String inner) {
+			return inner == null ? null : Integer.valueOf(inner);
+		}
+	};
+
+    @Test
+	public void testConvertedValues() throws Exception {
+		final List<String> inner = new ArrayList<String>(Arrays.asList("1", "2", "3"));
+		final List<Integer> outer = new ConvertedList<Integer, String>(inner, converter);
+
+		Assertions.assertEquals(Arrays.asList(1, 2, 3), outer);
+
+		outer.set(1, 20);
+		Assertions.assertEquals("20", inner.get(1));
+		Assertions.assertEquals(Integer.valueOf(20), outer.get(1));
+
+		outer.add(0, 0);
+		Assertions.assertEquals(Arrays.asList(0, 1, 20, 3), outer);
+
+		// Changes of the inner list are seen by the view
+		inner.set(3, "30");
+		inner.remove(0);
+		Assertions.assertEquals(Arrays.asList(1, 20, 30), outer);
+		Assertions.assertEquals(Integer.valueOf(1), outer.remove(0));
+		Assertions.assertEquals(Arrays.asList("20", "30"), inner);
+	}
+
+    @Test
+	public void testBulkOperations() throws Exception {
+		final List<String> inner = new ArrayList<String>();
+		final List<Integer> outer = new ConvertedList<Integer, String>(inner, converter);
+
+		outer.addAll(Arrays.asList(1, 2, 3, 4));
+		outer.addAll(2, Arrays.asList(10, 11));
+		Assertions.assertEquals(Arrays.asList("1", "2", "10", "11", "3", "4"), inner);
+
+		outer.removeIf(new Predicate<Integer>() {
+			public boolean test(Integer value) {
+				return value.intValue() % 2 == 0;
+			}
+		});
+		Assertions.assertEquals(Arrays.asList(1, 11, 3), outer);
+
+		outer.replaceAll(new UnaryOperator<Integer>() {
+			public Integer apply(Integer value) {
+				return value * 2;
+			}
+		});
+		Assertions.assertEquals(Arrays.asList("2", "22", "6"), inner);
+		Assertions.assertEquals(Arrays.asList(2, 22, 6), outer);
+
+		outer.clear();
+		Assertions.assertTrue(inner.isEmpty());
+		Assertions.assertTrue(outer.isEmpty());
+	}
+
+    @Test
+	public void testMemoizedValues() throws Exception {
+		final List<String> inner = new ArrayList<String>(Arrays.asList("1000", "2000"));
+		final List<Integer> outer = new ConvertedList<Integer, String>(inner, converter);
+
+		// Converted once as long as the inner value is the same
+		final Integer first = outer.get(0);
+		Assertions.assertSame(first, outer.get(0));
+
+		// Replaced and shifted inner values are converted again
+		inner.set(0, "1001");
+		Assertions.assertEquals(Integer.valueOf(1001), outer.get(0));
+		inner.add(0, "999");
+		Assertions.assertEquals(Arrays.asList(999, 1001, 2000), outer);
+	}
+
+    @Test
+	public void testRandomAccess() throws Exception {
+		final List<Integer> outer = new ArrayList<Integer>();
+		Assertions.assertTrue(TransformUtils.wrap(null, outer,
+				IntegerAsString.class) instanceof RandomAccess);
+		final List<String> linkedInner = TransformUtils.wrap(null,
+				new LinkedList<Integer>(), IntegerAsString.class);
+		Assertions.assertFalse(linkedInner instanceof RandomAccess);
+		linkedInner.addAll(Arrays.asList("1", "2"));
+		linkedInner.replaceAll(new UnaryOperator<String>() {
+			public String apply(String value) {
+				return value + "0";
+			}
+		});
+		Assertions.assertEquals(Arrays.asList("10", "20"), linkedInner);
+	}
+
+	public static class IntegerAsString extends XmlAdapter<String, Integer> {
+
+		@Override
+		public Integer unmarshal(String value) {
+			return value == null ? null : Integer.valueOf(value);
+		}
+
+		@Override
+		public String marshal(Integer value) {
+			return value == null ? null : value.toString();
+		}
+	}
+}
@@ -5,8 +5,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -50,4 +53,37 @@ public class ItemListTest {
 
 	}
 
+    @Test
+	public void testBulkOperations() throws Exception {
+
+		final List<StringItem> items = new ArrayList<StringItem>();
+
+		final List<String> strings = new DefaultItemList<String, StringItem>(
+				items, StringItem.class);
+
+		strings.addAll(Arrays.asList("a", "b", "c", "d"));
+		strings.addAll(1, Arrays.asList("x", "y"));
+		Assertions.assertEquals(Arrays.asList("a", "x", "y", "b", "c", "d"), strings);
+		Assertions.assertEquals(6, items.size(), "Wrong number of items.");
+
+		final StringItem b = items.get(3);
+		strings.removeIf(new Predicate<String>() {
+			public boolean test(String string) {
+				return string.equals("x") || string.equals("c");
+			}
+		});
+		Assertions.assertEquals(Arrays.asList("a", "y", "b", "d"), strings);
+
+		strings.replaceAll(new UnaryOperator<String>() {
+			public String apply(String string) {
+				return string.toUpperCase();
+			}
+		});
+		Assertions.assertEquals(Arrays.asList("A", "Y", "B", "D"), strings);
+		// Items are updated, not replaced
+		Assertions.assertSame(b, items.get(2));
+
+		strings.clear();
+		Assertions.assertTrue(items.isEmpty());
+	}
 }
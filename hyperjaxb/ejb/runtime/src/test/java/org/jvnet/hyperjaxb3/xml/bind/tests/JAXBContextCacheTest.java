@@ -0,0 +1,81 @@
+package org.jvnet.hyperjaxb3.xml.bind.tests;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hyperjaxb3.xml.bind.JAXBContextCache;
+import org.jvnet.hyperjaxb3.xml.bind.JAXBContextPool;
+
+public class JAXBContextCacheTest {
+
+	private static final String CONTEXT_PATH = "org.jvnet.hyperjaxb3.sb.tests";
+
+	@Test
+	public void testConcurrentFirstAccess() throws Exception {
+		final JAXBContextCache cache = new JAXBContextCache();
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<JAXBContextPool>> results = new ArrayList<Future<JAXBContextPool>>();
+			for (int index = 0; index < 16; index++) {
+				results.add(executor.submit(new Callable<JAXBContextPool>() {
+					public JAXBContextPool call() throws Exception {
+						start.await();
+						return cache.getJAXBContextPool(CONTEXT_PATH,
+								classLoader);
+					}
+				}));
+			}
+			start.countDown();
+			final JAXBContextPool pool = results.get(0).get();
+			for (Future<JAXBContextPool> result : results) {
+				Assertions.assertSame(pool, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Assertions.assertEquals(1, cache.getCacheMisses());
+		Assertions.assertEquals(15, cache.getCacheHits());
+	}
+
+	@Test
+	public void testClassLoaders() throws Exception {
+		final JAXBContextCache cache = new JAXBContextCache();
+		final ClassLoader classLoader = getClass().getClassLoader();
+		final ClassLoader childClassLoader = new URLClassLoader(new URL[0],
+				classLoader);
+		Assertions.assertNotSame(
+				cache.getJAXBContextPool(CONTEXT_PATH, classLoader),
+				cache.getJAXBContextPool(CONTEXT_PATH, childClassLoader));
+		Assertions.assertSame(
+				cache.getJAXBContextPool(CONTEXT_PATH, classLoader),
+				cache.getJAXBContextPool(CONTEXT_PATH, classLoader));
+		Assertions.assertEquals(2, cache.getCacheMisses());
+	}
+
+	@Test
+	public void testPreload() throws Exception {
+		final JAXBContextCache cache = new JAXBContextCache();
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			cache.preload(Collections.singleton(CONTEXT_PATH), executor).get();
+		} finally {
+			executor.shutdown();
+		}
+		Assertions.assertEquals(1, cache.getCacheMisses());
+		cache.getJAXBContextPool(CONTEXT_PATH);
+		Assertions.assertEquals(1, cache.getCacheMisses());
+		Assertions.assertEquals(1, cache.getCacheHits());
+	}
+}
@@ -0,0 +1,71 @@
+package org.jvnet.hyperjaxb3.xml.bind.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hyperjaxb3.sb.tests.SimpleAttributeDefinition;
+import org.jvnet.hyperjaxb3.xml.bind.JAXBContextUtils;
+import org.w3c.dom.Element;
+
+public class JAXBContextUtilsTest {
+
+	private static final String CONTEXT_PATH = "org.jvnet.hyperjaxb3.sb.tests";
+
+	private static final String ATTRIBUTE = "<SimpleAttribute name=\"num\" xsi:type=\"xsd:int\""
+			+ " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+			+ " xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\">5</SimpleAttribute>";
+
+	@Test
+	public void testUnmarshal() throws Exception {
+		final Object attribute = JAXBContextUtils.unmarshal(CONTEXT_PATH,
+				ATTRIBUTE);
+		Assertions.assertTrue(attribute instanceof SimpleAttributeDefinition);
+		Assertions.assertEquals(5,
+				((SimpleAttributeDefinition<?>) attribute).getValue());
+
+		final String text = JAXBContextUtils.marshal(CONTEXT_PATH, attribute);
+		Assertions.assertEquals(5, ((SimpleAttributeDefinition<?>) JAXBContextUtils
+				.unmarshal(CONTEXT_PATH, text)).getValue());
+	}
+
+	@Test
+	public void testUnmarshalUnknownElement() throws Exception {
+		final Object unknown = JAXBContextUtils.unmarshal(CONTEXT_PATH,
+				"<unknown xmlns=\"urn:test\"><a/></unknown>");
+		Assertions.assertTrue(unknown instanceof Element);
+		Assertions.assertEquals("unknown", ((Element) unknown).getLocalName());
+		Assertions.assertEquals("urn:test",
+				((Element) unknown).getNamespaceURI());
+	}
+
+	@Test
+	public void testConcurrentUnmarshal() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Object>> results = new ArrayList<Future<Object>>();
+			for (int index = 0; index < 64; index++) {
+				results.add(executor.submit(new Callable<Object>() {
+					public Object call() throws Exception {
+						return JAXBContextUtils.unmarshal(CONTEXT_PATH,
+								JAXBContextUtils.marshal(CONTEXT_PATH,
+										JAXBContextUtils.unmarshal(
+												CONTEXT_PATH, ATTRIBUTE)));
+					}
+				}));
+			}
+			for (Future<Object> result : results) {
+				Assertions.assertEquals(5,
+						((SimpleAttributeDefinition<?>) result.get())
+								.getValue());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package org.jvnet.hyperjaxb3.xml.datatype.util.tests;
+
+import java.util.TimeZone;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGDay;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGMonth;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGMonthDay;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGYear;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XMLGregorianCalendarAsGYearMonth;
+import org.jvnet.hyperjaxb3.xml.bind.annotation.adapters.XmlAdapterUtils;
+import org.jvnet.hyperjaxb3.xml.datatype.util.XMLGregorianCalendarUtils;
+
+public class XMLGregorianCalendarUtilsTest {
+
+	@Test
+	public void testGetTimeInMillis() throws Exception {
+		final TimeZone _default = TimeZone.getDefault();
+		TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+		try {
+			// DST overlap, DST gap, hour 24, leap day, early and partial
+			// values
+			checkGetTimeInMillis("2023-10-29T02:30:00");
+			checkGetTimeInMillis("2023-03-26T02:30:00");
+			checkGetTimeInMillis("2023-03-26T24:00:00");
+			checkGetTimeInMillis("2008-02-29T10:00:00.5");
+			checkGetTimeInMillis("1500-01-01T00:00:00Z");
+			checkGetTimeInMillis("2008-01-02T10:18:30.0129+01:00");
+			checkGetTimeInMillis("2008-01-02-05:00");
+			checkGetTimeInMillis("2008-01-02+14:00");
+			checkGetTimeInMillis("--05-04");
+			checkGetTimeInMillis("10:20:30");
+			checkGetTimeInMillis("00:30:00+01:00");
+			checkGetTimeInMillis("--05-04+03:00");
+		} finally {
+			TimeZone.setDefault(_default);
+		}
+	}
+
+	private void checkGetTimeInMillis(String text) {
+		final XMLGregorianCalendar calendar = XMLGregorianCalendarUtils
+				.getDatatypeFactory().newXMLGregorianCalendar(text);
+		Assertions.assertEquals(calendar.normalize().toGregorianCalendar()
+				.getTimeInMillis(),
+				XMLGregorianCalendarUtils.getTimeInMillis(calendar), text);
+	}
+
+	@Test
+	public void testGregorianCalendarAdapters() throws Exception {
+		checkRoundtrip(XMLGregorianCalendarAsGYear.class, "2008");
+		checkRoundtrip(XMLGregorianCalendarAsGYearMonth.class, "2008-02");
+		checkRoundtrip(XMLGregorianCalendarAsGMonth.class, "--02");
+		checkRoundtrip(XMLGregorianCalendarAsGMonthDay.class, "--02-28");
+		checkRoundtrip(XMLGregorianCalendarAsGDay.class, "---31");
+	}
+
+	private void checkRoundtrip(
+			Class<? extends jakarta.xml.bind.annotation.adapters.XmlAdapter<XMLGregorianCalendar, java.util.Date>> xmlAdapterClass,
+			String text) {
+		final XMLGregorianCalendar alpha = XMLGregorianCalendarUtils
+				.getDatatypeFactory().newXMLGregorianCalendar(text);
+		final XMLGregorianCalendar beta = XmlAdapterUtils.marshall(
+				xmlAdapterClass,
+				XmlAdapterUtils.unmarshall(xmlAdapterClass, alpha));
+		Assertions.assertEquals(alpha, beta, text);
+	}
+}
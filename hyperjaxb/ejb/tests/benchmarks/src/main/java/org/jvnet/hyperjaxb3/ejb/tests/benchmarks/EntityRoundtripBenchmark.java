@@ -0,0 +1,208 @@
+package org.jvnet.hyperjaxb3.ejb.tests.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.jvnet.hyperjaxb3.ejb.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of generated entities under JPA (Hibernate, in-memory
+ * HSQLDB):
+ * <ul>
+ * <li><code>unmarshal</code> - the sample into entities;</li>
+ * <li><code>persist</code> - unmarshal and persist in one transaction;</li>
+ * <li><code>marshal</code> - the loaded sample;</li>
+ * <li><code>findAndMarshal</code> - load the persisted sample by id and
+ * marshal it, lazy associations are loaded while marshalling;</li>
+ * <li><code>roundtrip</code> - unmarshal, persist, find and marshal.</li>
+ * </ul>
+ * Samples are <code>po</code> (purchase order tutorial schema) and
+ * <code>wide</code> (synthetic schema with wide records, item lists, temporal
+ * properties and five levels of nested types). The database is recreated for
+ * each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntityRoundtripBenchmark {
+
+	public static final String PERSISTENCE_UNIT_NAME = "benchmarks";
+
+	public static final String CONTEXT_PATH = "org.jvnet.hyperjaxb3.ejb.tests.benchmarks.po:org.jvnet.hyperjaxb3.ejb.tests.benchmarks.wide";
+
+	@Param({ "po", "wide" })
+	public String sample;
+
+	private JAXBContext context;
+
+	private Unmarshaller unmarshaller;
+
+	private Marshaller marshaller;
+
+	private byte[] sampleBytes;
+
+	private EntityManagerFactory entityManagerFactory;
+
+	private Class<?> entityClass;
+
+	private Object id;
+
+	private Object loadedEntity;
+
+	@Setup(Level.Trial)
+	public void setupContext() throws JAXBException, IOException {
+		context = JAXBContext.newInstance(CONTEXT_PATH);
+		unmarshaller = context.createUnmarshaller();
+		marshaller = context.createMarshaller();
+		sampleBytes = read("samples/" + sample + ".xml");
+	}
+
+	@Setup(Level.Iteration)
+	public void setupDatabase() throws Exception {
+		final Properties properties = new Properties();
+		final InputStream is = getClass().getClassLoader().getResourceAsStream(
+				"persistence.properties");
+		try {
+			properties.load(is);
+		} finally {
+			is.close();
+		}
+		entityManagerFactory = Persistence.createEntityManagerFactory(
+				PERSISTENCE_UNIT_NAME, properties);
+		final Object entity = persist(unmarshal());
+		entityClass = entity.getClass();
+		id = getId(entity);
+		final EntityManager entityManager = entityManagerFactory
+				.createEntityManager();
+		try {
+			loadedEntity = entityManager.find(entityClass, id);
+			// Initialize lazy associations before the entity manager is closed
+			marshal(loadedEntity);
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownDatabase() {
+		entityManagerFactory.close();
+	}
+
+	@Benchmark
+	public Object unmarshal() throws JAXBException {
+		return getValue(unmarshaller.unmarshal(new ByteArrayInputStream(
+				sampleBytes)));
+	}
+
+	@Benchmark
+	public Object persist() throws JAXBException {
+		return persist(unmarshal());
+	}
+
+	@Benchmark
+	public byte[] marshal() throws JAXBException {
+		return marshal(loadedEntity);
+	}
+
+	@Benchmark
+	public byte[] findAndMarshal() throws JAXBException {
+		return findAndMarshal(id);
+	}
+
+	@Benchmark
+	public byte[] roundtrip() throws Exception {
+		return findAndMarshal(getId(persist(unmarshal())));
+	}
+
+	private Object persist(Object entity) {
+		final EntityManager entityManager = entityManagerFactory
+				.createEntityManager();
+		try {
+			entityManager.getTransaction().begin();
+			entityManager.persist(entity);
+			entityManager.getTransaction().commit();
+			return entity;
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	private byte[] findAndMarshal(Object id) throws JAXBException {
+		final EntityManager entityManager = entityManagerFactory
+				.createEntityManager();
+		try {
+			return marshal(entityManager.find(entityClass, id));
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	private byte[] marshal(Object entity) throws JAXBException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream(
+				sampleBytes.length);
+		marshaller.marshal(wrap(entity), os);
+		return os.toByteArray();
+	}
+
+	private Object getId(Object entity) throws Exception {
+		return EntityUtils.getId(entity);
+	}
+
+	private Object getValue(Object draft) {
+		return draft instanceof JAXBElement ? ((JAXBElement<?>) draft)
+				.getValue() : draft;
+	}
+
+	private Object wrap(Object entity) {
+		if (entity instanceof org.jvnet.hyperjaxb3.ejb.tests.benchmarks.po.PurchaseOrderType) {
+			return new org.jvnet.hyperjaxb3.ejb.tests.benchmarks.po.ObjectFactory()
+					.createPurchaseOrder((org.jvnet.hyperjaxb3.ejb.tests.benchmarks.po.PurchaseOrderType) entity);
+		} else if (entity instanceof org.jvnet.hyperjaxb3.ejb.tests.benchmarks.wide.DatasetType) {
+			return new org.jvnet.hyperjaxb3.ejb.tests.benchmarks.wide.ObjectFactory()
+					.createDataset((org.jvnet.hyperjaxb3.ejb.tests.benchmarks.wide.DatasetType) entity);
+		} else {
+			return entity;
+		}
+	}
+
+	private byte[] read(String resourceName) throws IOException {
+		final InputStream is = getClass().getClassLoader().getResourceAsStream(
+				resourceName);
+		if (is == null) {
+			throw new IOException("Resource [" + resourceName
+					+ "] could not be found.");
+		}
+		try {
+			return is.readAllBytes();
+		} finally {
+			is.close();
+		}
+	}
+}
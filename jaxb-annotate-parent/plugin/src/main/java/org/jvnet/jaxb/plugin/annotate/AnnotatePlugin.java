@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import javax.xml.namespace.QName;
@@ -200,6 +201,8 @@ public class AnnotatePlugin extends AbstractParameterizablePlugin {
 	public boolean run(Outline outline, Options options,
 			ErrorHandler errorHandler) {
 
+		getAnnotationParser().parseAll(getAnnotationStrings(outline));
+
 		for (final CElementInfo elementInfo : outline.getModel()
 				.getAllElements()) {
 			final ElementOutline elementOutline = outline
@@ -452,6 +455,56 @@ public class AnnotatePlugin extends AbstractParameterizablePlugin {
 		}
 	}
 
+	/**
+	 * Collects the distinct annotation strings of the customizations so that
+	 * they could be parsed in one pass.
+	 */
+	private Set<String> getAnnotationStrings(Outline outline) {
+		final Set<String> annotationStrings = new LinkedHashSet<String>();
+		for (final CElementInfo elementInfo : outline.getModel()
+				.getAllElements()) {
+			addAnnotationStrings(annotationStrings,
+					CustomizationUtils.getCustomizations(elementInfo));
+		}
+		for (final ClassOutline classOutline : outline.getClasses()) {
+			addAnnotationStrings(annotationStrings,
+					CustomizationUtils.getCustomizations(classOutline));
+			for (final FieldOutline fieldOutline : classOutline
+					.getDeclaredFields()) {
+				addAnnotationStrings(annotationStrings,
+						CustomizationUtils.getCustomizations(fieldOutline));
+			}
+		}
+		for (final EnumOutline enumOutline : outline.getEnums()) {
+			addAnnotationStrings(annotationStrings,
+					CustomizationUtils.getCustomizations(enumOutline));
+			for (final EnumConstantOutline enumConstantOutline : enumOutline.constants) {
+				addAnnotationStrings(annotationStrings,
+						CustomizationUtils
+								.getCustomizations(enumConstantOutline));
+			}
+		}
+		return annotationStrings;
+	}
+
+	private void addAnnotationStrings(Set<String> annotationStrings,
+			CCustomizations customizations) {
+		for (final CPluginCustomization customization : customizations) {
+			final Element element = customization.element;
+			if (isCustomizationElementName(new QName(
+					element.getNamespaceURI(), element.getLocalName()))) {
+				final NodeList nodes = element.getChildNodes();
+				for (int index = 0; index < nodes.getLength(); index++) {
+					final Node node = nodes.item(index);
+					if (node.getNodeType() == Node.TEXT_NODE
+							&& !StringUtils.isBlank(node.getNodeValue())) {
+						annotationStrings.add(node.getNodeValue());
+					}
+				}
+			}
+		}
+	}
+
 	private boolean isCustomizationElementName(final QName name) {
 		return name != null &&
             ((Constants.NAMESPACE_URI.equals(name.getNamespaceURI()) &&
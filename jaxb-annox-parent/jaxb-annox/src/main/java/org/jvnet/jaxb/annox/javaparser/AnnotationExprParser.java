@@ -1,6 +1,7 @@
 package org.jvnet.jaxb.annox.javaparser;
 
 import com.github.javaparser.ParseException;
+import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.NodeList;
@@ -11,6 +12,7 @@ import org.jvnet.jaxb.annox.util.Validate;
 
 import java.io.StringReader;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 public class AnnotationExprParser {
@@ -50,4 +52,47 @@ public class AnnotationExprParser {
 		}
 		return annotations;
 	}
+
+	/**
+	 * Parses several annotation texts in one pass. Each text is declared on a
+	 * dummy class of its own, the returned list holds the annotations of the
+	 * texts in the given order.
+	 */
+	public List<List<AnnotationExpr>> parse(List<String> texts)
+			throws ParseException {
+		Validate.noNullElements(texts);
+		final StringBuilder classesText = new StringBuilder();
+		for (int index = 0; index < texts.size(); index++) {
+			classesText.append(texts.get(index)).append("\n")
+					.append("public class Dummy").append(index).append("{}\n");
+		}
+		final CompilationUnit compilationUnit;
+		try {
+			compilationUnit = StaticJavaParser.parse(new StringReader(
+					classesText.toString()));
+		} catch (ParseProblemException ppex) {
+			throw new ParseException(MessageFormat.format(
+					"Annotations could not be parsed: {0}", ppex.getMessage()));
+		}
+		final NodeList<TypeDeclaration<?>> typeDeclarations = compilationUnit
+				.getTypes();
+		if (typeDeclarations.size() != texts.size()) {
+			throw new ParseException(
+					"Annotations could not be parsed, they contain unexpected type declarations.");
+		}
+		final List<List<AnnotationExpr>> annotations = new ArrayList<List<AnnotationExpr>>(
+				texts.size());
+		for (int index = 0; index < texts.size(); index++) {
+			final TypeDeclaration<?> typeDeclaration = typeDeclarations
+					.get(index);
+			if (!(typeDeclaration instanceof ClassOrInterfaceDeclaration)
+					|| !("Dummy" + index).equals(typeDeclaration
+							.getNameAsString())) {
+				throw new ParseException(MessageFormat.format(
+						"Expected [{0}] as type declaration.", "Dummy" + index));
+			}
+			annotations.add(typeDeclaration.getAnnotations());
+		}
+		return annotations;
+	}
 }
@@ -13,12 +13,18 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,6 +50,15 @@ public class XAnnotationParser {
 	private final ClassLoader classLoader;
     private final Logger logger = Logger.getLogger(getClass().getName());
 
+	/*
+	 * Parsed annotations are immutable and are cached by their string or
+	 * element. Classes are always loaded with the class loader of this parser
+	 * so the caches are per parser.
+	 */
+	private final Map<String, XAnnotation<?>> annotationStringCache = new ConcurrentHashMap<String, XAnnotation<?>>();
+
+	private final Map<Element, XAnnotation<?>> annotationElementCache = new WeakHashMap<Element, XAnnotation<?>>();
+
 	/**
 	 * Default constructor.
 	 */
@@ -90,11 +105,27 @@ public class XAnnotationParser {
 		return xannotations;
 	}
 
-	@SuppressWarnings("unchecked")
 	public XAnnotation<?> parse(final Element annotationElement)
 			throws AnnotationElementParseException {
         Objects.requireNonNull(annotationElement,
 				"Annotation element must not be null.");
+		synchronized (annotationElementCache) {
+			final XAnnotation<?> xannotation = annotationElementCache
+					.get(annotationElement);
+			if (xannotation != null) {
+				return xannotation;
+			}
+		}
+		final XAnnotation<?> xannotation = parseElement(annotationElement);
+		synchronized (annotationElementCache) {
+			annotationElementCache.put(annotationElement, xannotation);
+		}
+		return xannotation;
+	}
+
+	@SuppressWarnings("unchecked")
+	private XAnnotation<?> parseElement(final Element annotationElement)
+			throws AnnotationElementParseException {
 
 		final String name = annotationElement.getLocalName();
 
@@ -175,8 +206,78 @@ public class XAnnotationParser {
 	public XAnnotation<?> parse(final String annotationString)
 			throws AnnotationStringParseException,
 			AnnotationExpressionParseException {
+		final String key = annotationString == null ? null : annotationString
+				.trim();
+		if (key != null) {
+			final XAnnotation<?> xannotation = annotationStringCache.get(key);
+			if (xannotation != null) {
+				return xannotation;
+			}
+		}
 		final AnnotationExpr expression = parseAnnotationExpr(annotationString);
-		return parse(expression);
+		final XAnnotation<?> xannotation = parse(expression);
+		annotationStringCache.put(key, xannotation);
+		return xannotation;
+	}
+
+	/**
+	 * Parses the given annotation strings, each declaring a single annotation,
+	 * at once. Strings which were not parsed yet are parsed in one pass and the
+	 * results are cached, so that subsequent calls to {@link #parse(String)}
+	 * with these strings don't parse them again.
+	 * <p>
+	 * Strings which could not be parsed are omitted from the result, the error
+	 * is reported when such a string is parsed with {@link #parse(String)}.
+	 * </p>
+	 *
+	 * @param annotationStrings
+	 *            annotation strings, may contain duplicates.
+	 * @return Parsed annotations by their annotation strings.
+	 */
+	public Map<String, XAnnotation<?>> parseAll(
+			final Collection<String> annotationStrings) {
+		Validate.noNullElements(annotationStrings,
+				"Annotation strings must not contain null.");
+		final Set<String> keys = new LinkedHashSet<String>();
+		for (String annotationString : annotationStrings) {
+			final String key = annotationString.trim();
+			if (!annotationStringCache.containsKey(key)) {
+				keys.add(key);
+			}
+		}
+		if (!keys.isEmpty()) {
+			final List<String> texts = new ArrayList<String>(keys);
+			List<List<AnnotationExpr>> annotationExprs;
+			try {
+				annotationExprs = new AnnotationExprParser().parse(texts);
+			} catch (ParseException pex) {
+				// Parse strings one by one to skip the invalid ones
+				annotationExprs = null;
+			}
+			for (int index = 0; index < texts.size(); index++) {
+				final String text = texts.get(index);
+				try {
+					if (annotationExprs == null) {
+						parse(text);
+					} else if (annotationExprs.get(index).size() == 1) {
+						annotationStringCache.put(text,
+								parse(annotationExprs.get(index).get(0)));
+					}
+				} catch (Exception ex) {
+					logger.log(Level.FINE, MessageFormat.format(
+							"Could not parse the annotation [{0}].", text), ex);
+				}
+			}
+		}
+		final Map<String, XAnnotation<?>> xannotations = new LinkedHashMap<String, XAnnotation<?>>();
+		for (String annotationString : annotationStrings) {
+			final XAnnotation<?> xannotation = annotationStringCache
+					.get(annotationString.trim());
+			if (xannotation != null) {
+				xannotations.put(annotationString, xannotation);
+			}
+		}
+		return xannotations;
 	}
 
 	public XAnnotation<?>[] parse(final String[] annotationStrings)
@@ -0,0 +1,320 @@
+package org.jvnet.jaxb.annox.reader.resourced;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jvnet.jaxb.annox.model.XAnnotation;
+import org.jvnet.jaxb.annox.model.XClass;
+import org.jvnet.jaxb.annox.model.XConstructor;
+import org.jvnet.jaxb.annox.model.XField;
+import org.jvnet.jaxb.annox.model.XMethod;
+import org.jvnet.jaxb.annox.model.XPackage;
+import org.jvnet.jaxb.annox.model.XParameter;
+import org.jvnet.jaxb.annox.model.annotation.field.XAnnotationField;
+import org.jvnet.jaxb.annox.model.annotation.field.XArrayAnnotationField;
+import org.jvnet.jaxb.annox.model.annotation.field.XSingleAnnotationField;
+import org.jvnet.jaxb.annox.model.annotation.value.XAnnotationValue;
+import org.jvnet.jaxb.annox.model.annotation.value.XXAnnotationAnnotationValue;
+import org.jvnet.jaxb.annox.parser.XGenericFieldParser;
+import org.jvnet.jaxb.annox.util.ClassUtils;
+import org.jvnet.jaxb.annox.util.ReflectionUtils;
+import org.jvnet.jaxb.annox.util.Validate;
+
+/**
+ * Binary index of precompiled <code>*.ann.xml</code> resources, written by
+ * {@link AnnotationIndexWriter}.
+ * <p>
+ * Only the string table and the entry directory are read when the index is
+ * opened. Packages and classes are decoded on request, without XML parsing or
+ * annotation expression parsing.
+ * </p>
+ * <p>
+ * Layout (big-endian): magic, version, string table (count, then length and
+ * UTF-8 bytes of each string), entry directory (count, then kind, name and
+ * offset of each entry), entry data.
+ * </p>
+ */
+public class AnnotationIndex {
+
+	/**
+	 * Default name of the index resource.
+	 */
+	public static final String RESOURCE_NAME = "META-INF/jaxb-annox/annotations.idx";
+
+	static final int MAGIC = 0x414E4E58;
+
+	static final int VERSION = 1;
+
+	static final byte PACKAGE_ENTRY = 0;
+
+	static final byte CLASS_ENTRY = 1;
+
+	private final ByteBuffer buffer;
+
+	private final String[] strings;
+
+	private final Map<String, Integer> packages = new HashMap<String, Integer>();
+
+	private final Map<String, Integer> classes = new HashMap<String, Integer>();
+
+	public AnnotationIndex(ByteBuffer buffer) throws IOException {
+		Validate.notNull(buffer);
+		this.buffer = buffer.duplicate();
+		final ByteBuffer header = buffer.duplicate();
+		if (header.remaining() < 8 || header.getInt() != MAGIC) {
+			throw new IOException("Not an annotation index.");
+		}
+		final int version = header.getInt();
+		if (version != VERSION) {
+			throw new IOException(MessageFormat.format(
+					"Unsupported annotation index version [{0}].", version));
+		}
+		this.strings = new String[header.getInt()];
+		for (int index = 0; index < strings.length; index++) {
+			final byte[] bytes = new byte[header.getInt()];
+			header.get(bytes);
+			strings[index] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		final int entryCount = header.getInt();
+		for (int index = 0; index < entryCount; index++) {
+			final byte kind = header.get();
+			final String name = strings[header.getInt()];
+			final int offset = header.getInt();
+			(kind == PACKAGE_ENTRY ? packages : classes).put(name, offset);
+		}
+	}
+
+	/**
+	 * Maps the index file into memory.
+	 */
+	public static AnnotationIndex map(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			return new AnnotationIndex(channel.map(
+					FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads the index from the stream, the stream is not closed.
+	 */
+	public static AnnotationIndex read(InputStream is) throws IOException {
+		return new AnnotationIndex(ByteBuffer.wrap(is.readAllBytes()));
+	}
+
+	public boolean containsPackage(String packageName) {
+		return packages.containsKey(packageName);
+	}
+
+	public boolean containsClass(String className) {
+		return classes.containsKey(className);
+	}
+
+	/**
+	 * @return annotations of the package or <code>null</code> if the package
+	 *         is not in the index.
+	 */
+	public XPackage getXPackage(Package thePackage, ClassLoader classLoader)
+			throws ClassNotFoundException, NoSuchFieldException,
+			NoSuchMethodException {
+		final Integer offset = packages.get(thePackage.getName());
+		if (offset == null) {
+			return null;
+		}
+		final ByteBuffer data = data(offset);
+		final XAnnotation<?>[] xannotations = readAnnotations(data,
+				classLoader);
+		final XClass[] xclasses = new XClass[data.getInt()];
+		for (int index = 0; index < xclasses.length; index++) {
+			final Class<?> theClass = ClassUtils.forName(
+					strings[data.getInt()], true, classLoader);
+			xclasses[index] = readClass(data, theClass, classLoader);
+		}
+		return new XPackage(thePackage, xannotations, xclasses);
+	}
+
+	/**
+	 * @return annotations of the class or <code>null</code> if the class is
+	 *         not in the index.
+	 */
+	public XClass getXClass(Class<?> theClass, ClassLoader classLoader)
+			throws ClassNotFoundException, NoSuchFieldException,
+			NoSuchMethodException {
+		final Integer offset = classes.get(theClass.getName());
+		if (offset == null) {
+			return null;
+		}
+		return readClass(data(offset), theClass, classLoader);
+	}
+
+	private ByteBuffer data(int offset) {
+		// Independent position per decoding, the index is shared
+		final ByteBuffer data = buffer.duplicate();
+		data.position(offset);
+		return data;
+	}
+
+	private XClass readClass(ByteBuffer data, Class<?> theClass,
+			ClassLoader classLoader) throws ClassNotFoundException,
+			NoSuchFieldException, NoSuchMethodException {
+		final XAnnotation<?>[] xannotations = readAnnotations(data,
+				classLoader);
+		final XField[] xfields = new XField[data.getInt()];
+		for (int index = 0; index < xfields.length; index++) {
+			final Field field = ReflectionUtils.getField(theClass,
+					strings[data.getInt()]);
+			xfields[index] = new XField(field, readAnnotations(data,
+					classLoader));
+		}
+		final XConstructor[] xconstructors = new XConstructor[data.getInt()];
+		for (int index = 0; index < xconstructors.length; index++) {
+			final Constructor<?> constructor = ReflectionUtils.getConstructor(
+					theClass, readTypes(data, classLoader));
+			final XAnnotation<?>[] constructorAnnotations = readAnnotations(
+					data, classLoader);
+			xconstructors[index] = new XConstructor(constructor,
+					constructorAnnotations, readParameters(data,
+							constructor.getParameterTypes(), classLoader));
+		}
+		final XMethod[] xmethods = new XMethod[data.getInt()];
+		for (int index = 0; index < xmethods.length; index++) {
+			final String name = strings[data.getInt()];
+			final Method method = ReflectionUtils.getMethod(theClass, name,
+					readTypes(data, classLoader));
+			final XAnnotation<?>[] methodAnnotations = readAnnotations(data,
+					classLoader);
+			xmethods[index] = new XMethod(method, methodAnnotations,
+					readParameters(data, method.getParameterTypes(),
+							classLoader));
+		}
+		return new XClass(theClass, xannotations, xfields, xconstructors,
+				xmethods);
+	}
+
+	private Class<?>[] readTypes(ByteBuffer data, ClassLoader classLoader)
+			throws ClassNotFoundException {
+		final Class<?>[] types = new Class<?>[data.getInt()];
+		for (int index = 0; index < types.length; index++) {
+			types[index] = ClassUtils.forName(strings[data.getInt()], true,
+					classLoader);
+		}
+		return types;
+	}
+
+	private XParameter[] readParameters(ByteBuffer data,
+			Class<?>[] parameterTypes, ClassLoader classLoader)
+			throws ClassNotFoundException {
+		final XParameter[] xparameters = new XParameter[parameterTypes.length];
+		for (int index = 0; index < xparameters.length; index++) {
+			xparameters[index] = new XParameter(parameterTypes[index],
+					readAnnotations(data, classLoader));
+		}
+		return xparameters;
+	}
+
+	private XAnnotation<?>[] readAnnotations(ByteBuffer data,
+			ClassLoader classLoader) throws ClassNotFoundException {
+		final int count = data.getInt();
+		if (count == 0) {
+			return XAnnotation.EMPTY_ARRAY;
+		}
+		final XAnnotation<?>[] xannotations = new XAnnotation<?>[count];
+		for (int index = 0; index < count; index++) {
+			xannotations[index] = readAnnotation(data, classLoader);
+		}
+		return xannotations;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private XAnnotation<?> readAnnotation(ByteBuffer data,
+			ClassLoader classLoader) throws ClassNotFoundException {
+		final Class<? extends Annotation> annotationClass = (Class<? extends Annotation>) ClassUtils
+				.forName(strings[data.getInt()], true, classLoader);
+		final XAnnotationField<?>[] fields = new XAnnotationField<?>[data
+				.getInt()];
+		for (int index = 0; index < fields.length; index++) {
+			final String name = strings[data.getInt()];
+			final Class<?> type = ClassUtils.forName(strings[data.getInt()],
+					true, classLoader);
+			fields[index] = readField(data, name, type, classLoader);
+		}
+		return new XAnnotation(annotationClass, fields);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private XAnnotationField<?> readField(ByteBuffer data, String name,
+			Class<?> type, ClassLoader classLoader)
+			throws ClassNotFoundException {
+		if (type.isAnnotation()) {
+			return new XSingleAnnotationField(name, type,
+					new XXAnnotationAnnotationValue(readAnnotation(data,
+							classLoader)));
+		} else if (type.isArray() && type.getComponentType().isAnnotation()) {
+			final XAnnotationValue<?>[] values = new XAnnotationValue<?>[data
+					.getInt()];
+			for (int index = 0; index < values.length; index++) {
+				values[index] = new XXAnnotationAnnotationValue(
+						readAnnotation(data, classLoader));
+			}
+			return new XArrayAnnotationField(name, type, values);
+		} else {
+			return XGenericFieldParser.GENERIC.construct(name,
+					readValue(data, type, classLoader), type);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object readValue(ByteBuffer data, Class<?> type,
+			ClassLoader classLoader) throws ClassNotFoundException {
+		if (type.isArray()) {
+			final Class<?> componentType = type.getComponentType();
+			final int length = data.getInt();
+			final Object array = Array.newInstance(
+					ClassUtils.primitiveToWrapper(componentType), length);
+			for (int index = 0; index < length; index++) {
+				Array.set(array, index,
+						readValue(data, componentType, classLoader));
+			}
+			return array;
+		} else if (Boolean.TYPE.equals(type)) {
+			return data.get() != 0;
+		} else if (Byte.TYPE.equals(type)) {
+			return data.get();
+		} else if (Character.TYPE.equals(type)) {
+			return data.getChar();
+		} else if (Short.TYPE.equals(type)) {
+			return data.getShort();
+		} else if (Integer.TYPE.equals(type)) {
+			return data.getInt();
+		} else if (Long.TYPE.equals(type)) {
+			return data.getLong();
+		} else if (Float.TYPE.equals(type)) {
+			return data.getFloat();
+		} else if (Double.TYPE.equals(type)) {
+			return data.getDouble();
+		} else if (String.class.equals(type)) {
+			return strings[data.getInt()];
+		} else if (Class.class.equals(type)) {
+			return ClassUtils.forName(strings[data.getInt()], true,
+					classLoader);
+		} else if (type.isEnum()) {
+			return Enum.valueOf((Class) type, strings[data.getInt()]);
+		} else {
+			throw new IllegalArgumentException(MessageFormat.format(
+					"Unsupported annotation field type [{0}].", type));
+		}
+	}
+}
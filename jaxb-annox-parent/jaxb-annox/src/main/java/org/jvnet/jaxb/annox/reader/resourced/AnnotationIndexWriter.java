@@ -0,0 +1,367 @@
+package org.jvnet.jaxb.annox.reader.resourced;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jvnet.jaxb.annox.model.XAnnotation;
+import org.jvnet.jaxb.annox.model.XClass;
+import org.jvnet.jaxb.annox.model.XConstructor;
+import org.jvnet.jaxb.annox.model.XField;
+import org.jvnet.jaxb.annox.model.XMethod;
+import org.jvnet.jaxb.annox.model.XPackage;
+import org.jvnet.jaxb.annox.model.XParameter;
+import org.jvnet.jaxb.annox.model.annotation.field.XAnnotationField;
+import org.jvnet.jaxb.annox.reflect.AnnotatedElementException;
+import org.jvnet.jaxb.annox.util.Validate;
+
+/**
+ * Compiles <code>*.ann.xml</code> resources into an {@link AnnotationIndex}.
+ * <p>
+ * Intended to run as a build step after the classes are compiled, for instance
+ * with the <code>exec-maven-plugin</code> in the <code>process-classes</code>
+ * phase:
+ * </p>
+ *
+ * <pre>
+ * &lt;mainClass&gt;org.jvnet.jaxb.annox.reader.resourced.AnnotationIndexWriter&lt;/mainClass&gt;
+ * &lt;arguments&gt;
+ *   &lt;argument&gt;${project.build.outputDirectory}&lt;/argument&gt;
+ * &lt;/arguments&gt;
+ * </pre>
+ * <p>
+ * The first argument is the directory containing the resources, the index is
+ * written to {@link AnnotationIndex#RESOURCE_NAME} in this directory unless a
+ * second argument gives the index file. The annotated classes must be on the
+ * class path.
+ * </p>
+ */
+public class AnnotationIndexWriter {
+
+	private static final String RESOURCE_SUFFIX = ".ann.xml";
+
+	private static final String PACKAGE_RESOURCE_NAME = "package-info"
+			+ RESOURCE_SUFFIX;
+
+	private final Map<String, XPackage> packages = new TreeMap<String, XPackage>();
+
+	private final Map<String, XClass> classes = new TreeMap<String, XClass>();
+
+	private final Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+
+	public void add(XPackage xpackage) {
+		Validate.notNull(xpackage);
+		packages.put(xpackage.getPackage().getName(), xpackage);
+	}
+
+	public void add(XClass xclass) {
+		Validate.notNull(xclass);
+		classes.put(xclass.getTargetClass().getName(), xclass);
+	}
+
+	/**
+	 * Adds all <code>*.ann.xml</code> resources found in the directory.
+	 *
+	 * @return number of added resources.
+	 */
+	public int addResources(File directory, ClassLoader classLoader)
+			throws IOException, ClassNotFoundException,
+			AnnotatedElementException {
+		final ResourcedXReader xreader = new ResourcedXReader(classLoader);
+		final Path root = directory.toPath();
+		final List<String> resourceNames;
+		try (Stream<Path> paths = Files.walk(root)) {
+			resourceNames = paths
+					.filter(path -> Files.isRegularFile(path)
+							&& path.getFileName().toString()
+									.endsWith(RESOURCE_SUFFIX))
+					.map(path -> root.relativize(path).toString()
+							.replace(File.separatorChar, '/'))
+					.sorted().collect(Collectors.toList());
+		}
+		for (String resourceName : resourceNames) {
+			final int slash = resourceName.lastIndexOf('/');
+			final String packageName = slash < 0 ? "" : resourceName
+					.substring(0, slash).replace('/', '.');
+			if (resourceName.endsWith(PACKAGE_RESOURCE_NAME)) {
+				final Package thePackage = getPackage(packageName,
+						new File(directory, resourceName), classLoader);
+				if (thePackage == null) {
+					throw new ClassNotFoundException(MessageFormat.format(
+							"Could not find any class of the package [{0}].",
+							packageName));
+				}
+				add(xreader.getXPackage(thePackage));
+			} else {
+				final String className = resourceName.substring(0,
+						resourceName.length() - RESOURCE_SUFFIX.length())
+						.replace('/', '.');
+				add(xreader.getXClass(Class.forName(className, false,
+						classLoader)));
+			}
+		}
+		return resourceNames.size();
+	}
+
+	private Package getPackage(String packageName, File resource,
+			ClassLoader classLoader) throws IOException {
+		final String prefix = packageName.isEmpty() ? "" : packageName + ".";
+		try {
+			return Class.forName(prefix + "package-info", false, classLoader)
+					.getPackage();
+		} catch (ClassNotFoundException ignored) {
+			// Use any class of the package
+		}
+		try (InputStream is = Files.newInputStream(resource.toPath())) {
+			final NPackage npackage = new NParser().parseNPackage(is);
+			if (npackage.content != null) {
+				for (Object item : npackage.content) {
+					if (item instanceof NClass) {
+						try {
+							return Class.forName(
+									prefix + ((NClass) item).name, false,
+									classLoader).getPackage();
+						} catch (ClassNotFoundException ignored) {
+							// Try the next class
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	public void write(File file) throws IOException {
+		final File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			Files.createDirectories(directory.toPath());
+		}
+		try (OutputStream os = Files.newOutputStream(file.toPath())) {
+			write(os);
+		}
+	}
+
+	public void write(OutputStream os) throws IOException {
+		strings.clear();
+		// Entry data first, so that the string table is complete
+		final ByteArrayOutputStream entriesData = new ByteArrayOutputStream();
+		final DataOutputStream entries = new DataOutputStream(entriesData);
+		final List<Byte> entryKinds = new ArrayList<Byte>();
+		final List<Integer> entryNames = new ArrayList<Integer>();
+		final List<Integer> entryOffsets = new ArrayList<Integer>();
+		for (Map.Entry<String, XPackage> entry : packages.entrySet()) {
+			entryKinds.add(AnnotationIndex.PACKAGE_ENTRY);
+			entryNames.add(string(entry.getKey()));
+			entryOffsets.add(entries.size());
+			writePackage(entries, entry.getValue());
+		}
+		for (Map.Entry<String, XClass> entry : classes.entrySet()) {
+			entryKinds.add(AnnotationIndex.CLASS_ENTRY);
+			entryNames.add(string(entry.getKey()));
+			entryOffsets.add(entries.size());
+			writeClass(entries, entry.getValue());
+		}
+		entries.flush();
+
+		final ByteArrayOutputStream headerData = new ByteArrayOutputStream();
+		final DataOutputStream header = new DataOutputStream(headerData);
+		header.writeInt(AnnotationIndex.MAGIC);
+		header.writeInt(AnnotationIndex.VERSION);
+		header.writeInt(strings.size());
+		for (String string : strings.keySet()) {
+			final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			header.writeInt(bytes.length);
+			header.write(bytes);
+		}
+		header.writeInt(entryKinds.size());
+		// Each directory entry has a kind byte and two ints
+		final int dataOffset = header.size() + entryKinds.size() * 9;
+		for (int index = 0; index < entryKinds.size(); index++) {
+			header.writeByte(entryKinds.get(index));
+			header.writeInt(entryNames.get(index));
+			header.writeInt(dataOffset + entryOffsets.get(index));
+		}
+		header.flush();
+		headerData.writeTo(os);
+		entriesData.writeTo(os);
+	}
+
+	private int string(String string) {
+		Integer index = strings.get(string);
+		if (index == null) {
+			index = strings.size();
+			strings.put(string, index);
+		}
+		return index;
+	}
+
+	private void writePackage(DataOutputStream out, XPackage xpackage)
+			throws IOException {
+		writeAnnotations(out, xpackage.getXAnnotations());
+		final XClass[] xclasses = xpackage.getClasses();
+		out.writeInt(xclasses.length);
+		for (XClass xclass : xclasses) {
+			out.writeInt(string(xclass.getTargetClass().getName()));
+			writeClass(out, xclass);
+		}
+	}
+
+	private void writeClass(DataOutputStream out, XClass xclass)
+			throws IOException {
+		writeAnnotations(out, xclass.getXAnnotations());
+		out.writeInt(xclass.getFields().length);
+		for (XField xfield : xclass.getFields()) {
+			out.writeInt(string(xfield.getField().getName()));
+			writeAnnotations(out, xfield.getXAnnotations());
+		}
+		out.writeInt(xclass.getConstructors().length);
+		for (XConstructor xconstructor : xclass.getConstructors()) {
+			writeTypes(out, xconstructor.getConstructor().getParameterTypes());
+			writeAnnotations(out, xconstructor.getXAnnotations());
+			writeParameters(out, xconstructor.getParameters());
+		}
+		out.writeInt(xclass.getMethods().length);
+		for (XMethod xmethod : xclass.getMethods()) {
+			out.writeInt(string(xmethod.getMethod().getName()));
+			writeTypes(out, xmethod.getMethod().getParameterTypes());
+			writeAnnotations(out, xmethod.getXAnnotations());
+			writeParameters(out, xmethod.getParameters());
+		}
+	}
+
+	private void writeTypes(DataOutputStream out, Class<?>[] types)
+			throws IOException {
+		out.writeInt(types.length);
+		for (Class<?> type : types) {
+			out.writeInt(string(type.getName()));
+		}
+	}
+
+	private void writeParameters(DataOutputStream out,
+			XParameter[] xparameters) throws IOException {
+		for (XParameter xparameter : xparameters) {
+			writeAnnotations(out, xparameter.getXAnnotations());
+		}
+	}
+
+	private void writeAnnotations(DataOutputStream out,
+			XAnnotation<?>[] xannotations) throws IOException {
+		out.writeInt(xannotations.length);
+		for (XAnnotation<?> xannotation : xannotations) {
+			out.writeInt(string(xannotation.getAnnotationClass().getName()));
+			final List<XAnnotationField<?>> fields = xannotation
+					.getFieldsList();
+			out.writeInt(fields.size());
+			for (XAnnotationField<?> field : fields) {
+				out.writeInt(string(field.getName()));
+				out.writeInt(string(field.getType().getName()));
+				writeValue(out, field.getType(), field.getResult());
+			}
+		}
+	}
+
+	private void writeAnnotation(DataOutputStream out, Annotation annotation)
+			throws IOException {
+		final Class<? extends Annotation> annotationClass = annotation
+				.annotationType();
+		out.writeInt(string(annotationClass.getName()));
+		final Method[] methods = annotationClass.getDeclaredMethods();
+		Arrays.sort(methods, Comparator.comparing(Method::getName));
+		out.writeInt(methods.length);
+		for (Method method : methods) {
+			out.writeInt(string(method.getName()));
+			out.writeInt(string(method.getReturnType().getName()));
+			final Object value;
+			try {
+				method.setAccessible(true);
+				value = method.invoke(annotation);
+			} catch (IllegalAccessException | InvocationTargetException ex) {
+				throw new IOException(MessageFormat.format(
+						"Could not read the field [{0}] of the annotation [{1}].",
+						method.getName(), annotation), ex);
+			}
+			writeValue(out, method.getReturnType(), value);
+		}
+	}
+
+	private void writeValue(DataOutputStream out, Class<?> type, Object value)
+			throws IOException {
+		if (type.isArray()) {
+			final int length = Array.getLength(value);
+			out.writeInt(length);
+			for (int index = 0; index < length; index++) {
+				writeValue(out, type.getComponentType(),
+						Array.get(value, index));
+			}
+		} else if (Boolean.TYPE.equals(type)) {
+			out.writeBoolean((Boolean) value);
+		} else if (Byte.TYPE.equals(type)) {
+			out.writeByte((Byte) value);
+		} else if (Character.TYPE.equals(type)) {
+			out.writeChar((Character) value);
+		} else if (Short.TYPE.equals(type)) {
+			out.writeShort((Short) value);
+		} else if (Integer.TYPE.equals(type)) {
+			out.writeInt((Integer) value);
+		} else if (Long.TYPE.equals(type)) {
+			out.writeLong((Long) value);
+		} else if (Float.TYPE.equals(type)) {
+			out.writeFloat((Float) value);
+		} else if (Double.TYPE.equals(type)) {
+			out.writeDouble((Double) value);
+		} else if (String.class.equals(type)) {
+			out.writeInt(string((String) value));
+		} else if (Class.class.equals(type)) {
+			out.writeInt(string(((Class<?>) value).getName()));
+		} else if (type.isEnum()) {
+			out.writeInt(string(((Enum<?>) value).name()));
+		} else if (type.isAnnotation()) {
+			writeAnnotation(out, (Annotation) value);
+		} else {
+			throw new IOException(MessageFormat.format(
+					"Unsupported annotation field type [{0}].", type));
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: "
+					+ AnnotationIndexWriter.class.getName()
+					+ " <resources directory> [<index file>]");
+			System.exit(1);
+		}
+		final File directory = new File(args[0]);
+		final File file = args.length > 1 ? new File(args[1]) : new File(
+				directory, AnnotationIndex.RESOURCE_NAME);
+		final ClassLoader contextClassLoader = Thread.currentThread()
+				.getContextClassLoader();
+		final AnnotationIndexWriter writer = new AnnotationIndexWriter();
+		final int count = writer.addResources(directory,
+				contextClassLoader != null ? contextClassLoader
+						: AnnotationIndexWriter.class.getClassLoader());
+		writer.write(file);
+		System.out.println(MessageFormat.format(
+				"Compiled [{0}] annotation resources into [{1}].", count,
+				file));
+	}
+}
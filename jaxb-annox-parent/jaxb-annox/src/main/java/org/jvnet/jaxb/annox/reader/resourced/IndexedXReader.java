@@ -0,0 +1,101 @@
+package org.jvnet.jaxb.annox.reader.resourced;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.jvnet.jaxb.annox.model.XClass;
+import org.jvnet.jaxb.annox.model.XPackage;
+import org.jvnet.jaxb.annox.reflect.AnnotatedElementException;
+import org.jvnet.jaxb.annox.util.Validate;
+
+/**
+ * Reads annotations from precompiled {@link AnnotationIndex} indexes, falls
+ * back to the <code>*.ann.xml</code> resources for packages and classes which
+ * are not indexed.
+ * <p>
+ * Packages and classes are decoded from the index on first access and cached
+ * like in {@link ResourcedXReader}.
+ * </p>
+ */
+public class IndexedXReader extends ResourcedXReader {
+
+	private final List<AnnotationIndex> indexes;
+
+	/**
+	 * Creates a reader using all the {@link AnnotationIndex#RESOURCE_NAME}
+	 * resources of the class loader.
+	 */
+	public IndexedXReader(ClassLoader classLoader) throws IOException {
+		this(classLoader, loadIndexes(classLoader));
+	}
+
+	public IndexedXReader(ClassLoader classLoader, List<AnnotationIndex> indexes) {
+		super(classLoader);
+		Validate.noNullElements(indexes);
+		this.indexes = Collections
+				.unmodifiableList(new ArrayList<AnnotationIndex>(indexes));
+	}
+
+	public List<AnnotationIndex> getIndexes() {
+		return indexes;
+	}
+
+	public static List<AnnotationIndex> loadIndexes(ClassLoader classLoader)
+			throws IOException {
+		Validate.notNull(classLoader);
+		final List<AnnotationIndex> indexes = new ArrayList<AnnotationIndex>();
+		final Enumeration<URL> resources = classLoader
+				.getResources(AnnotationIndex.RESOURCE_NAME);
+		while (resources.hasMoreElements()) {
+			try (InputStream is = resources.nextElement().openStream()) {
+				indexes.add(AnnotationIndex.read(is));
+			}
+		}
+		return indexes;
+	}
+
+	@Override
+	protected XPackage findXPackage(Package thePackage)
+			throws AnnotatedElementException {
+		if (thePackage != null) {
+			for (AnnotationIndex index : indexes) {
+				if (index.containsPackage(thePackage.getName())) {
+					try {
+						return index.getXPackage(thePackage, getClassLoader());
+					} catch (ClassNotFoundException ex) {
+						throw new AnnotatedElementException(thePackage, ex);
+					} catch (NoSuchFieldException ex) {
+						throw new AnnotatedElementException(thePackage, ex);
+					} catch (NoSuchMethodException ex) {
+						throw new AnnotatedElementException(thePackage, ex);
+					}
+				}
+			}
+		}
+		return super.findXPackage(thePackage);
+	}
+
+	@Override
+	protected XClass findXClass(Class<?> theClass)
+			throws AnnotatedElementException {
+		for (AnnotationIndex index : indexes) {
+			if (index.containsClass(theClass.getName())) {
+				try {
+					return index.getXClass(theClass, getClassLoader());
+				} catch (ClassNotFoundException ex) {
+					throw new AnnotatedElementException(theClass, ex);
+				} catch (NoSuchFieldException ex) {
+					throw new AnnotatedElementException(theClass, ex);
+				} catch (NoSuchMethodException ex) {
+					throw new AnnotatedElementException(theClass, ex);
+				}
+			}
+		}
+		return super.findXClass(theClass);
+	}
+}
@@ -0,0 +1,59 @@
+package org.jvnet.jaxb.annox.reader.resourced;
+
+import java.lang.reflect.Member;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jvnet.jaxb.annox.reflect.AnnotatedElementException;
+
+/**
+ * Thread-safe cache of fields, constructors or methods which computes the
+ * value of each member only once, like {@link WeakComputingCache}.
+ * <p>
+ * Reflection returns a new copy of the member on each lookup, so weak keys of
+ * member instances would be evicted as soon as the caller drops its copy.
+ * Entries are kept per declaring class instead and live as long as the class
+ * and the cache. Members compare by value, so copies find the same entry; the
+ * strong member keys only reference their own declaring class.
+ * </p>
+ *
+ * @param <M>
+ *            member type.
+ * @param <V>
+ *            value type.
+ */
+class MemberComputingCache<M extends Member, V> {
+
+	private final ClassValue<ConcurrentMap<M, WeakComputingCache.Entry<V>>> entries = new ClassValue<ConcurrentMap<M, WeakComputingCache.Entry<V>>>() {
+		@Override
+		protected ConcurrentMap<M, WeakComputingCache.Entry<V>> computeValue(
+				Class<?> theClass) {
+			return new ConcurrentHashMap<M, WeakComputingCache.Entry<V>>();
+		}
+	};
+
+	private final AtomicLong hits;
+
+	private final AtomicLong misses;
+
+	public MemberComputingCache(AtomicLong hits, AtomicLong misses) {
+		this.hits = hits;
+		this.misses = misses;
+	}
+
+	public V get(M member, WeakComputingCache.Loader<M, V> loader)
+			throws AnnotatedElementException {
+		final ConcurrentMap<M, WeakComputingCache.Entry<V>> members = entries
+				.get(member.getDeclaringClass());
+		WeakComputingCache.Entry<V> entry = members.get(member);
+		if (entry == null) {
+			final WeakComputingCache.Entry<V> newEntry = new WeakComputingCache.Entry<V>();
+			entry = members.putIfAbsent(member, newEntry);
+			if (entry == null) {
+				entry = newEntry;
+			}
+		}
+		return entry.get(member, loader, hits, misses);
+	}
+}
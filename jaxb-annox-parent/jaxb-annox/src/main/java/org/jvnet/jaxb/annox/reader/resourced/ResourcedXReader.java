@@ -5,8 +5,7 @@ import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.xml.bind.JAXBContext;
 
@@ -21,6 +20,11 @@ import org.jvnet.jaxb.annox.reader.XReader;
 import org.jvnet.jaxb.annox.reflect.AnnotatedElementException;
 import org.jvnet.jaxb.annox.util.Validate;
 
+/**
+ * Reads annotations from <code>*.ann.xml</code> resources. Parsed packages,
+ * classes and their members are cached; each resource is parsed only once,
+ * also if several threads read the same class at the same time.
+ */
 public class ResourcedXReader implements XReader {
 
 	private final NParser nparser;
@@ -29,20 +33,27 @@ public class ResourcedXReader implements XReader {
 
 	private final ClassLoader classLoader;
 
-	private Map<Package, XPackage> packages = new WeakHashMap<Package, XPackage>();
+	private final AtomicLong cacheHits = new AtomicLong();
 
-	private Map<Class<?>, XClass> classes = new WeakHashMap<Class<?>, XClass>();
+	private final AtomicLong cacheMisses = new AtomicLong();
 
-	private Map<Class<?>, XClass> packageClasses = new WeakHashMap<Class<?>, XClass>();
+	private final WeakComputingCache<Package, XPackage> packages = new WeakComputingCache<Package, XPackage>(
+			cacheHits, cacheMisses);
 
-	@SuppressWarnings("unused")
-	private Map<Field, XField> fields = new WeakHashMap<Field, XField>();
+	private final WeakComputingCache<Class<?>, XClass> classes = new WeakComputingCache<Class<?>, XClass>(
+			cacheHits, cacheMisses);
 
-	@SuppressWarnings("unused")
-	private Map<Constructor<?>, XConstructor> constructors = new WeakHashMap<Constructor<?>, XConstructor>();
+	private final WeakComputingCache<Class<?>, XClass> packageClasses = new WeakComputingCache<Class<?>, XClass>(
+			cacheHits, cacheMisses);
 
-	@SuppressWarnings("unused")
-	private Map<Method, XMethod> methods = new WeakHashMap<Method, XMethod>();
+	private final MemberComputingCache<Field, XField> fields = new MemberComputingCache<Field, XField>(
+			cacheHits, cacheMisses);
+
+	private final MemberComputingCache<Constructor<?>, XConstructor> constructors = new MemberComputingCache<Constructor<?>, XConstructor>(
+			cacheHits, cacheMisses);
+
+	private final MemberComputingCache<Method, XMethod> methods = new MemberComputingCache<Method, XMethod>(
+			cacheHits, cacheMisses);
 
 	public ResourcedXReader() {
 		this.nparser = new NParser();
@@ -97,104 +108,115 @@ public class ResourcedXReader implements XReader {
 		return nxconverter;
 	}
 
+	/**
+	 * @return number of lookups answered from the caches of this reader.
+	 */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * @return number of lookups which had to load or search annotations.
+	 */
+	public long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
 	public XPackage getXPackage(Package thePackage)
 			throws AnnotatedElementException {
-		// Check cache
-		final XPackage one = packages.get(thePackage);
-		// If something is found in the cache
-		if (one != null) {
-			// VOID signals that package could not be found
-			if (one == XPackage.VOID) {
-				return null;
-			} else {
-				return one;
-			}
+		return packages.get(thePackage,
+				new WeakComputingCache.Loader<Package, XPackage>() {
+					public XPackage load(Package thePackage)
+							throws AnnotatedElementException {
+						return findXPackage(thePackage);
+					}
+				});
+	}
+
+	protected XPackage findXPackage(Package thePackage)
+			throws AnnotatedElementException {
+		final String resourceName = getResourceName(thePackage);
+		final InputStream is = getClassLoader().getResourceAsStream(
+				resourceName);
+		if (is == null) {
+			return null;
 		} else {
-			final String resourceName = getResourceName(thePackage);
-			final InputStream is = getClassLoader().getResourceAsStream(
-					resourceName);
-			if (is == null) {
-				// If package could not be found, put a VOID marker
-				packages.put(thePackage, XPackage.VOID);
-				return null;
-			} else {
-				try {
-					return loadXPackage(thePackage, is);
-				} catch (IOException ex) {
-					throw new AnnotatedElementException(thePackage, ex);
-				} catch (ClassNotFoundException ex) {
-					throw new AnnotatedElementException(thePackage, ex);
-				} catch (NoSuchFieldException ex) {
-					throw new AnnotatedElementException(thePackage, ex);
-				} catch (NoSuchMethodException ex) {
-					throw new AnnotatedElementException(thePackage, ex);
-				} catch (AnnotationElementParseException ex) {
-					throw new AnnotatedElementException(thePackage, ex);
-				}
+			try {
+				return loadXPackage(thePackage, is);
+			} catch (IOException ex) {
+				throw new AnnotatedElementException(thePackage, ex);
+			} catch (ClassNotFoundException ex) {
+				throw new AnnotatedElementException(thePackage, ex);
+			} catch (NoSuchFieldException ex) {
+				throw new AnnotatedElementException(thePackage, ex);
+			} catch (NoSuchMethodException ex) {
+				throw new AnnotatedElementException(thePackage, ex);
+			} catch (AnnotationElementParseException ex) {
+				throw new AnnotatedElementException(thePackage, ex);
 			}
 		}
 	}
 
 	public XClass getXClass(Class<?> theClass) throws AnnotatedElementException {
 		Validate.notNull(theClass);
-		// Check direct class cache
-		final XClass one = classes.get(theClass);
-		if (one != null && one != XClass.VOID) {
+		// Check direct class resource
+		final XClass one = classes.get(theClass,
+				new WeakComputingCache.Loader<Class<?>, XClass>() {
+					public XClass load(Class<?> theClass)
+							throws AnnotatedElementException {
+						return findXClass(theClass);
+					}
+				});
+		if (one != null) {
 			return one;
 		} else {
-			// One is null or VOID
-			// Check package class cache
-			final XClass two = packageClasses.get(theClass);
-			if (two != null) {
-				// VOID signals that class was not found
-				if (two == XClass.VOID) {
-					return null;
-				} else {
-					return two;
-				}
-			} else {
-				final String resourceName = getResourceName(theClass);
-
-				final InputStream is = getClassLoader().getResourceAsStream(
-						resourceName);
-				if (is == null) {
-					// Put a VOID as a sign that class resource is not found
-					classes.put(theClass, XClass.VOID);
-					// Check package
-					final Package thePackage = theClass.getPackage();
-					final XPackage xpackage = getXPackage(thePackage);
-					// If the class could not be found in the package, put VOID
-					// marker
-					if (xpackage == null) {
-						packageClasses.put(theClass, XClass.VOID);
-						return null;
-					} else {
-						for (XClass xclass : xpackage.getClasses()) {
-							if (xclass.getTargetClass().equals(theClass)) {
-								return xclass;
-							}
+			// Check package resource
+			return packageClasses.get(theClass,
+					new WeakComputingCache.Loader<Class<?>, XClass>() {
+						public XClass load(Class<?> theClass)
+								throws AnnotatedElementException {
+							return findPackageXClass(theClass);
 						}
-						// The class could not have been found in the package
-						packageClasses.put(theClass, XClass.VOID);
-						return null;
-					}
-				} else {
-					try {
-						return loadXClass(theClass, is);
-					} catch (IOException ex) {
-						throw new AnnotatedElementException(theClass, ex);
-					} catch (ClassNotFoundException ex) {
-						throw new AnnotatedElementException(theClass, ex);
-					} catch (NoSuchFieldException ex) {
-						throw new AnnotatedElementException(theClass, ex);
-					} catch (NoSuchMethodException ex) {
-						throw new AnnotatedElementException(theClass, ex);
-					} catch (AnnotationElementParseException ex) {
-						throw new AnnotatedElementException(theClass, ex);
-					}
+					});
+		}
+	}
+
+	protected XClass findXClass(Class<?> theClass)
+			throws AnnotatedElementException {
+		final String resourceName = getResourceName(theClass);
+		final InputStream is = getClassLoader().getResourceAsStream(
+				resourceName);
+		if (is == null) {
+			return null;
+		} else {
+			try {
+				return loadXClass(theClass, is);
+			} catch (IOException ex) {
+				throw new AnnotatedElementException(theClass, ex);
+			} catch (ClassNotFoundException ex) {
+				throw new AnnotatedElementException(theClass, ex);
+			} catch (NoSuchFieldException ex) {
+				throw new AnnotatedElementException(theClass, ex);
+			} catch (NoSuchMethodException ex) {
+				throw new AnnotatedElementException(theClass, ex);
+			} catch (AnnotationElementParseException ex) {
+				throw new AnnotatedElementException(theClass, ex);
+			}
+		}
+	}
+
+	private XClass findPackageXClass(Class<?> theClass)
+			throws AnnotatedElementException {
+		final XPackage xpackage = getXPackage(theClass.getPackage());
+		if (xpackage != null) {
+			for (XClass xclass : xpackage.getClasses()) {
+				if (xclass.getTargetClass().equals(theClass)) {
+					return xclass;
 				}
 			}
 		}
+		// The class could not have been found in the package
+		return null;
 	}
 
 	public XField getXField(Field theField) throws AnnotatedElementException {
@@ -202,10 +224,25 @@ public class ResourcedXReader implements XReader {
 		return getXField(theField.getDeclaringClass(), theField);
 	}
 
-	public XField getXField(Class<?> theClass, Field theField)
+	public XField getXField(final Class<?> theClass, Field theField)
 			throws AnnotatedElementException {
 		Validate.notNull(theClass);
 		Validate.notNull(theField);
+		if (theClass.equals(theField.getDeclaringClass())) {
+			return fields.get(theField,
+					new WeakComputingCache.Loader<Field, XField>() {
+						public XField load(Field theField)
+								throws AnnotatedElementException {
+							return findXField(theClass, theField);
+						}
+					});
+		} else {
+			return findXField(theClass, theField);
+		}
+	}
+
+	private XField findXField(Class<?> theClass, Field theField)
+			throws AnnotatedElementException {
 		final XClass xclass = getXClass(theClass);
 		if (xclass == null) {
 			return null;
@@ -226,10 +263,25 @@ public class ResourcedXReader implements XReader {
 				theConstructor);
 	}
 
-	public XConstructor getXConstructor(Class<?> theClass,
+	public XConstructor getXConstructor(final Class<?> theClass,
 			Constructor<?> theConstructor) throws AnnotatedElementException {
 		Validate.notNull(theClass);
 		Validate.notNull(theConstructor);
+		if (theClass.equals(theConstructor.getDeclaringClass())) {
+			return constructors.get(theConstructor,
+					new WeakComputingCache.Loader<Constructor<?>, XConstructor>() {
+						public XConstructor load(Constructor<?> theConstructor)
+								throws AnnotatedElementException {
+							return findXConstructor(theClass, theConstructor);
+						}
+					});
+		} else {
+			return findXConstructor(theClass, theConstructor);
+		}
+	}
+
+	private XConstructor findXConstructor(Class<?> theClass,
+			Constructor<?> theConstructor) throws AnnotatedElementException {
 		final XClass xclass = getXClass(theClass);
 		if (xclass == null) {
 			return null;
@@ -250,10 +302,25 @@ public class ResourcedXReader implements XReader {
 
 	}
 
-	public XMethod getXMethod(Class<?> theClass, Method theMethod)
+	public XMethod getXMethod(final Class<?> theClass, Method theMethod)
 			throws AnnotatedElementException {
 		Validate.notNull(theClass);
 		Validate.notNull(theMethod);
+		if (theClass.equals(theMethod.getDeclaringClass())) {
+			return methods.get(theMethod,
+					new WeakComputingCache.Loader<Method, XMethod>() {
+						public XMethod load(Method theMethod)
+								throws AnnotatedElementException {
+							return findXMethod(theClass, theMethod);
+						}
+					});
+		} else {
+			return findXMethod(theClass, theMethod);
+		}
+	}
+
+	private XMethod findXMethod(Class<?> theClass, Method theMethod)
+			throws AnnotatedElementException {
 		final XClass xclass = getXClass(theClass);
 		if (xclass == null) {
 			return null;
@@ -271,12 +338,7 @@ public class ResourcedXReader implements XReader {
 			throws IOException, ClassNotFoundException, NoSuchFieldException,
 			NoSuchMethodException, AnnotationElementParseException {
 		try {
-			final XPackage xpackage = parseXPackage(thePackage, is);
-			packages.put(thePackage, xpackage);
-			for (XClass xclass : xpackage.getClasses()) {
-				packageClasses.put(xclass.getTargetClass(), xclass);
-			}
-			return xpackage;
+			return parseXPackage(thePackage, is);
 		} finally {
 			try {
 				is.close();
@@ -289,9 +351,7 @@ public class ResourcedXReader implements XReader {
 			throws IOException, ClassNotFoundException, NoSuchFieldException,
 			NoSuchMethodException, AnnotationElementParseException {
 		try {
-			final XClass xclass = parseXClass(theClass, is);
-			classes.put(theClass, xclass);
-			return xclass;
+			return parseXClass(theClass, is);
 		} finally {
 			try {
 				is.close();
@@ -0,0 +1,68 @@
+package org.jvnet.jaxb.annox.reader.resourced;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jvnet.jaxb.annox.reflect.AnnotatedElementException;
+
+/**
+ * Thread-safe cache with weak keys which computes the value of each key only
+ * once, also under contention. Values of different keys are computed
+ * concurrently. <code>null</code> values are cached as well. If the
+ * computation fails, the next call computes the value again.
+ *
+ * @param <K>
+ *            key type.
+ * @param <V>
+ *            value type.
+ */
+class WeakComputingCache<K, V> {
+
+	public interface Loader<K, V> {
+		public V load(K key) throws AnnotatedElementException;
+	}
+
+	private final Map<K, Entry<V>> entries = new WeakHashMap<K, Entry<V>>();
+
+	private final AtomicLong hits;
+
+	private final AtomicLong misses;
+
+	public WeakComputingCache(AtomicLong hits, AtomicLong misses) {
+		this.hits = hits;
+		this.misses = misses;
+	}
+
+	public V get(K key, Loader<K, V> loader) throws AnnotatedElementException {
+		Entry<V> entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry == null) {
+				entry = new Entry<V>();
+				entries.put(key, entry);
+			}
+		}
+		return entry.get(key, loader, hits, misses);
+	}
+
+	static class Entry<V> {
+		private boolean loaded;
+		private V value;
+
+		public <K> V get(K key, Loader<K, V> loader, AtomicLong hits,
+				AtomicLong misses) throws AnnotatedElementException {
+			// Lock the entry only, so that other keys are not blocked
+			synchronized (this) {
+				if (loaded) {
+					hits.incrementAndGet();
+				} else {
+					misses.incrementAndGet();
+					value = loader.load(key);
+					loaded = true;
+				}
+				return value;
+			}
+		}
+	}
+}
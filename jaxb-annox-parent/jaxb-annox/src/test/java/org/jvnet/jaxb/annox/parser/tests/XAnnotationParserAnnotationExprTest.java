@@ -3,6 +3,8 @@ package org.jvnet.jaxb.annox.parser.tests;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -128,4 +130,28 @@ public class XAnnotationParserAnnotationExprTest {
 	public void testTwelve() throws Exception {
 		check("twelve.txt", "twelve.xml", Twelve.class, B.class);
 	}
+
+    @Test
+	public void testParseAll() throws Exception {
+		final String one = getAnnotationString("one.txt");
+		final String two = getAnnotationString("two.txt");
+		final String invalid = "@org.jvnet.jaxb.annox.parser.tests.A(";
+		final XAnnotationParser parser = new XAnnotationParser();
+		final Map<String, XAnnotation<?>> annotations = parser.parseAll(Arrays
+				.asList(one, two, invalid, one));
+		Assertions.assertEquals(2, annotations.size());
+		Assertions.assertEquals(new XAnnotationParser().parse(one),
+				annotations.get(one));
+		Assertions.assertEquals(new XAnnotationParser().parse(two),
+				annotations.get(two));
+		Assertions.assertSame(annotations.get(one), parser.parse(one));
+		Assertions.assertSame(annotations.get(two), parser.parse(" " + two));
+	}
+
+    @Test
+	public void testParseElementCached() throws Exception {
+		final Element element = getElement("one.xml");
+		final XAnnotationParser parser = new XAnnotationParser();
+		Assertions.assertSame(parser.parse(element), parser.parse(element));
+	}
 }
@@ -0,0 +1,66 @@
+package org.jvnet.jaxb.annox.reader.resourced.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.jaxb.annox.demos.guide.Comment;
+import org.jvnet.jaxb.annox.demos.guide.DemoClass;
+import org.jvnet.jaxb.annox.model.XClass;
+import org.jvnet.jaxb.annox.model.XPackage;
+import org.jvnet.jaxb.annox.reader.resourced.AnnotationIndex;
+import org.jvnet.jaxb.annox.reader.resourced.AnnotationIndexWriter;
+import org.jvnet.jaxb.annox.reader.resourced.IndexedXReader;
+
+public class IndexedXReaderTests extends ResourcedXReaderTests {
+
+	@Override
+	@BeforeEach
+	public void setUp() {
+		try {
+			final ClassLoader classLoader = getClass().getClassLoader();
+			final AnnotationIndexWriter writer = new AnnotationIndexWriter();
+			Assertions.assertEquals(4, writer.addResources(
+					new File(getClass().getResource("/").toURI()),
+					classLoader));
+			final ByteArrayOutputStream os = new ByteArrayOutputStream();
+			writer.write(os);
+			final AnnotationIndex index = new AnnotationIndex(
+					ByteBuffer.wrap(os.toByteArray()));
+			this.xreader = new IndexedXReader(classLoader,
+					Collections.singletonList(index)) {
+				@Override
+				protected XClass parseXClass(Class<?> theClass, InputStream is) {
+					throw new AssertionError("Class [" + theClass
+							+ "] must be read from the index.");
+				}
+
+				@Override
+				protected XPackage parseXPackage(Package thePackage,
+						InputStream is) {
+					throw new AssertionError("Package [" + thePackage
+							+ "] must be read from the index.");
+				}
+			};
+		} catch (Exception ex) {
+			throw new AssertionError(ex);
+		}
+	}
+
+	@Test
+	public void testPackage() throws Exception {
+		final XPackage xpackage = xreader.getXPackage(DemoClass.class
+				.getPackage());
+		Assertions.assertEquals(
+				"Annotation for the org.jvnet.jaxb.annox.demos.guide package.",
+				xpackage.getAnnotation(Comment.class).value());
+		Assertions.assertEquals(1, xpackage.getClasses().length);
+		Assertions.assertEquals(DemoClass.class, xpackage.getClasses()[0]
+				.getTargetClass());
+	}
+}
@@ -1,6 +1,15 @@
 package org.jvnet.jaxb.annox.reader.resourced.tests;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.jvnet.jaxb.annox.model.XClass;
 import org.jvnet.jaxb.annox.model.XField;
 import org.jvnet.jaxb.annox.model.XMethod;
+import org.jvnet.jaxb.annox.parser.exception.AnnotationElementParseException;
 import org.jvnet.jaxb.annox.reader.XReader;
 import org.jvnet.jaxb.annox.reader.resourced.ResourcedXReader;
 
@@ -111,4 +121,59 @@ public class ResourcedXReaderTests {
 		}
 	}
 
+	@Test
+	public void testConcurrentRead() throws Exception {
+		final AtomicInteger parsed = new AtomicInteger();
+		final ResourcedXReader reader = new ResourcedXReader() {
+			@Override
+			protected XClass parseXClass(Class<?> theClass, InputStream is)
+					throws IOException, ClassNotFoundException,
+					NoSuchFieldException, NoSuchMethodException,
+					AnnotationElementParseException {
+				parsed.incrementAndGet();
+				return super.parseXClass(theClass, is);
+			}
+		};
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<XField>> futures = new ArrayList<Future<XField>>();
+			for (int index = 0; index < 64; index++) {
+				futures.add(executor.submit(new Callable<XField>() {
+					public XField call() throws Exception {
+						return reader.getXField(One.class.getField("fieldA"));
+					}
+				}));
+			}
+			final XField xfieldA = futures.get(0).get();
+			Assertions.assertNotNull(xfieldA);
+			for (Future<XField> future : futures) {
+				Assertions.assertSame(xfieldA, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Assertions.assertEquals(1, parsed.get());
+		// One miss for the field and one for the class
+		Assertions.assertEquals(2, reader.getCacheMisses());
+		Assertions.assertEquals(63, reader.getCacheHits());
+	}
+
+	@Test
+	public void testMembersCachedAcrossReflectedCopies() throws Exception {
+		final ResourcedXReader reader = new ResourcedXReader();
+		final XField xfieldA = reader.getXField(One.class.getField("fieldA"));
+		final XMethod xsetFieldB = reader.getXMethod(One.class.getMethod(
+				"setFieldB", String.class));
+		final long misses = reader.getCacheMisses();
+		// Reflected copies of the first lookup may be collected meanwhile
+		System.gc();
+		Assertions.assertSame(xfieldA,
+				reader.getXField(One.class.getField("fieldA")));
+		Assertions.assertSame(xsetFieldB, reader.getXMethod(One.class
+				.getMethod("setFieldB", String.class)));
+		Assertions.assertNotSame(xsetFieldB,
+				reader.getXMethod(One.class.getMethod("setFieldB")));
+		// Only the other overload is a miss
+		Assertions.assertEquals(misses + 1, reader.getCacheMisses());
+	}
 }
@@ -0,0 +1,65 @@
+package org.jvnet.jaxb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jvnet.jaxb.benchmarks.model.Section;
+import org.jvnet.jaxb.lang.JAXBCopyStrategy;
+import org.jvnet.jaxb.lang.JAXBIdentityCopyStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the recursive {@link JAXBCopyStrategy} with the
+ * {@link JAXBIdentityCopyStrategy} on beans generated with
+ * <code>-Xcopyable</code>. Both documents have <code>sections</code> nodes:
+ * the <code>wide</code> document has a single level, the <code>deep</code>
+ * document nests chains of {@link #DEPTH} levels. The recursive strategy
+ * already overflows the default stack with a thousand levels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CopyBenchmark {
+
+	public static final int DEPTH = 100;
+
+	@Param({ "wide", "deep" })
+	public String shape;
+
+	@Param({ "1000" })
+	public int sections;
+
+	private Section section;
+
+	@Setup
+	public void setup() {
+		section = new Section();
+		section.setTitle("root");
+		Section parent = section;
+		for (int index = 0; index < sections; index++) {
+			final Section child = new Section();
+			child.setTitle("section-" + index);
+			child.setLevel(index);
+			parent.getSection().add(child);
+			if ("deep".equals(shape)) {
+				parent = (index + 1) % DEPTH == 0 ? section : child;
+			}
+		}
+	}
+
+	@Benchmark
+	public Object recursiveCopy() {
+		return JAXBCopyStrategy.getInstance().copy(null, section);
+	}
+
+	@Benchmark
+	public Object identityCopy() {
+		return JAXBIdentityCopyStrategy.getInstance().copy(null, section);
+	}
+}
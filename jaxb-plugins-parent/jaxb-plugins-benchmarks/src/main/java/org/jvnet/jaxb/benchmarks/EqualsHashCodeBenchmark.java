@@ -0,0 +1,93 @@
+package org.jvnet.jaxb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jvnet.jaxb.benchmarks.model.Address;
+import org.jvnet.jaxb.benchmarks.model.Item;
+import org.jvnet.jaxb.benchmarks.model.Order;
+import org.jvnet.jaxb.lang.JAXBEqualsStrategy;
+import org.jvnet.jaxb.lang.JAXBHashCodeStrategy;
+import org.jvnet.jaxb.locator.DefaultRootObjectLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures <code>equals</code> and <code>hashCode</code> of beans generated
+ * with <code>-Xequals -XhashCode</code>, as used for cache keys. The
+ * <code>Object</code> methods pass <code>null</code> locators, the
+ * <code>located</code> benchmarks pass root locators for comparison.
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocation rate.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EqualsHashCodeBenchmark {
+
+	@Param({ "10" })
+	public int items;
+
+	private Order left;
+
+	private Order right;
+
+	@Setup
+	public void setup() {
+		left = createOrder(items);
+		right = createOrder(items);
+	}
+
+	@Benchmark
+	public boolean objectEquals() {
+		return left.equals(right);
+	}
+
+	@Benchmark
+	public int objectHashCode() {
+		return left.hashCode();
+	}
+
+	@Benchmark
+	public boolean locatedEquals() {
+		return left.equals(new DefaultRootObjectLocator(left),
+				new DefaultRootObjectLocator(right), right,
+				JAXBEqualsStrategy.getInstance());
+	}
+
+	@Benchmark
+	public int locatedHashCode() {
+		return left.hashCode(new DefaultRootObjectLocator(left),
+				JAXBHashCodeStrategy.getInstance());
+	}
+
+	private static Order createOrder(int items) {
+		final Order order = new Order();
+		order.setId(4711L);
+		order.setCustomer("Customer");
+		order.setPriority(3);
+		order.setExpress(true);
+		order.setDiscount(0.15);
+		final Address address = new Address();
+		address.setStreet("Street 1");
+		address.setCity("City");
+		address.setZip("12345");
+		order.setAddress(address);
+		for (int index = 0; index < items; index++) {
+			final Item item = new Item();
+			item.setSku("SKU-" + index);
+			item.setQuantity(index);
+			item.setPrice(index * 1.5);
+			item.setGift(index % 2 == 0);
+			order.getItem().add(item);
+			order.getTag().add("tag-" + index);
+		}
+		return order;
+	}
+}
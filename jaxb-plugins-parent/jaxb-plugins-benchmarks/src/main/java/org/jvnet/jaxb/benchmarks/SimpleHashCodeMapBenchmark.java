@@ -0,0 +1,107 @@
+package org.jvnet.jaxb.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jvnet.jaxb.benchmarks.simple.Channel;
+import org.jvnet.jaxb.benchmarks.simple.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures <code>HashMap</code> lookups with beans generated with
+ * <code>-XsimpleEquals -XsimpleHashCode</code> as keys, with and without
+ * <code>-XsimpleHashCode-cache=true</code>. Lookups use key instances equal
+ * to, but distinct from the keys in the map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimpleHashCodeMapBenchmark {
+
+	@Param({ "1000" })
+	public int keys;
+
+	private Map<Key, Integer> map;
+
+	private Key[] lookups;
+
+	private Map<org.jvnet.jaxb.benchmarks.simple.cache.Key, Integer> cachedMap;
+
+	private org.jvnet.jaxb.benchmarks.simple.cache.Key[] cachedLookups;
+
+	private int index;
+
+	@Setup
+	public void setup() {
+		map = new HashMap<Key, Integer>();
+		lookups = new Key[keys];
+		cachedMap = new HashMap<org.jvnet.jaxb.benchmarks.simple.cache.Key, Integer>();
+		cachedLookups = new org.jvnet.jaxb.benchmarks.simple.cache.Key[keys];
+		for (int index = 0; index < keys; index++) {
+			map.put(createKey(index), index);
+			lookups[index] = createKey(index);
+			cachedMap.put(createCachedKey(index), index);
+			cachedLookups[index] = createCachedKey(index);
+		}
+	}
+
+	@Benchmark
+	public Integer get() {
+		return map.get(lookups[next()]);
+	}
+
+	@Benchmark
+	public Integer cachedGet() {
+		return cachedMap.get(cachedLookups[next()]);
+	}
+
+	private int next() {
+		final int next = index + 1 == keys ? 0 : index + 1;
+		index = next;
+		return next;
+	}
+
+	private static Key createKey(int index) {
+		final Key key = new Key();
+		key.setTenant("tenant");
+		key.setRegion("region-" + (index % 4));
+		key.setCatalog("catalog");
+		key.setCategory("category-" + (index % 16));
+		key.setSku("sku-" + index);
+		key.setVariant("variant");
+		key.setCurrency("EUR");
+		key.setChannel(Channel.values()[index % 3]);
+		key.setYear(2000 + index % 20);
+		key.setVersion(index);
+		key.setQuantity(BigInteger.valueOf(index));
+		key.setPrice(BigDecimal.valueOf(index, 2));
+		return key;
+	}
+
+	private static org.jvnet.jaxb.benchmarks.simple.cache.Key createCachedKey(int index) {
+		final org.jvnet.jaxb.benchmarks.simple.cache.Key key = new org.jvnet.jaxb.benchmarks.simple.cache.Key();
+		key.setTenant("tenant");
+		key.setRegion("region-" + (index % 4));
+		key.setCatalog("catalog");
+		key.setCategory("category-" + (index % 16));
+		key.setSku("sku-" + index);
+		key.setVariant("variant");
+		key.setCurrency("EUR");
+		key.setChannel(org.jvnet.jaxb.benchmarks.simple.cache.Channel.values()[index % 3]);
+		key.setYear(2000 + index % 20);
+		key.setVersion(index);
+		key.setQuantity(BigInteger.valueOf(index));
+		key.setPrice(BigDecimal.valueOf(index, 2));
+		return key;
+	}
+}
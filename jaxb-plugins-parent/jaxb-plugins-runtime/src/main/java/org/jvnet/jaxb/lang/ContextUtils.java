@@ -1,13 +1,37 @@
 package org.jvnet.jaxb.lang;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 
+import org.jvnet.jaxb.xml.bind.StreamingMarshaller;
+import org.jvnet.jaxb.xml.bind.StreamingUnmarshaller;
+
 public class ContextUtils {
 
+	private static final XMLInputFactory xmlInputFactory;
+	static {
+		xmlInputFactory = XMLInputFactory.newInstance();
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		xmlInputFactory.setProperty(
+				XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
+
+	private static final XMLOutputFactory xmlOutputFactory = XMLOutputFactory
+			.newInstance();
+
 	public static String getContextPath(Class<?>... classes) {
         if (classes == null) {
             throw new IllegalArgumentException("The validated object is null");
@@ -37,4 +61,55 @@ public class ContextUtils {
 		marshaller.marshal(object, sw);
 		return sw.toString();
 	}
+
+	/**
+	 * Unmarshals the elements with the given name one at a time and passes
+	 * them to the consumer, without reading the whole document into memory.
+	 *
+	 * @return number of unmarshalled elements.
+	 * @see StreamingUnmarshaller
+	 */
+	public static <T> long unmarshal(JAXBContext context, InputStream is,
+			QName elementName, Class<T> declaredType,
+			Consumer<? super T> consumer) throws JAXBException {
+		try {
+			final XMLStreamReader reader = createXMLStreamReader(is);
+			try {
+				return new StreamingUnmarshaller(context).unmarshal(reader,
+						elementName, declaredType, consumer);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException xsex) {
+			throw new JAXBException(xsex);
+		}
+	}
+
+	/**
+	 * Creates a streaming marshaller writing to the output stream in UTF-8.
+	 *
+	 * @see StreamingMarshaller
+	 */
+	public static StreamingMarshaller createStreamingMarshaller(
+			JAXBContext context, OutputStream os) throws JAXBException {
+		final XMLStreamWriter writer;
+		try {
+			synchronized (xmlOutputFactory) {
+				writer = xmlOutputFactory.createXMLStreamWriter(os, "UTF-8");
+			}
+		} catch (XMLStreamException xsex) {
+			throw new JAXBException(xsex);
+		}
+		return new StreamingMarshaller(context, writer);
+	}
+
+	/**
+	 * Creates a stream reader with DTDs and external entities disabled.
+	 */
+	public static XMLStreamReader createXMLStreamReader(InputStream is)
+			throws XMLStreamException {
+		synchronized (xmlInputFactory) {
+			return xmlInputFactory.createXMLStreamReader(is);
+		}
+	}
 }
@@ -5,6 +5,7 @@ import static org.jvnet.jaxb.locator.util.LocatorUtils.property;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.jvnet.jaxb.locator.ObjectLocator;
 
@@ -29,6 +30,23 @@ public class JAXBEqualsStrategy extends DefaultEqualsStrategy {
 
 	protected boolean equalsInternal(ObjectLocator leftLocator,
 			ObjectLocator rightLocator, final List<?> left, final List<?> right) {
+		if (left instanceof RandomAccess && right instanceof RandomAccess) {
+			final int size = left.size();
+			if (size != right.size()) {
+				return false;
+			}
+			// Avoids allocating iterators for the usual ArrayList
+			for (int index = 0; index < size; index++) {
+				final Object o1 = left.get(index);
+				final Object o2 = right.get(index);
+				if (!(o1 == null ? o2 == null : equals(
+						item(leftLocator, index, o1),
+						item(rightLocator, index, o2), o1, o2))) {
+					return false;
+				}
+			}
+			return true;
+		}
 		final Iterator<?> e1 = left.iterator();
 		final Iterator<?> e2 = right.iterator();
 		int index = 0;
@@ -55,7 +73,7 @@ public class JAXBEqualsStrategy extends DefaultEqualsStrategy {
 				left.getName(), right.getName()) &&
 		//
 				equals(property(leftLocator, "value", left.getValue()),
-						property(rightLocator, "name", right.getValue()),
+						property(rightLocator, "value", right.getValue()),
 						left.getValue(), right.getValue());
 	}
 
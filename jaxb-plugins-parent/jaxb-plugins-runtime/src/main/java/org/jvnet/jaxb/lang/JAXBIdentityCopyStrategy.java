@@ -0,0 +1,117 @@
+package org.jvnet.jaxb.lang;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import jakarta.xml.bind.JAXBElement;
+
+import org.jvnet.jaxb.locator.ObjectLocator;
+
+/**
+ * Copy strategy which copies every {@link CopyTo} object of the copied graph
+ * only once and re-links shared and cyclic references (for instance IDREF
+ * properties) to the same copy.
+ * <p>
+ * Nested {@link CopyTo} objects are not copied recursively. A new instance is
+ * returned immediately and filled later from an explicit work stack, so deeply
+ * nested documents do not overflow the call stack.
+ * </p>
+ * <p>
+ * Identity is preserved within one top-level {@link #copy(ObjectLocator, Object)}
+ * call. To preserve references to the root object as well, copy the root with
+ * <code>strategy.copy(locator, root)</code> rather than with
+ * <code>root.copyTo(target)</code>.
+ * </p>
+ */
+public class JAXBIdentityCopyStrategy extends JAXBCopyStrategy {
+
+	private final ThreadLocal<Copying> copyings = new ThreadLocal<Copying>();
+
+	@Override
+	public Object copy(ObjectLocator locator, Object value) {
+		if (value == null || copyings.get() != null) {
+			return super.copy(locator, value);
+		}
+		final Copying copying = new Copying();
+		copyings.set(copying);
+		try {
+			final Object copy = super.copy(locator, value);
+			copying.fill(this);
+			return copy;
+		} finally {
+			copyings.remove();
+		}
+	}
+
+	@Override
+	protected Object copyInternal(ObjectLocator locator, Object object) {
+		final Copying copying = copyings.get();
+		if (copying != null && object instanceof CopyTo) {
+			final Object existingCopy = copying.copies.get(object);
+			if (existingCopy != null) {
+				return existingCopy;
+			}
+			final CopyTo source = (CopyTo) object;
+			final Object copy = source.createNewInstance();
+			copying.copies.put(object, copy);
+			copying.pending.push(new PendingCopy(locator, source, copy));
+			return copy;
+		} else {
+			return super.copyInternal(locator, object);
+		}
+	}
+
+	@Override
+	protected Object copyInternal(ObjectLocator locator,
+			@SuppressWarnings("rawtypes") JAXBElement jaxbElement) {
+		final Copying copying = copyings.get();
+		if (copying == null) {
+			return super.copyInternal(locator, jaxbElement);
+		}
+		final Object existingCopy = copying.copies.get(jaxbElement);
+		if (existingCopy != null) {
+			return existingCopy;
+		}
+		final Object copy = super.copyInternal(locator, jaxbElement);
+		copying.copies.put(jaxbElement, copy);
+		return copy;
+	}
+
+	private static class Copying {
+
+		private final Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+
+		private final Deque<PendingCopy> pending = new ArrayDeque<PendingCopy>();
+
+		private void fill(CopyStrategy copyStrategy) {
+			PendingCopy pendingCopy;
+			while ((pendingCopy = pending.poll()) != null) {
+				pendingCopy.source.copyTo(pendingCopy.locator,
+						pendingCopy.target, copyStrategy);
+			}
+		}
+	}
+
+	private static class PendingCopy {
+
+		private final ObjectLocator locator;
+
+		private final CopyTo source;
+
+		private final Object target;
+
+		private PendingCopy(ObjectLocator locator, CopyTo source, Object target) {
+			this.locator = locator;
+			this.source = source;
+			this.target = target;
+		}
+	}
+
+	public static final JAXBIdentityCopyStrategy INSTANCE = new JAXBIdentityCopyStrategy();
+
+	public static JAXBIdentityCopyStrategy getInstance() {
+		return INSTANCE;
+	}
+}
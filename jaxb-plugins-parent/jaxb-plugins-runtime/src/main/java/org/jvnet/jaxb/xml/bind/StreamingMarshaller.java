@@ -0,0 +1,92 @@
+package org.jvnet.jaxb.xml.bind;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+import org.jvnet.jaxb.lang.Validate;
+
+/**
+ * Marshals a document incrementally: the start of the root element, header
+ * objects, the repeating elements and footer objects, then the end of the
+ * root element. Each object is written to the underlying stream writer as it
+ * is marshalled, so that no part of the document needs to be held in memory.
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public class StreamingMarshaller {
+
+	private final Marshaller marshaller;
+
+	private final XMLStreamWriter writer;
+
+	public StreamingMarshaller(JAXBContext context, XMLStreamWriter writer)
+			throws JAXBException {
+		Validate.notNull(context);
+		Validate.notNull(writer);
+		this.marshaller = context.createMarshaller();
+		this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+		this.writer = writer;
+	}
+
+	public Marshaller getMarshaller() {
+		return marshaller;
+	}
+
+	public XMLStreamWriter getWriter() {
+		return writer;
+	}
+
+	/**
+	 * Writes the start of the document and of the root element.
+	 */
+	public void writeStartDocument(QName rootElementName)
+			throws XMLStreamException {
+		Validate.notNull(rootElementName);
+		final String namespaceURI = rootElementName.getNamespaceURI();
+		final String prefix = rootElementName.getPrefix();
+		writer.writeStartDocument();
+		writer.writeStartElement(prefix, rootElementName.getLocalPart(),
+				namespaceURI);
+		if (!namespaceURI.isEmpty() || !prefix.isEmpty()) {
+			if (prefix.isEmpty()) {
+				writer.writeDefaultNamespace(namespaceURI);
+			} else {
+				writer.writeNamespace(prefix, namespaceURI);
+			}
+		}
+	}
+
+	/**
+	 * Marshals a root element (an instance of an <code>@XmlRootElement</code>
+	 * class or a <code>JAXBElement</code>).
+	 */
+	public void marshal(Object element) throws JAXBException {
+		Validate.notNull(element);
+		marshaller.marshal(element, writer);
+	}
+
+	/**
+	 * Marshals the value as an element with the given name.
+	 */
+	public <T> void marshal(QName elementName, Class<T> declaredType, T value)
+			throws JAXBException {
+		marshal(new JAXBElement<T>(elementName, declaredType, value));
+	}
+
+	/**
+	 * Writes the end of the root element and of the document and flushes the
+	 * writer. The writer is not closed.
+	 */
+	public void writeEndDocument() throws XMLStreamException {
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.flush();
+	}
+}
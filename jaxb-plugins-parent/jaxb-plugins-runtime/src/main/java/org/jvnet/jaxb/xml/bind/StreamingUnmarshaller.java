@@ -0,0 +1,272 @@
+package org.jvnet.jaxb.xml.bind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+import org.jvnet.jaxb.lang.Validate;
+
+/**
+ * Unmarshals the repeating elements of a document one at a time.
+ * <p>
+ * The document is read with StAX. Elements with one of the configured names
+ * are unmarshalled with their content and passed to the consumer, the rest of
+ * the document is skipped. Elements are matched at any depth outside of
+ * already matched elements. Only the current element (or the current batch
+ * and a bounded number of pending batches) is held in memory, regardless of
+ * the size of the document.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public class StreamingUnmarshaller {
+
+	private final Unmarshaller unmarshaller;
+
+	public StreamingUnmarshaller(JAXBContext context) throws JAXBException {
+		Validate.notNull(context);
+		this.unmarshaller = context.createUnmarshaller();
+	}
+
+	public Unmarshaller getUnmarshaller() {
+		return unmarshaller;
+	}
+
+	/**
+	 * Unmarshals the elements with the given names to their declared types,
+	 * reading from the current position of the reader to the end of the
+	 * document.
+	 *
+	 * @return number of unmarshalled elements.
+	 */
+	public long unmarshal(XMLStreamReader reader,
+			Map<QName, Class<?>> declaredTypes,
+			Consumer<? super JAXBElement<?>> consumer)
+			throws XMLStreamException, JAXBException {
+		Validate.notNull(reader);
+		Validate.notNull(declaredTypes);
+		Validate.notNull(consumer);
+		long count = 0;
+		while (reader.hasNext()) {
+			final Class<?> declaredType = reader.isStartElement() ? declaredTypes
+					.get(reader.getName()) : null;
+			if (declaredType != null) {
+				// Leaves the reader after the end of the element
+				consumer.accept(unmarshaller.unmarshal(reader, declaredType));
+				count++;
+			} else {
+				reader.next();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Unmarshals the elements with the given name, reading from the current
+	 * position of the reader to the end of the document.
+	 *
+	 * @return number of unmarshalled elements.
+	 */
+	public <T> long unmarshal(XMLStreamReader reader, QName elementName,
+			final Class<T> declaredType, final Consumer<? super T> consumer)
+			throws XMLStreamException, JAXBException {
+		Validate.notNull(elementName);
+		Validate.notNull(declaredType);
+		Validate.notNull(consumer);
+		return unmarshal(reader,
+				Collections.<QName, Class<?>> singletonMap(elementName,
+						declaredType), new Consumer<JAXBElement<?>>() {
+					public void accept(JAXBElement<?> element) {
+						consumer.accept(declaredType.cast(element.getValue()));
+					}
+				});
+	}
+
+	/**
+	 * Unmarshals the elements with the given name in batches and passes the
+	 * batches to the consumer on the executor. Reading blocks while
+	 * <code>maxPendingBatches</code> batches are submitted but not yet
+	 * consumed. Returns when all the batches are consumed; the first exception
+	 * thrown by the consumer stops reading and is rethrown. If reading fails,
+	 * the incomplete batch is discarded and the exception of the reader is
+	 * rethrown once the pending batches are consumed, with the failure of the
+	 * consumer, if any, added as suppressed exception. An interruption while
+	 * waiting for pending batches stops reading.
+	 *
+	 * @return number of unmarshalled elements.
+	 */
+	public <T> long unmarshal(XMLStreamReader reader, QName elementName,
+			Class<T> declaredType, int batchSize, Executor executor,
+			int maxPendingBatches, Consumer<? super List<T>> consumer)
+			throws XMLStreamException, JAXBException {
+		Validate.isTrue(batchSize > 0);
+		Validate.isTrue(maxPendingBatches > 0);
+		Validate.notNull(executor);
+		Validate.notNull(consumer);
+		final Batches<T> batches = new Batches<T>(batchSize, executor,
+				maxPendingBatches, consumer);
+		final long count;
+		try {
+			count = unmarshal(reader, elementName, declaredType, batches);
+			batches.submitLast();
+		} catch (Stopped stopped) {
+			if (stopped.getCause() instanceof InterruptedException) {
+				final JAXBException jex = new JAXBException(
+						"Interrupted while waiting for pending batches.",
+						stopped.getCause());
+				batches.addFailureTo(jex);
+				throw jex;
+			}
+			// Stopped by the failure of the consumer, rethrown below
+			batches.await();
+			batches.rethrowFailure();
+			throw new IllegalStateException(stopped);
+		} catch (XMLStreamException | JAXBException | RuntimeException
+				| Error ex) {
+			batches.abort(ex);
+			throw ex;
+		}
+		batches.await();
+		batches.rethrowFailure();
+		return count;
+	}
+
+	private static class Batches<T> implements Consumer<T> {
+
+		private final int batchSize;
+		private final Executor executor;
+		private final int maxPendingBatches;
+		private final Consumer<? super List<T>> consumer;
+		private final Semaphore pendingBatches;
+		private volatile Throwable failure;
+		private List<T> batch;
+
+		public Batches(int batchSize, Executor executor, int maxPendingBatches,
+				Consumer<? super List<T>> consumer) {
+			this.batchSize = batchSize;
+			this.executor = executor;
+			this.maxPendingBatches = maxPendingBatches;
+			this.consumer = consumer;
+			this.pendingBatches = new Semaphore(maxPendingBatches);
+			this.batch = new ArrayList<T>(batchSize);
+		}
+
+		public void accept(T element) {
+			batch.add(element);
+			if (batch.size() == batchSize) {
+				submit();
+			}
+		}
+
+		public void submitLast() {
+			if (!batch.isEmpty()) {
+				submit();
+			}
+		}
+
+		private void submit() {
+			final List<T> submitted = batch;
+			batch = new ArrayList<T>(batchSize);
+			try {
+				pendingBatches.acquire();
+			} catch (InterruptedException iex) {
+				Thread.currentThread().interrupt();
+				throw new Stopped(iex);
+			}
+			if (failure != null) {
+				pendingBatches.release();
+				throw new Stopped(null);
+			}
+			try {
+				executor.execute(new Runnable() {
+					public void run() {
+						try {
+							consumer.accept(submitted);
+						} catch (Throwable t) {
+							if (failure == null) {
+								failure = t;
+							}
+						} finally {
+							pendingBatches.release();
+						}
+					}
+				});
+			} catch (RuntimeException rex) {
+				pendingBatches.release();
+				throw rex;
+			}
+		}
+
+		/**
+		 * Waits until the pending batches are consumed.
+		 */
+		public void await() throws JAXBException {
+			try {
+				pendingBatches.acquire(maxPendingBatches);
+			} catch (InterruptedException iex) {
+				Thread.currentThread().interrupt();
+				final JAXBException jex = new JAXBException(
+						"Interrupted while waiting for pending batches.", iex);
+				addFailureTo(jex);
+				throw jex;
+			}
+			pendingBatches.release(maxPendingBatches);
+		}
+
+		/**
+		 * Discards the incomplete batch, waits for the pending batches unless
+		 * interrupted and adds the failure of the consumer to the given
+		 * exception.
+		 */
+		public void abort(Throwable exception) {
+			batch.clear();
+			try {
+				await();
+			} catch (JAXBException jex) {
+				exception.addSuppressed(jex.getCause());
+			}
+			addFailureTo(exception);
+		}
+
+		public void addFailureTo(Throwable exception) {
+			final Throwable t = failure;
+			if (t != null && t != exception) {
+				exception.addSuppressed(t);
+			}
+		}
+
+		public void rethrowFailure() throws JAXBException {
+			final Throwable t = failure;
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			} else if (t instanceof Error) {
+				throw (Error) t;
+			} else if (t != null) {
+				throw new JAXBException(t);
+			}
+		}
+	}
+
+	private static class Stopped extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		public Stopped(InterruptedException cause) {
+			super(null, cause, false, false);
+		}
+	}
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.jvnet.jaxb.lang.CopyStrategy;
 import org.jvnet.jaxb.lang.CopyTo;
 import org.jvnet.jaxb.lang.JAXBCopyStrategy;
+import org.jvnet.jaxb.lang.JAXBIdentityCopyStrategy;
 import org.jvnet.jaxb.locator.DefaultRootObjectLocator;
 import org.jvnet.jaxb.locator.ObjectLocator;
 import org.jvnet.jaxb.locator.util.LocatorUtils;
@@ -97,4 +98,39 @@ public class CyclicTests {
 		// assertSame(a1.b.a, a1);
 	}
 
+	@Test
+	public void testIdentityCopyStrategyCycle() throws Exception {
+		final A a = new A();
+		final B b = new B();
+		a.b = b;
+		b.a = a;
+
+		final A a1 = (A) JAXBIdentityCopyStrategy.getInstance().copy(
+				new DefaultRootObjectLocator(a), a);
+
+		Assertions.assertNotSame(a, a1);
+		Assertions.assertNotSame(b, a1.b);
+		Assertions.assertSame(a1, a1.b.a);
+	}
+
+	@Test
+	public void testIdentityCopyStrategyDeepNesting() throws Exception {
+		final A a = new A();
+		A current = a;
+		for (int index = 0; index < 100000; index++) {
+			final B b = new B();
+			current.b = b;
+			b.a = new A();
+			current = b.a;
+		}
+
+		A copy = (A) JAXBIdentityCopyStrategy.getInstance().copy(null, a);
+
+		int depth = 0;
+		while (copy.b != null) {
+			copy = copy.b.a;
+			depth++;
+		}
+		Assertions.assertEquals(100000, depth);
+	}
 }
@@ -0,0 +1,206 @@
+package org.jvnet.jaxb.xml.bind.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.jaxb.lang.ContextUtils;
+import org.jvnet.jaxb.xml.bind.StreamingMarshaller;
+import org.jvnet.jaxb.xml.bind.StreamingUnmarshaller;
+
+public class StreamingUnmarshallerTest {
+
+	public static final String NAMESPACE_URI = "urn:test:records";
+
+	public static final QName RECORDS = new QName(NAMESPACE_URI, "records");
+
+	public static final QName HEADER = new QName(NAMESPACE_URI, "header");
+
+	public static final QName RECORD = new QName(NAMESPACE_URI, "record");
+
+	public static final int COUNT = 1000;
+
+	@XmlAccessorType(XmlAccessType.FIELD)
+	public static class Record {
+
+		@XmlAttribute
+		public int id;
+
+		@XmlElement(namespace = NAMESPACE_URI)
+		public String name;
+	}
+
+	private JAXBContext context;
+
+	private byte[] document;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		context = JAXBContext.newInstance(Record.class);
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		final StreamingMarshaller marshaller = ContextUtils
+				.createStreamingMarshaller(context, os);
+		marshaller.writeStartDocument(RECORDS);
+		marshaller.marshal(HEADER, String.class, "header");
+		for (int index = 0; index < COUNT; index++) {
+			final Record record = new Record();
+			record.id = index;
+			record.name = "record" + index;
+			marshaller.marshal(RECORD, Record.class, record);
+		}
+		marshaller.writeEndDocument();
+		document = os.toByteArray();
+	}
+
+	@Test
+	public void testUnmarshal() throws Exception {
+		final AtomicInteger next = new AtomicInteger();
+		final long count = ContextUtils.unmarshal(context,
+				new ByteArrayInputStream(document), RECORD, Record.class,
+				new Consumer<Record>() {
+					public void accept(Record record) {
+						final int index = next.getAndIncrement();
+						Assertions.assertEquals(index, record.id);
+						Assertions.assertEquals("record" + index, record.name);
+					}
+				});
+		Assertions.assertEquals(COUNT, count);
+		Assertions.assertEquals(COUNT, next.get());
+	}
+
+	@Test
+	public void testUnmarshalBatches() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		final XMLStreamReader reader = ContextUtils
+				.createXMLStreamReader(new ByteArrayInputStream(document));
+		try {
+			final AtomicLong sum = new AtomicLong();
+			final AtomicInteger batches = new AtomicInteger();
+			final long count = new StreamingUnmarshaller(context).unmarshal(
+					reader, RECORD, Record.class, 64, executor, 2,
+					new Consumer<List<Record>>() {
+						public void accept(List<Record> batch) {
+							Assertions.assertTrue(batch.size() <= 64);
+							batches.incrementAndGet();
+							for (Record record : batch) {
+								sum.addAndGet(record.id);
+							}
+						}
+					});
+			Assertions.assertEquals(COUNT, count);
+			Assertions.assertEquals((COUNT + 63) / 64, batches.get());
+			Assertions.assertEquals((long) COUNT * (COUNT - 1) / 2, sum.get());
+		} finally {
+			reader.close();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testUnmarshalBatchesFailure() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final XMLStreamReader reader = ContextUtils
+				.createXMLStreamReader(new ByteArrayInputStream(document));
+		try {
+			final StreamingUnmarshaller unmarshaller = new StreamingUnmarshaller(
+					context);
+			try {
+				unmarshaller.unmarshal(reader, RECORD, Record.class, 10,
+						executor, 1, new Consumer<List<Record>>() {
+							public void accept(List<Record> batch) {
+								throw new IllegalStateException("Failed.");
+							}
+						});
+				Assertions.fail("Expected IllegalStateException.");
+			} catch (IllegalStateException isex) {
+				Assertions.assertEquals("Failed.", isex.getMessage());
+			}
+		} finally {
+			reader.close();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testUnmarshalBatchesReaderFailure() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		// Truncated in the middle of a record
+		final byte[] truncated = new String(document, "UTF-8").substring(0,
+				document.length / 2).getBytes("UTF-8");
+		final XMLStreamReader reader = ContextUtils
+				.createXMLStreamReader(new ByteArrayInputStream(truncated));
+		try {
+			final AtomicInteger consumed = new AtomicInteger();
+			try {
+				new StreamingUnmarshaller(context).unmarshal(reader, RECORD,
+						Record.class, 10, executor, 2,
+						new Consumer<List<Record>>() {
+							public void accept(List<Record> batch) {
+								Assertions.assertEquals(10, batch.size());
+								consumed.addAndGet(batch.size());
+							}
+						});
+				Assertions.fail("Expected exception of the reader.");
+			} catch (JAXBException | XMLStreamException ex) {
+				Assertions.assertEquals(0, ex.getSuppressed().length);
+			}
+			Assertions.assertEquals(0, consumed.get() % 10,
+					"Incomplete batch must not be consumed.");
+		} finally {
+			reader.close();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testUnmarshalBatchesInterrupted() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final CountDownLatch release = new CountDownLatch(1);
+		final XMLStreamReader reader = ContextUtils
+				.createXMLStreamReader(new ByteArrayInputStream(document));
+		try {
+			Thread.currentThread().interrupt();
+			try {
+				new StreamingUnmarshaller(context).unmarshal(reader, RECORD,
+						Record.class, 10, executor, 1,
+						new Consumer<List<Record>>() {
+							public void accept(List<Record> batch) {
+								try {
+									release.await();
+								} catch (InterruptedException iex) {
+									Thread.currentThread().interrupt();
+								}
+							}
+						});
+				Assertions.fail("Expected JAXBException.");
+			} catch (JAXBException jex) {
+				Assertions.assertTrue(jex.getCause() instanceof InterruptedException);
+			}
+			Assertions.assertTrue(Thread.interrupted());
+		} finally {
+			release.countDown();
+			reader.close();
+			executor.shutdown();
+		}
+	}
+}
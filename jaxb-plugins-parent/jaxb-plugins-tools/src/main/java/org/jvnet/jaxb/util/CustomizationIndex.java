@@ -0,0 +1,142 @@
+package org.jvnet.jaxb.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.xml.namespace.QName;
+
+import org.w3c.dom.Element;
+
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CPluginCustomization;
+
+/**
+ * Index of the plugin customizations of a customizable by their names.
+ * <p>
+ * Indexes are built on first access and shared by all plugins, they are held
+ * as long as the customizations of the model are reachable. An index is
+ * rebuilt if customizations were added or removed since it was built.
+ * Customizations are not acknowledged by the index, this is left to the
+ * callers.
+ * </p>
+ */
+public class CustomizationIndex {
+
+	private static final CustomizationIndex EMPTY = new CustomizationIndex(
+			CCustomizations.EMPTY);
+
+	private static final Map<CCustomizations, CustomizationIndex> indexes = new WeakHashMap<CCustomizations, CustomizationIndex>();
+
+	private final int size;
+
+	private final CPluginCustomization last;
+
+	private final Map<QName, List<CPluginCustomization>> customizations = new HashMap<QName, List<CPluginCustomization>>();
+
+	private final Map<QName, Map<String, List<CPluginCustomization>>> attributedCustomizations = new HashMap<QName, Map<String, List<CPluginCustomization>>>();
+
+	private CustomizationIndex(List<CPluginCustomization> customizations) {
+		this.size = customizations.size();
+		this.last = size == 0 ? null : customizations.get(size - 1);
+		for (CPluginCustomization customization : customizations) {
+			final QName name = getName(customization.element);
+			List<CPluginCustomization> named = this.customizations.get(name);
+			if (named == null) {
+				named = new ArrayList<CPluginCustomization>(1);
+				this.customizations.put(name, named);
+			}
+			named.add(customization);
+		}
+	}
+
+	/**
+	 * Returns the index of the given customizations.
+	 */
+	public static CustomizationIndex getIndex(CCustomizations customizations) {
+		if (customizations == null || customizations.isEmpty()) {
+			return EMPTY;
+		}
+		synchronized (indexes) {
+			CustomizationIndex index = indexes.get(customizations);
+			if (index == null || !index.isCurrent(customizations)) {
+				index = new CustomizationIndex(customizations);
+				indexes.put(customizations, index);
+			}
+			return index;
+		}
+	}
+
+	private boolean isCurrent(List<CPluginCustomization> customizations) {
+		final int currentSize = customizations.size();
+		return currentSize == size
+				&& (size == 0 || customizations.get(size - 1) == last);
+	}
+
+	/**
+	 * Returns the customizations with the given name, in their order.
+	 */
+	public List<CPluginCustomization> get(QName name) {
+		final List<CPluginCustomization> named = customizations.get(name);
+		return named == null ? Collections.<CPluginCustomization> emptyList()
+				: Collections.unmodifiableList(named);
+	}
+
+	/**
+	 * Returns the first customization with the given name or
+	 * <code>null</code>.
+	 */
+	public CPluginCustomization getFirst(QName name) {
+		final List<CPluginCustomization> named = customizations.get(name);
+		return named == null ? null : named.get(0);
+	}
+
+	public boolean contains(QName name) {
+		return customizations.containsKey(name);
+	}
+
+	/**
+	 * Returns the customizations with the given name and <code>name</code>
+	 * attribute (for instance, property customizations declared in the class).
+	 */
+	public List<CPluginCustomization> get(QName name, String nameAttribute) {
+		final List<CPluginCustomization> named = customizations.get(name);
+		if (named == null) {
+			return Collections.emptyList();
+		}
+		synchronized (attributedCustomizations) {
+			Map<String, List<CPluginCustomization>> byNameAttribute = attributedCustomizations
+					.get(name);
+			if (byNameAttribute == null) {
+				byNameAttribute = new HashMap<String, List<CPluginCustomization>>();
+				for (CPluginCustomization customization : named) {
+					final String key = customization.element
+							.getAttribute("name");
+					List<CPluginCustomization> attributed = byNameAttribute
+							.get(key);
+					if (attributed == null) {
+						attributed = new ArrayList<CPluginCustomization>(1);
+						byNameAttribute.put(key, attributed);
+					}
+					attributed.add(customization);
+				}
+				attributedCustomizations.put(name, byNameAttribute);
+			}
+			final List<CPluginCustomization> attributed = byNameAttribute
+					.get(nameAttribute);
+			return attributed == null ? Collections
+					.<CPluginCustomization> emptyList() : Collections
+					.unmodifiableList(attributed);
+		}
+	}
+
+	public static QName getName(Element element) {
+		final String namespaceURI = element.getNamespaceURI();
+		final String localName = element.getLocalName();
+		return new QName(namespaceURI == null ? "" : namespaceURI,
+				localName == null ? "" : localName);
+	}
+}
@@ -3,7 +3,6 @@ package org.jvnet.jaxb.util;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import jakarta.xml.bind.JAXBContext;
@@ -120,7 +119,7 @@ public class CustomizationUtils {
 
 	public static CPluginCustomization findCustomization(ClassOutline classOutline, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(classOutline);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -129,7 +128,7 @@ public class CustomizationUtils {
 
 	public static CPluginCustomization findCustomization(EnumOutline classOutline, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(classOutline);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -138,7 +137,7 @@ public class CustomizationUtils {
 
 	public static CPluginCustomization findCustomization(ElementOutline elementOutline, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(elementOutline);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -165,23 +164,13 @@ public class CustomizationUtils {
 	public static List<CPluginCustomization> findCustomizations(CClassInfo classInfo, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(classInfo);
 
-		final List<CPluginCustomization> pluginCustomizations = new LinkedList<CPluginCustomization>();
-
-		for (CPluginCustomization pluginCustomization : customizations) {
-			if (fixNull(pluginCustomization.element.getNamespaceURI()).equals(name.getNamespaceURI())
-					&& fixNull(pluginCustomization.element.getLocalName()).equals(name.getLocalPart())) {
-				pluginCustomization.markAsAcknowledged();
-				pluginCustomizations.add(pluginCustomization);
-			}
-		}
-
-		return pluginCustomizations;
+		return acknowledge(CustomizationIndex.getIndex(customizations).get(name));
 	}
 
 	public static List<CPluginCustomization> findPropertyCustomizationsInPropertyAndClass(CPropertyInfo propertyInfo,
 			QName propertyCustomizationName, QName customizationName) {
 
-		final List<CPluginCustomization> foundPropertyCustomizations = new LinkedList<CPluginCustomization>();
+		final List<CPluginCustomization> foundPropertyCustomizations = new ArrayList<CPluginCustomization>();
 		foundPropertyCustomizations.addAll(findPropertyCustomizationsInProperty(propertyInfo, customizationName));
 		if (propertyInfo.parent() instanceof CClassInfo) {
 			foundPropertyCustomizations.addAll(findPropertyCustomizationsInClass((CClassInfo) propertyInfo.parent(),
@@ -193,48 +182,37 @@ public class CustomizationUtils {
 	public static List<CPluginCustomization> findPropertyCustomizationsInProperty(CPropertyInfo propertyInfo,
 			QName name) {
 
-		final List<CPluginCustomization> foundPropertyCustomizations = new LinkedList<CPluginCustomization>();
+		final List<CPluginCustomization> foundPropertyCustomizations = new ArrayList<CPluginCustomization>();
 
-		final List<CPluginCustomization> propertyCustomizations = CustomizationUtils.getCustomizations(propertyInfo);
-
-		for (CPluginCustomization propertyCustomization : propertyCustomizations) {
-			if (fixNull(propertyCustomization.element.getNamespaceURI()).equals(name.getNamespaceURI())
-					&& fixNull(propertyCustomization.element.getLocalName()).equals(name.getLocalPart())) {
-				propertyCustomization.markAsAcknowledged();
-				foundPropertyCustomizations.add(propertyCustomization);
-			}
+		for (CCustomizations customizations : getCustomizationsParts(propertyInfo)) {
+			foundPropertyCustomizations.addAll(CustomizationIndex.getIndex(customizations).get(name));
 		}
-		return foundPropertyCustomizations;
+		return acknowledge(foundPropertyCustomizations);
 	}
 
 	public static List<CPluginCustomization> getPropertyCustomizationsInClass(CClassInfo classInfo,
 			CPropertyInfo propertyInfo, QName propertyCustomizationName) {
-		final List<CPluginCustomization> foundPropertyCustomizations = new LinkedList<CPluginCustomization>();
+		final List<CPluginCustomization> foundPropertyCustomizations = new ArrayList<CPluginCustomization>();
 
-		final List<CPluginCustomization> classCustomizations = CustomizationUtils.getCustomizations(classInfo);
+		final List<CPluginCustomization> classCustomizations = CustomizationIndex
+				.getIndex(CustomizationUtils.getCustomizations(classInfo))
+				.get(propertyCustomizationName, propertyInfo.getName(false));
 
 		for (CPluginCustomization classCustomization : classCustomizations) {
-			if (fixNull(classCustomization.element.getNamespaceURI())
-					.equals(propertyCustomizationName.getNamespaceURI())
-					&& fixNull(classCustomization.element.getLocalName())
-							.equals(propertyCustomizationName.getLocalPart())
-					&& propertyInfo.getName(false).equals(classCustomization.element.getAttribute("name"))) {
-
-				final Element classCustomizationElement = classCustomization.element;
-
-				final NodeList nodes = classCustomizationElement.getChildNodes();
-				final int length = nodes.getLength();
-				for (int index = 0; index < length; index++) {
-					final Node node = nodes.item(index);
-					if (node.getNodeType() == Node.ELEMENT_NODE) {
-						final Element element = (Element) node;
-
-						classCustomization.markAsAcknowledged();
-						final CPluginCustomization propertyCustomization = new CPluginCustomization(element,
-								classCustomization.locator);
-						propertyCustomization.markAsAcknowledged();
-						foundPropertyCustomizations.add(propertyCustomization);
-					}
+			final Element classCustomizationElement = classCustomization.element;
+
+			final NodeList nodes = classCustomizationElement.getChildNodes();
+			final int length = nodes.getLength();
+			for (int index = 0; index < length; index++) {
+				final Node node = nodes.item(index);
+				if (node.getNodeType() == Node.ELEMENT_NODE) {
+					final Element element = (Element) node;
+
+					classCustomization.markAsAcknowledged();
+					final CPluginCustomization propertyCustomization = new CPluginCustomization(element,
+							classCustomization.locator);
+					propertyCustomization.markAsAcknowledged();
+					foundPropertyCustomizations.add(propertyCustomization);
 				}
 			}
 		}
@@ -244,34 +222,28 @@ public class CustomizationUtils {
 	public static List<CPluginCustomization> findPropertyCustomizationsInClass(CClassInfo classInfo,
 			CPropertyInfo propertyInfo, QName propertyCustomizationName, QName customizationName) {
 
-		final List<CPluginCustomization> foundPropertyCustomizations = new LinkedList<CPluginCustomization>();
+		final List<CPluginCustomization> foundPropertyCustomizations = new ArrayList<CPluginCustomization>();
 
-		final List<CPluginCustomization> classCustomizations = CustomizationUtils.getCustomizations(classInfo);
+		final List<CPluginCustomization> classCustomizations = CustomizationIndex
+				.getIndex(CustomizationUtils.getCustomizations(classInfo))
+				.get(propertyCustomizationName, propertyInfo.getName(false));
 
 		for (CPluginCustomization classCustomization : classCustomizations) {
-			if (fixNull(classCustomization.element.getNamespaceURI())
-					.equals(propertyCustomizationName.getNamespaceURI())
-					&& fixNull(classCustomization.element.getLocalName())
-							.equals(propertyCustomizationName.getLocalPart())
-					&& propertyInfo.getName(false).equals(classCustomization.element.getAttribute("name"))) {
-
-				final Element classCustomizationElement = classCustomization.element;
-
-				final NodeList nodes = classCustomizationElement.getChildNodes();
-				final int length = nodes.getLength();
-				for (int index = 0; index < length; index++) {
-					final Node node = nodes.item(index);
-					if (node.getNodeType() == Node.ELEMENT_NODE) {
-						final Element element = (Element) node;
-						if (fixNull(element.getNamespaceURI()).equals(customizationName.getNamespaceURI())
-								&& fixNull(element.getLocalName()).equals(customizationName.getLocalPart())) {
-
-							classCustomization.markAsAcknowledged();
-							final CPluginCustomization propertyCustomization = new CPluginCustomization(element,
-									classCustomization.locator);
-							propertyCustomization.markAsAcknowledged();
-							foundPropertyCustomizations.add(propertyCustomization);
-						}
+			final Element classCustomizationElement = classCustomization.element;
+
+			final NodeList nodes = classCustomizationElement.getChildNodes();
+			final int length = nodes.getLength();
+			for (int index = 0; index < length; index++) {
+				final Node node = nodes.item(index);
+				if (node.getNodeType() == Node.ELEMENT_NODE) {
+					final Element element = (Element) node;
+					if (CustomizationIndex.getName(element).equals(customizationName)) {
+
+						classCustomization.markAsAcknowledged();
+						final CPluginCustomization propertyCustomization = new CPluginCustomization(element,
+								classCustomization.locator);
+						propertyCustomization.markAsAcknowledged();
+						foundPropertyCustomizations.add(propertyCustomization);
 					}
 				}
 			}
@@ -282,44 +254,30 @@ public class CustomizationUtils {
 	public static List<CPluginCustomization> findCustomizations(CEnumLeafInfo enumInfo, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(enumInfo);
 
-		final List<CPluginCustomization> pluginCustomizations = new LinkedList<CPluginCustomization>();
-
-		for (CPluginCustomization pluginCustomization : customizations) {
-			if (fixNull(pluginCustomization.element.getNamespaceURI()).equals(name.getNamespaceURI())
-					&& fixNull(pluginCustomization.element.getLocalName()).equals(name.getLocalPart())) {
-				pluginCustomization.markAsAcknowledged();
-				pluginCustomizations.add(pluginCustomization);
-			}
-		}
-
-		return pluginCustomizations;
+		return acknowledge(CustomizationIndex.getIndex(customizations).get(name));
 	}
 
 	public static List<CPluginCustomization> findCustomizations(CElementInfo elementInfo, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(elementInfo);
 
-		final List<CPluginCustomization> pluginCustomizations = new LinkedList<CPluginCustomization>();
-
-		for (CPluginCustomization pluginCustomization : customizations) {
-			if (fixNull(pluginCustomization.element.getNamespaceURI()).equals(name.getNamespaceURI())
-					&& fixNull(pluginCustomization.element.getLocalName()).equals(name.getLocalPart())) {
-				pluginCustomization.markAsAcknowledged();
-				pluginCustomizations.add(pluginCustomization);
-			}
-		}
-
-		return pluginCustomizations;
+		return acknowledge(CustomizationIndex.getIndex(customizations).get(name));
 	}
 
     public static List<CPluginCustomization> findCustomizations(CElementInfo elementInfo, List<QName> names) {
         final CCustomizations customizations = CustomizationUtils.getCustomizations(elementInfo);
+        final CustomizationIndex index = CustomizationIndex.getIndex(customizations);
 
-        final List<CPluginCustomization> pluginCustomizations = new LinkedList<CPluginCustomization>();
+        if (names.size() == 1) {
+            return acknowledge(index.get(names.get(0)));
+        }
+
+        final List<CPluginCustomization> pluginCustomizations = new ArrayList<CPluginCustomization>();
 
+        // Keeps the order of the customizations
         for (CPluginCustomization pluginCustomization : customizations) {
+            final QName pluginCustomizationName = CustomizationIndex.getName(pluginCustomization.element);
             for(QName name : names) {
-                if (fixNull(pluginCustomization.element.getNamespaceURI()).equals(name.getNamespaceURI())
-                    && fixNull(pluginCustomization.element.getLocalName()).equals(name.getLocalPart())) {
+                if (pluginCustomizationName.equals(name)) {
                     pluginCustomization.markAsAcknowledged();
                     pluginCustomizations.add(pluginCustomization);
                 }
@@ -344,24 +302,14 @@ public class CustomizationUtils {
     }
 
 	public static List<CPluginCustomization> findCustomizations(Model model, QName name) {
-		final CCustomizations customizations = CustomizationUtils.getCustomizations(model);
-
-		final List<CPluginCustomization> pluginCustomizations = new LinkedList<CPluginCustomization>();
-
-		for (CPluginCustomization pluginCustomization : customizations) {
-			if (fixNull(pluginCustomization.element.getNamespaceURI()).equals(name.getNamespaceURI())
-					&& fixNull(pluginCustomization.element.getLocalName()).equals(name.getLocalPart())) {
-				pluginCustomization.markAsAcknowledged();
-				pluginCustomizations.add(pluginCustomization);
-			}
-		}
+		final CCustomizations customizations = model.getCustomizations();
 
-		return pluginCustomizations;
+		return acknowledge(CustomizationIndex.getIndex(customizations).get(name));
 	}
 
 	public static CPluginCustomization findCustomization(CClassInfo classInfo, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(classInfo);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -370,7 +318,7 @@ public class CustomizationUtils {
 
 	public static CPluginCustomization findCustomization(CEnumLeafInfo enumLeafInfo, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(enumLeafInfo);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -379,7 +327,7 @@ public class CustomizationUtils {
 
 	public static CPluginCustomization findCustomization(CElementInfo elementInfo, QName name) {
 		final CCustomizations customizations = CustomizationUtils.getCustomizations(elementInfo);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -418,17 +366,11 @@ public class CustomizationUtils {
 	}
 
 	public static CPluginCustomization findCustomization(FieldOutline fieldOutline, QName name) {
-		final CCustomizations customizations = CustomizationUtils.getCustomizations(fieldOutline);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
-		if (customization != null) {
-			customization.markAsAcknowledged();
-		}
-		return customization;
+		return findCustomization(fieldOutline.getPropertyInfo(), name);
 	}
 
 	public static CPluginCustomization findCustomization(CPropertyInfo propertyInfo, QName name) {
-		final CCustomizations customizations = CustomizationUtils.getCustomizations(propertyInfo);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CPluginCustomization customization = getFirstCustomization(propertyInfo, name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -436,17 +378,12 @@ public class CustomizationUtils {
 	}
 
 	public static CPluginCustomization findCustomization(Outline outline, QName name) {
-		final CCustomizations customizations = CustomizationUtils.getCustomizations(outline);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
-		if (customization != null) {
-			customization.markAsAcknowledged();
-		}
-		return customization;
+		return findCustomization(outline.getModel(), name);
 	}
 
 	public static CPluginCustomization findCustomization(Model model, QName name) {
-		final CCustomizations customizations = CustomizationUtils.getCustomizations(model);
-		final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+		final CCustomizations customizations = model.getCustomizations();
+		final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
 		if (customization != null) {
 			customization.markAsAcknowledged();
 		}
@@ -468,8 +405,7 @@ public class CustomizationUtils {
 	public static FieldOutline findFieldWithCustomization(ClassOutline classOutline, final QName name) {
 
 		for (final FieldOutline fieldOutline : classOutline.getDeclaredFields()) {
-			final CCustomizations customizations = getCustomizations(fieldOutline);
-			final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+			final CPluginCustomization customization = getFirstCustomization(fieldOutline.getPropertyInfo(), name);
 			if (customization != null)
 				return fieldOutline;
 		}
@@ -480,8 +416,7 @@ public class CustomizationUtils {
 	public static CPropertyInfo findPropertyWithCustomization(CClassInfo classInfo, final QName name) {
 
 		for (final CPropertyInfo propertyInfo : classInfo.getProperties()) {
-			final CCustomizations customizations = getCustomizations(propertyInfo);
-			final CPluginCustomization customization = customizations.find(name.getNamespaceURI(), name.getLocalPart());
+			final CPluginCustomization customization = getFirstCustomization(propertyInfo, name);
 			if (customization != null)
 				return propertyInfo;
 		}
@@ -547,7 +482,33 @@ public class CustomizationUtils {
 
 	public static CCustomizations getCustomizations(final CPropertyInfo propertyInfo) {
 
-		final CCustomizations main = new CCustomizations(propertyInfo.getCustomizations());
+		final List<CCustomizations> parts = getCustomizationsParts(propertyInfo);
+
+		final CCustomizations main = new CCustomizations(parts.get(0));
+
+		for (CCustomizations e : parts.subList(1, parts.size())) {
+			main.addAll(e);
+		}
+
+		return main;
+	}
+
+	private static CPluginCustomization getFirstCustomization(CPropertyInfo propertyInfo, QName name) {
+		for (CCustomizations customizations : getCustomizationsParts(propertyInfo)) {
+			final CPluginCustomization customization = CustomizationIndex.getIndex(customizations).getFirst(name);
+			if (customization != null) {
+				return customization;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the customizations of the property followed by the customizations
+	 * of the referenced elements which do not have a class, as merged by
+	 * {@link #getCustomizations(CPropertyInfo)}.
+	 */
+	private static List<CCustomizations> getCustomizationsParts(final CPropertyInfo propertyInfo) {
 
 		final Collection<CCustomizations> elementCustomizations = propertyInfo
 				.accept(new CPropertyVisitor<Collection<CCustomizations>>() {
@@ -579,13 +540,14 @@ public class CustomizationUtils {
 
 				});
 
-		CCustomizations customizations = main;
-
-		for (CCustomizations e : elementCustomizations) {
-			main.addAll(e);
+		if (elementCustomizations.isEmpty()) {
+			return Collections.singletonList(propertyInfo.getCustomizations());
 		}
 
-		return customizations;
+		final List<CCustomizations> parts = new ArrayList<CCustomizations>(elementCustomizations.size() + 1);
+		parts.add(propertyInfo.getCustomizations());
+		parts.addAll(elementCustomizations);
+		return parts;
 	}
 
 	public static CCustomizations getCustomizations(ClassOutline classOutline) {
@@ -609,12 +571,13 @@ public class CustomizationUtils {
 		}
 	}
 
-	private static String fixNull(String s) {
-		if (s == null) {
-			return "";
-		} else {
-			return s;
+	private static List<CPluginCustomization> acknowledge(List<CPluginCustomization> customizations) {
+		final List<CPluginCustomization> acknowledgedCustomizations = new ArrayList<CPluginCustomization>(
+				customizations);
+		for (CPluginCustomization customization : acknowledgedCustomizations) {
+			customization.markAsAcknowledged();
 		}
+		return acknowledgedCustomizations;
 	}
 
 	public static Object unmarshall(final JAXBContext context, final CPluginCustomization customization)
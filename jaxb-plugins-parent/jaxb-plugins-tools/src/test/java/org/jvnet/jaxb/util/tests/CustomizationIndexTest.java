@@ -0,0 +1,79 @@
+package org.jvnet.jaxb.util.tests;
+
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.jvnet.jaxb.util.CustomizationIndex;
+import org.jvnet.jaxb.util.CustomizationUtils;
+
+import com.sun.tools.xjc.model.CCustomizations;
+import com.sun.tools.xjc.model.CPluginCustomization;
+
+public class CustomizationIndexTest {
+
+	private static final QName A = new QName("urn:test", "a");
+
+	private static final QName B = new QName("urn:test", "b");
+
+	private static final QName PROPERTY = new QName("urn:test", "property");
+
+	@Test
+	public void findsCustomizationsByName() {
+		final CPluginCustomization a0 = CustomizationUtils.createCustomization(A);
+		final CPluginCustomization b = CustomizationUtils.createCustomization(B);
+		final CPluginCustomization a1 = CustomizationUtils.createCustomization(A);
+		final CCustomizations customizations = new CCustomizations();
+		customizations.add(a0);
+		customizations.add(b);
+		customizations.add(a1);
+
+		final CustomizationIndex index = CustomizationIndex.getIndex(customizations);
+		Assertions.assertSame(index, CustomizationIndex.getIndex(customizations));
+		final List<CPluginCustomization> found = index.get(A);
+		Assertions.assertEquals(2, found.size());
+		Assertions.assertSame(a0, found.get(0));
+		Assertions.assertSame(a1, found.get(1));
+		Assertions.assertSame(a0, index.getFirst(A));
+		Assertions.assertSame(b, index.getFirst(B));
+		Assertions.assertNull(index.getFirst(new QName("a")));
+		Assertions.assertTrue(index.get(new QName("urn:other", "a")).isEmpty());
+		Assertions.assertFalse(a0.isAcknowledged());
+	}
+
+	@Test
+	public void rebuildsIndexOnChange() {
+		final CCustomizations customizations = new CCustomizations();
+		customizations.add(CustomizationUtils.createCustomization(A));
+		final CustomizationIndex index = CustomizationIndex.getIndex(customizations);
+		Assertions.assertNull(index.getFirst(B));
+
+		final CPluginCustomization b = CustomizationUtils.createCustomization(B);
+		customizations.add(b);
+		Assertions.assertSame(b, CustomizationIndex.getIndex(customizations).getFirst(B));
+
+		customizations.remove(b);
+		customizations.add(CustomizationUtils.createCustomization(A));
+		Assertions.assertNull(CustomizationIndex.getIndex(customizations).getFirst(B));
+		Assertions.assertEquals(2, CustomizationIndex.getIndex(customizations).get(A).size());
+	}
+
+	@Test
+	public void findsCustomizationsByNameAttribute() {
+		final CPluginCustomization one = CustomizationUtils.createCustomization(PROPERTY);
+		one.element.setAttribute("name", "one");
+		final CPluginCustomization two = CustomizationUtils.createCustomization(PROPERTY);
+		two.element.setAttribute("name", "two");
+		final CCustomizations customizations = new CCustomizations();
+		customizations.add(one);
+		customizations.add(two);
+
+		final CustomizationIndex index = CustomizationIndex.getIndex(customizations);
+		Assertions.assertSame(one, index.get(PROPERTY, "one").get(0));
+		Assertions.assertSame(two, index.get(PROPERTY, "two").get(0));
+		Assertions.assertTrue(index.get(PROPERTY, "three").isEmpty());
+		Assertions.assertTrue(index.get(A, "one").isEmpty());
+	}
+}
@@ -9,12 +9,12 @@ import org.jvnet.jaxb.lang.Equals;
 import org.jvnet.jaxb.lang.EqualsStrategy;
 import org.jvnet.jaxb.lang.JAXBEqualsStrategy;
 import org.jvnet.jaxb.locator.ObjectLocator;
-import org.jvnet.jaxb.locator.util.LocatorUtils;
 import org.jvnet.jaxb.plugin.AbstractParameterizablePlugin;
 import org.jvnet.jaxb.plugin.ComposedIgnoring;
 import org.jvnet.jaxb.plugin.CustomizedIgnoring;
 import org.jvnet.jaxb.plugin.Ignoring;
 import org.jvnet.jaxb.plugin.util.FieldOutlineUtils;
+import org.jvnet.jaxb.plugin.util.LocatorExpressionUtils;
 import org.jvnet.jaxb.plugin.util.StrategyClassUtils;
 import org.jvnet.jaxb.util.ClassUtils;
 import org.jvnet.jaxb.util.FieldAccessorFactory;
@@ -229,16 +229,12 @@ public class EqualsPlugin extends AbstractParameterizablePlugin {
 							rightFieldAccessor.getType(), "rhs" + name);
 					rightFieldAccessor.toRawValue(block, rhsValue);
 
-					final JExpression leftFieldLocator = codeModel
-							.ref(LocatorUtils.class).staticInvoke("property")
-							.arg(leftLocator)
-							.arg(fieldOutline.getPropertyInfo().getName(false))
-							.arg(lhsValue);
-					final JExpression rightFieldLocator = codeModel
-							.ref(LocatorUtils.class).staticInvoke("property")
-							.arg(rightLocator)
-							.arg(fieldOutline.getPropertyInfo().getName(false))
-							.arg(rhsValue);
+					final JExpression leftFieldLocator = LocatorExpressionUtils
+							.property(codeModel, leftLocator, fieldOutline
+									.getPropertyInfo().getName(false), lhsValue);
+					final JExpression rightFieldLocator = LocatorExpressionUtils
+							.property(codeModel, rightLocator, fieldOutline
+									.getPropertyInfo().getName(false), rhsValue);
 					block._if(
 							JOp.not(JExpr.invoke(equalsStrategy, "equals")
 									.arg(leftFieldLocator)
@@ -9,12 +9,12 @@ import org.jvnet.jaxb.lang.HashCode;
 import org.jvnet.jaxb.lang.HashCodeStrategy;
 import org.jvnet.jaxb.lang.JAXBHashCodeStrategy;
 import org.jvnet.jaxb.locator.ObjectLocator;
-import org.jvnet.jaxb.locator.util.LocatorUtils;
 import org.jvnet.jaxb.plugin.AbstractParameterizablePlugin;
 import org.jvnet.jaxb.plugin.ComposedIgnoring;
 import org.jvnet.jaxb.plugin.CustomizedIgnoring;
 import org.jvnet.jaxb.plugin.Ignoring;
 import org.jvnet.jaxb.plugin.util.FieldOutlineUtils;
+import org.jvnet.jaxb.plugin.util.LocatorExpressionUtils;
 import org.jvnet.jaxb.plugin.util.StrategyClassUtils;
 import org.jvnet.jaxb.util.ClassUtils;
 import org.jvnet.jaxb.util.FieldAccessorFactory;
@@ -206,13 +206,10 @@ public class HashCodePlugin extends AbstractParameterizablePlugin {
 							currentHashCode,
 							hashCodeStrategy
 									.invoke("hashCode")
-									.arg(codeModel
-											.ref(LocatorUtils.class)
-											.staticInvoke("property")
-											.arg(locator)
-											.arg(fieldOutline.getPropertyInfo()
-													.getName(false))
-											.arg(theValue))
+									.arg(LocatorExpressionUtils.property(
+											codeModel, locator, fieldOutline
+													.getPropertyInfo()
+													.getName(false), theValue))
 									.arg(currentHashCode).arg(theValue)
 									.arg(valueIsSet));
 				}
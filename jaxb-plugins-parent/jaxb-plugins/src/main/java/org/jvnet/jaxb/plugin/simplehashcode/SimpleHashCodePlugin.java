@@ -1,6 +1,13 @@
 package org.jvnet.jaxb.plugin.simplehashcode;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import javax.xml.namespace.QName;
 
@@ -11,11 +18,14 @@ import org.jvnet.jaxb.plugin.util.StrategyClassUtils;
 import org.jvnet.jaxb.util.FieldUtils;
 import org.jvnet.jaxb.xjc.outline.FieldAccessorEx;
 
+import com.sun.codemodel.ClassType;
 import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
@@ -34,8 +44,10 @@ public class SimpleHashCodePlugin extends
 
 	@Override
 	public String getUsage() {
-		return "  -XsimpleEquals :  Generate reflection-free runtime-free hashCode() methods.\n" +
-		       "                    See https://github.com/highsource/jaxb-tools/wiki/JAXB2-SimpleHashCode-Plugin";
+		return "  -XsimpleHashCode :  Generate reflection-free runtime-free hashCode() methods.\n" +
+		       "                      See https://github.com/highsource/jaxb-tools/wiki/JAXB2-SimpleHashCode-Plugin\n" +
+		       "  -XsimpleHashCode-cache=true :  Cache the hash code of immutable field values.\n" +
+		       "                      Lists and nested beans are not cached, they are hashed on every call.";
 	}
 
 	@Override
@@ -55,6 +67,29 @@ public class SimpleHashCodePlugin extends
 		return new HashCodeCodeGenerator(codeModel);
 	}
 
+	private boolean cache = false;
+
+	public boolean isCache() {
+		return cache;
+	}
+
+	/**
+	 * If <code>true</code>, the hash code of the fields with immutable values
+	 * (primitives, wrappers, strings, enums and so on) is cached in a transient
+	 * field and reset by the setters and the <code>unset</code> methods of
+	 * these fields. Lists, nested beans and other mutable values are hashed on
+	 * every call, nested beans use their own cached hash codes then. Lists
+	 * returned by the getters may be modified without notice, so their hash
+	 * codes can't be cached safely.
+	 * <p>
+	 * The cached hash code is not reset if the fields are assigned directly,
+	 * or by setters generated by plugins running after this one.
+	 * </p>
+	 */
+	public void setCache(boolean cache) {
+		this.cache = cache;
+	}
+
 	@Override
 	protected void generate(ClassOutline classOutline, JDefinedClass theClass) {
 
@@ -65,10 +100,41 @@ public class SimpleHashCodePlugin extends
 		{
 			final JBlock body = object$hashCode.body();
 
-			final JExpression currentHashCodeExpression = JExpr.lit(1);
+			final FieldOutline[] declaredFields = FieldOutlineUtils.filter(
+					classOutline.getDeclaredFields(), getIgnoring());
 
-			final JVar currentHashCode = body.decl(codeModel.INT,
-					"currentHashCode", currentHashCodeExpression);
+			final JVar currentHashCode;
+			final List<FieldOutline> fields;
+			if (isCache()) {
+				final JFieldVar cachedHashCode = theClass.field(JMod.PRIVATE
+						| JMod.TRANSIENT, codeModel.INT, CACHED_HASH_CODE_FIELD_NAME);
+				// Zero means not computed, single field keeps racy reads safe
+				currentHashCode = body.decl(codeModel.INT, "currentHashCode",
+						JExpr._this().ref(cachedHashCode));
+				final JBlock computeBlock = body._if(
+						currentHashCode.eq(JExpr.lit(0)))._then();
+				computeBlock.assign(currentHashCode, JExpr.lit(1));
+				fields = new ArrayList<FieldOutline>(declaredFields.length);
+				for (final FieldOutline fieldOutline : declaredFields) {
+					final FieldAccessorEx fieldAccessor = getFieldAccessorFactory()
+							.createFieldAccessor(fieldOutline, JExpr._this());
+					if (!fieldAccessor.isConstant()
+							&& isImmutable(codeModel, fieldAccessor.getType())) {
+						generate(computeBlock, currentHashCode, fieldOutline,
+								fieldAccessor);
+						resetCachedHashCode(theClass, cachedHashCode,
+								fieldOutline);
+					} else {
+						fields.add(fieldOutline);
+					}
+				}
+				computeBlock.assign(JExpr._this().ref(cachedHashCode),
+						currentHashCode);
+			} else {
+				currentHashCode = body.decl(codeModel.INT, "currentHashCode",
+						JExpr.lit(1));
+				fields = Arrays.asList(declaredFields);
+			}
 
 			final Boolean superClassImplementsHashCode = StrategyClassUtils
 					.superClassNotIgnored(classOutline, getIgnoring());
@@ -80,48 +146,86 @@ public class SimpleHashCodePlugin extends
 								JExpr._super().invoke("hashCode")));
 			}
 
-			final FieldOutline[] declaredFields = FieldOutlineUtils.filter(
-					classOutline.getDeclaredFields(), getIgnoring());
-
-			if (declaredFields.length > 0) {
-
-				for (final FieldOutline fieldOutline : declaredFields) {
-					final FieldAccessorEx fieldAccessor = getFieldAccessorFactory()
-							.createFieldAccessor(fieldOutline, JExpr._this());
-					if (fieldAccessor.isConstant()) {
-						continue;
-					}
-					final JBlock block = body.block();
-					block.assign(currentHashCode,
-							currentHashCode.mul(JExpr.lit(getMultiplier())));
-
-					String propertyName = fieldOutline.getPropertyInfo()
-							.getName(true);
-					final JVar value = block.decl(fieldAccessor.getType(),
-							"the" + propertyName);
-
-					fieldAccessor.toRawValue(block, value);
-					final JType exposedType = fieldAccessor.getType();
-
-					final Collection<JType> possibleTypes = FieldUtils
-							.getPossibleTypes(fieldOutline, Aspect.EXPOSED);
-					final boolean isAlwaysSet = fieldAccessor.isAlwaysSet();
-//					final JExpression hasSetValue = exposedType.isPrimitive() ? JExpr.TRUE
-//							: value.ne(JExpr._null());
-
-					final JExpression hasSetValue = (fieldAccessor.isAlwaysSet() || fieldAccessor
-							.hasSetValue() == null) ? JExpr.TRUE
-							: fieldAccessor.hasSetValue();
-					getCodeGenerator().generate(
-							block,
-							exposedType,
-							possibleTypes,
-							isAlwaysSet,
-							new HashCodeArguments(codeModel, currentHashCode,
-									getMultiplier(), value, hasSetValue));
+			for (final FieldOutline fieldOutline : fields) {
+				final FieldAccessorEx fieldAccessor = getFieldAccessorFactory()
+						.createFieldAccessor(fieldOutline, JExpr._this());
+				if (fieldAccessor.isConstant()) {
+					continue;
 				}
+				generate(body, currentHashCode, fieldOutline, fieldAccessor);
 			}
 			body._return(currentHashCode);
 		}
 	}
+
+	private void generate(JBlock body, JVar currentHashCode,
+			FieldOutline fieldOutline, FieldAccessorEx fieldAccessor) {
+		final JCodeModel codeModel = currentHashCode.type().owner();
+		final JBlock block = body.block();
+		block.assign(currentHashCode,
+				currentHashCode.mul(JExpr.lit(getMultiplier())));
+
+		String propertyName = fieldOutline.getPropertyInfo().getName(true);
+		final JVar value = block.decl(fieldAccessor.getType(), "the"
+				+ propertyName);
+
+		fieldAccessor.toRawValue(block, value);
+		final JType exposedType = fieldAccessor.getType();
+
+		final Collection<JType> possibleTypes = FieldUtils.getPossibleTypes(
+				fieldOutline, Aspect.EXPOSED);
+		final boolean isAlwaysSet = fieldAccessor.isAlwaysSet();
+//		final JExpression hasSetValue = exposedType.isPrimitive() ? JExpr.TRUE
+//				: value.ne(JExpr._null());
+
+		final JExpression hasSetValue = (fieldAccessor.isAlwaysSet() || fieldAccessor
+				.hasSetValue() == null) ? JExpr.TRUE : fieldAccessor
+				.hasSetValue();
+		getCodeGenerator().generate(
+				block,
+				exposedType,
+				possibleTypes,
+				isAlwaysSet,
+				new HashCodeArguments(codeModel, currentHashCode,
+						getMultiplier(), value, hasSetValue));
+	}
+
+	private void resetCachedHashCode(JDefinedClass theClass,
+			JFieldVar cachedHashCode, FieldOutline fieldOutline) {
+		final String publicName = fieldOutline.getPropertyInfo().getName(true);
+		for (JMethod method : theClass.methods()) {
+			if (method.name().equals("set" + publicName)
+					|| method.name().equals("unset" + publicName)) {
+				final JBlock body = method.body();
+				body.pos(0);
+				body.assign(JExpr._this().ref(cachedHashCode), JExpr.lit(0));
+				body.pos(body.getContents().size());
+			}
+		}
+	}
+
+	private static final String CACHED_HASH_CODE_FIELD_NAME = "hashCode$cache";
+
+	private static final Set<String> IMMUTABLE_CLASS_NAMES = new HashSet<String>(
+			Arrays.asList(Boolean.class.getName(), Byte.class.getName(),
+					Character.class.getName(), Short.class.getName(),
+					Integer.class.getName(), Long.class.getName(),
+					Float.class.getName(), Double.class.getName(),
+					String.class.getName(), BigInteger.class.getName(),
+					BigDecimal.class.getName(), QName.class.getName()));
+
+	private static boolean isImmutable(JCodeModel codeModel, JType type) {
+		if (type.isPrimitive()) {
+			return true;
+		} else if (type instanceof JDefinedClass) {
+			return ((JDefinedClass) type).getClassType() == ClassType.ENUM;
+		} else if (type instanceof JClass && !type.isArray()) {
+			final JClass _class = (JClass) type;
+			return IMMUTABLE_CLASS_NAMES.contains(_class.fullName())
+					|| codeModel.ref(Enum.class).isAssignableFrom(
+							_class.erasure());
+		} else {
+			return false;
+		}
+	}
 }
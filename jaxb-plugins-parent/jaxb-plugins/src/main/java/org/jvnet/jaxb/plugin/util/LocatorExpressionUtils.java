@@ -0,0 +1,38 @@
+package org.jvnet.jaxb.plugin.util;
+
+import org.jvnet.jaxb.locator.util.LocatorUtils;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JOp;
+
+public class LocatorExpressionUtils {
+
+	private LocatorExpressionUtils() {
+	}
+
+	/**
+	 * Creates the expression of the property locator, guarded so that nothing
+	 * is evaluated if the parent locator is <code>null</code> (which is the
+	 * case for <code>Object.equals(...)</code>, <code>Object.hashCode()</code>
+	 * and so on). Generated code then does not depend on the JIT inlining
+	 * {@link LocatorUtils} to skip the locator.
+	 *
+	 * @param codeModel
+	 *            code model.
+	 * @param locator
+	 *            parent locator expression, must be free of side effects.
+	 * @param name
+	 *            name of the property.
+	 * @param value
+	 *            value of the property.
+	 * @return <code>locator == null ? null : LocatorUtils.property(locator, name, value)</code>
+	 */
+	public static JExpression property(JCodeModel codeModel,
+			JExpression locator, String name, JExpression value) {
+		return JOp.cond(locator.eq(JExpr._null()), JExpr._null(), codeModel
+				.ref(LocatorUtils.class).staticInvoke("property").arg(locator)
+				.arg(name).arg(value));
+	}
+}
@@ -0,0 +1,56 @@
+package org.jvnet.jaxb.tests.simple_hashcode_cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CustomerTest {
+
+	@Test
+	public void equalObjectsHaveEqualHashCodes() {
+		Assertions.assertEquals(createCustomer().hashCode(), createCustomer().hashCode());
+	}
+
+	@Test
+	public void settersResetCachedHashCode() {
+		final Customer customer = createCustomer();
+		final Customer other = createCustomer();
+		customer.hashCode();
+		customer.setName("Doe");
+		other.setName("Doe");
+		Assertions.assertEquals(other.hashCode(), customer.hashCode());
+		customer.setId(2L);
+		customer.setStatus(Status.BLOCKED);
+		customer.hashCode();
+		customer.setId(1L);
+		customer.setStatus(Status.ACTIVE);
+		Assertions.assertEquals(other.hashCode(), customer.hashCode());
+	}
+
+	@Test
+	public void mutableValuesAreHashedOnEveryCall() {
+		final Customer customer = createCustomer();
+		final int hashCode = customer.hashCode();
+		customer.getNickName().add("Johnny");
+		Assertions.assertNotEquals(hashCode, customer.hashCode());
+		customer.getNickName().remove("Johnny");
+		Assertions.assertEquals(hashCode, customer.hashCode());
+		customer.getAddress().setCity("Berlin");
+		Assertions.assertNotEquals(hashCode, customer.hashCode());
+		customer.getAddress().setCity("Paris");
+		Assertions.assertEquals(hashCode, customer.hashCode());
+	}
+
+	private static Customer createCustomer() {
+		final Address address = new Address();
+		address.setStreet("Main Street");
+		address.setCity("Paris");
+		address.setZip(75001);
+		final Customer customer = new Customer();
+		customer.setId(1L);
+		customer.setName("John");
+		customer.setStatus(Status.ACTIVE);
+		customer.getNickName().add("J");
+		customer.setAddress(address);
+		return customer;
+	}
+}
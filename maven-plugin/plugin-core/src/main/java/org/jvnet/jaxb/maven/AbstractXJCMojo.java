@@ -735,6 +735,56 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
 		this.writeCode = writeCode;
 	}
 
+	/**
+	 * <p>
+	 * If 'true', generated files are only written if their content has
+	 * changed, so unchanged files keep their timestamps and are not recompiled.
+	 * Files of the generated packages which are no longer produced are deleted
+	 * after writing instead of cleaning the package directories beforehand
+	 * (see <code>cleanPackageDirectories</code>).
+	 * </p>
+	 * <p>
+	 * If 'false' (default), all the generated files are rewritten.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "false", property = "maven.xjc2.writeChangedFilesOnly")
+	private boolean writeChangedFilesOnly = false;
+
+	public boolean getWriteChangedFilesOnly() {
+		return writeChangedFilesOnly;
+	}
+
+	public void setWriteChangedFilesOnly(boolean writeChangedFilesOnly) {
+		this.writeChangedFilesOnly = writeChangedFilesOnly;
+	}
+
+	/**
+	 * <p>
+	 * Number of threads used to write the generated code. If greater than 1,
+	 * the generated classes are formatted serially and the formatted files
+	 * are written in parallel, producing the same files as the serial
+	 * writing. Values less than 1 use the number of available processors.
+	 * </p>
+	 * <p>
+	 * Only the file I/O runs in parallel, which pays off for large models
+	 * written to slow disks or checked against unchanged files with
+	 * <code>writeChangedFilesOnly</code>.
+	 * </p>
+	 * <p>
+	 * Defaults to 1, the code is written serially.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "1", property = "maven.xjc2.writeCodeThreads")
+	private int writeCodeThreads = 1;
+
+	public int getWriteCodeThreads() {
+		return writeCodeThreads;
+	}
+
+	public void setWriteCodeThreads(int writeCodeThreads) {
+		this.writeCodeThreads = writeCodeThreads;
+	}
+
 	/**
 	 * <p>
 	 * If 'true', the plugin and the XJC compiler are both set to verbose mode
@@ -899,6 +949,90 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
 		this.otherDependsExcludes = otherDependsExcludes;
 	}
 
+	/**
+	 * <p>
+	 * If 'true', the up-to-date check compares content digests of the
+	 * resources this execution depends on (schemas, bindings, catalogs, the
+	 * pom.xml and [otherDepends] files), of the effective options and of the
+	 * XJC plugin classpath with the ones recorded in the
+	 * <code>buildStateFile</code> after the previous execution. Timestamps are
+	 * then irrelevant, so checkouts or restored caches do not force
+	 * regeneration.
+	 * </p>
+	 * <p>
+	 * If 'false' (default), last modification timestamps are compared.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "false", property = "maven.xjc2.contentUpToDateCheck")
+	private boolean contentUpToDateCheck = false;
+
+	public boolean getContentUpToDateCheck() {
+		return contentUpToDateCheck;
+	}
+
+	public void setContentUpToDateCheck(boolean contentUpToDateCheck) {
+		this.contentUpToDateCheck = contentUpToDateCheck;
+	}
+
+	/**
+	 * File where the build state used by the content-based up-to-date check
+	 * (see <code>contentUpToDateCheck</code>) is recorded.
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/xjc-build-state/${mojoExecution.executionId}.properties", property = "maven.xjc2.buildStateFile")
+	private File buildStateFile;
+
+	public File getBuildStateFile() {
+		return buildStateFile;
+	}
+
+	public void setBuildStateFile(File buildStateFile) {
+		this.buildStateFile = buildStateFile;
+	}
+
+	/**
+	 * <p>
+	 * If 'true', wall time, bytes allocated by the calling thread and GC time
+	 * of the execution phases (schema parsing, code generation, each XJC
+	 * plugin, code writing) are logged and written as JSON to the
+	 * <code>executionProfileFile</code>.
+	 * </p>
+	 * <p>
+	 * Defaults to 'false'.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "false", property = "maven.xjc2.profileExecution")
+	private boolean profileExecution = false;
+
+	public boolean getProfileExecution() {
+		return profileExecution;
+	}
+
+	public void setProfileExecution(boolean profileExecution) {
+		this.profileExecution = profileExecution;
+	}
+
+	/**
+	 * File where the execution profile (see <code>profileExecution</code>) is
+	 * written.
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/xjc-profile/${mojoExecution.executionId}.json", property = "maven.xjc2.executionProfileFile")
+	private File executionProfileFile;
+
+	public File getExecutionProfileFile() {
+		return executionProfileFile;
+	}
+
+	public void setExecutionProfileFile(File executionProfileFile) {
+		this.executionProfileFile = executionProfileFile;
+	}
+
+	@Parameter(defaultValue = "${mojoExecution.executionId}", readonly = true)
+	private String executionId;
+
+	public String getExecutionId() {
+		return executionId;
+	}
+
 	/**
 	 * Target location of the episode file. By default it is
 	 * target/generated-sources/xjc/META-INF/sun-jaxb.episode so that the
@@ -1096,6 +1230,29 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
 		this.specVersion = specVersion;
 	}
 
+	/**
+	 * <p>
+	 * If 'true', executions of this plugin may run concurrently in parallel
+	 * builds (mvn's -T option). Executions writing to the same
+	 * <code>generateDirectory</code> are still serialized, as well as
+	 * executions which change JVM-wide settings (like <code>locale</code>,
+	 * <code>enableExternalEntityProcessing</code> or <code>verbose</code>).
+	 * </p>
+	 * <p>
+	 * If 'false' (default), only one execution runs at a time.
+	 * </p>
+	 */
+	@Parameter(defaultValue = "false", property = "maven.xjc2.concurrentExecution")
+	private boolean concurrentExecution = false;
+
+	public boolean getConcurrentExecution() {
+		return concurrentExecution;
+	}
+
+	public void setConcurrentExecution(boolean concurrentExecution) {
+		this.concurrentExecution = concurrentExecution;
+	}
+
 	protected void logConfiguration() throws MojoExecutionException {
 
 		logApiConfiguration();
@@ -1124,14 +1281,21 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
 		getLog().info("extension:" + getExtension());
 		getLog().info("strict:" + getStrict());
 		getLog().info("writeCode:" + getWriteCode());
+		getLog().info("writeChangedFilesOnly:" + getWriteChangedFilesOnly());
+		getLog().info("writeCodeThreads:" + getWriteCodeThreads());
 		getLog().info("verbose:" + getVerbose());
 		getLog().info("debug:" + getDebug());
 		getLog().info("args:" + getArgs());
 		getLog().info("forceRegenerate:" + getForceRegenerate());
 		getLog().info("removeOldOutput:" + getRemoveOldOutput());
+		getLog().info("concurrentExecution:" + getConcurrentExecution());
 		getLog().info("produces:" + Arrays.toString(getProduces()));
 		getLog().info("otherDependIncludes:" + getOtherDependsIncludes());
 		getLog().info("otherDependExcludes:" + getOtherDependsExcludes());
+		getLog().info("contentUpToDateCheck:" + getContentUpToDateCheck());
+		getLog().info("buildStateFile:" + getBuildStateFile());
+		getLog().info("profileExecution:" + getProfileExecution());
+		getLog().info("executionProfileFile:" + getExecutionProfileFile());
 		getLog().info("episodeFile:" + getEpisodeFile());
 		getLog().info("episode:" + getEpisode());
 		getLog().info("plugins:" + Arrays.toString(getPlugins()));
@@ -1203,6 +1367,16 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
 		this.mavenSession = mavenSession;
 	}
 
+	private DependencyResourceCache dependencyResourceCache;
+
+	protected DependencyResourceCache getDependencyResourceCache() {
+		if (dependencyResourceCache == null) {
+			dependencyResourceCache = DependencyResourceCache
+					.getInstance(getMavenSession());
+		}
+		return dependencyResourceCache;
+	}
+
 	private static final String XML_ELEMENT_REF_CLASS_QNAME = "jakarta.xml.bind.annotation."
 			+ XML_ELEMENT_REF_CLASS_NAME;
 
@@ -1364,6 +1538,43 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
 					dependencyResource));
 		}
 
+		final String resource = dependencyResource.getResource();
+		if (resource == null) {
+			throw new MojoExecutionException(
+					MessageFormat
+							.format("Dependency resource [{0}] does not define the resource.",
+									dependencyResource));
+		}
+		final File artifactFile = resolveArtifactFile(dependencyResource);
+		if (resource.contains("*")) {
+			List<URI> uris = getResourceUris(artifactFile, resource);
+			getLog().debug(
+				MessageFormat
+					.format("Resolved dependency resource [{0}] to resources URI [{1}].",
+						dependencyResource, uris));
+			return uris;
+		} else {
+			final URI resourceURI = createArtifactResourceUri(artifactFile, resource);
+			getLog().debug(
+				MessageFormat
+					.format("Resolved dependency resource [{0}] to resource URI [{1}].",
+						dependencyResource, resourceURI));
+			return Arrays.asList(resourceURI);
+		}
+	}
+
+	private File resolveArtifactFile(DependencyResource dependencyResource)
+			throws MojoExecutionException {
+		final String coordinates = dependencyResource.getGroupId() + ":"
+				+ dependencyResource.getArtifactId() + ":"
+				+ dependencyResource.getType() + ":"
+				+ dependencyResource.getClassifier() + ":"
+				+ dependencyResource.getVersion();
+		final File cachedArtifactFile = getDependencyResourceCache()
+				.getArtifactFile(coordinates);
+		if (cachedArtifactFile != null) {
+			return cachedArtifactFile;
+		}
 		try {
 			@SuppressWarnings("unchecked")
 			final Set<Artifact> artifacts = MavenMetadataSource
@@ -1389,29 +1600,9 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
             artifactResolutionRequest.setLocalRepository(getMavenSession().getLocalRepository());
 			getRepositorySystem().resolve(artifactResolutionRequest);
 
-			final String resource = dependencyResource.getResource();
-			if (resource == null) {
-				throw new MojoExecutionException(
-						MessageFormat
-								.format("Dependency resource [{0}] does not define the resource.",
-										dependencyResource));
-			}
-            if (resource.contains("*")) {
-                final File artifactFile = artifact.getFile();
-                List<URI> uris = getResourceUris(artifactFile, resource);
-                getLog().debug(
-                    MessageFormat
-                        .format("Resolved dependency resource [{0}] to resources URI [{1}].",
-                            dependencyResource, uris));
-                return uris;
-            } else {
-                final URI resourceURI = createArtifactResourceUri(artifact, resource);
-                getLog().debug(
-                    MessageFormat
-                        .format("Resolved dependency resource [{0}] to resource URI [{1}].",
-                            dependencyResource, resourceURI));
-                return Arrays.asList(resourceURI);
-            }
+			getDependencyResourceCache().putArtifactFile(coordinates,
+					artifact.getFile());
+			return artifact.getFile();
 		} catch (InvalidDependencyVersionException e) {
 			throw new MojoExecutionException(MessageFormat.format(
 					"Invalid version of dependency [{0}].", dependencyResource));
@@ -1431,6 +1622,23 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
                 throw new MojoExecutionException(
                     "Unable to read the artifact directory [" + artifactFile.getAbsolutePath() + "].", ioex);
             }
+        } else if (artifactFile.isFile()) {
+            final DependencyResourceCache cache = getDependencyResourceCache();
+            final List<URI> cachedUris = cache.getResourceUris(artifactFile, pattern);
+            if (cachedUris != null) {
+                return new ArrayList<>(cachedUris);
+            }
+            final List<String> entryNames;
+            try {
+                entryNames = cache.getJarEntryNames(artifactFile);
+            } catch (IOException ioex) {
+                throw new MojoExecutionException(
+                    "Unable to read the artifact JAR file [" + artifactFile.getAbsolutePath() + "].", ioex);
+            }
+            List<URI> files = IOUtils.scanJarForFiles(
+                null, artifactFile, entryNames, new String[]{pattern}, null, false);
+            cache.putResourceUris(artifactFile, pattern, files);
+            uris.addAll(files);
         } else {
             List<URI> files = IOUtils.scanJarForFiles(
                 null, artifactFile, new String[]{pattern}, null, false);
@@ -1439,10 +1647,8 @@ public abstract class AbstractXJCMojo<O> extends AbstractMojo implements
         return uris;
     }
 
-    private URI createArtifactResourceUri(final Artifact artifact,
+    private URI createArtifactResourceUri(final File artifactFile,
 			String resource) throws MojoExecutionException {
-		final File artifactFile = artifact.getFile();
-
 		if (artifactFile.isDirectory()) {
 			final File resourceFile = new File(artifactFile, resource);
             return resourceFile.toURI();
@@ -0,0 +1,342 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jvnet.jaxb.maven.util.JarResources;
+
+/**
+ * Content-based state of an XJC execution. Holds digests of all the resources
+ * the execution depends on, of the effective options and of the XJC plugin
+ * classpath. Two states are equal if and only if the execution would produce
+ * the same output.
+ * <p>
+ * The state is persisted as a properties file. Digests of files whose size and
+ * last modification timestamp did not change since the previous state are
+ * reused rather than recomputed. For entries of archives, the size and CRC-32
+ * recorded in the archive are compared instead.
+ * </p>
+ */
+public class BuildState {
+
+	private static final String ALGORITHM = "SHA-256";
+
+	private static final String OPTIONS_KEY = "options";
+
+	private static final String DEPENDS_PREFIX = "depends.";
+
+	private static final String PLUGIN_PREFIX = "plugin.";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final String optionsDigest;
+
+	private final Map<String, Entry> entries;
+
+	private BuildState(String optionsDigest, Map<String, Entry> entries) {
+		this.optionsDigest = optionsDigest;
+		this.entries = entries;
+	}
+
+	/**
+	 * Computes the current build state. Digests are computed in parallel.
+	 *
+	 * @param dependsURIs
+	 *            resources the execution depends on.
+	 * @param options
+	 *            string representation of the effective options.
+	 * @param pluginURLs
+	 *            XJC plugin classpath.
+	 * @param previous
+	 *            previous build state, may be <code>null</code>.
+	 * @return Current build state.
+	 */
+	public static BuildState create(Collection<URI> dependsURIs, String options, Collection<URL> pluginURLs,
+			BuildState previous) {
+		return create(dependsURIs, options, pluginURLs, previous, null);
+	}
+
+	/**
+	 * Computes the current build state, reading archive entries from the given
+	 * resources.
+	 *
+	 * @param jarResources
+	 *            resources to read archive entries from, may be
+	 *            <code>null</code>.
+	 * @see #create(Collection, String, Collection, BuildState)
+	 */
+	public static BuildState create(Collection<URI> dependsURIs, String options, Collection<URL> pluginURLs,
+			BuildState previous, JarResources jarResources) {
+		final Map<String, URI> resources = new TreeMap<String, URI>();
+		if (dependsURIs != null) {
+			for (URI dependsURI : dependsURIs) {
+				resources.put(DEPENDS_PREFIX + dependsURI, dependsURI);
+			}
+		}
+		if (pluginURLs != null) {
+			for (URL pluginURL : pluginURLs) {
+				try {
+					resources.put(PLUGIN_PREFIX + pluginURL, pluginURL.toURI());
+				} catch (URISyntaxException ignored) {
+					resources.put(PLUGIN_PREFIX + pluginURL, null);
+				}
+			}
+		}
+		final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+		resources.entrySet().parallelStream().forEach(resource -> {
+			final Entry previousEntry = previous == null ? null : previous.entries.get(resource.getKey());
+			entries.put(resource.getKey(), Entry.create(resource.getValue(), previousEntry, jarResources));
+		});
+		return new BuildState(digest(options), new TreeMap<String, Entry>(entries));
+	}
+
+	/**
+	 * Loads the build state from the given file.
+	 *
+	 * @param file
+	 *            state file.
+	 * @return Loaded build state or <code>null</code> if the file does not exist.
+	 * @throws IOException
+	 *             If the file could not be read.
+	 */
+	public static BuildState load(File file) throws IOException {
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		final Properties properties = new Properties();
+		try (InputStream is = Files.newInputStream(file.toPath())) {
+			properties.load(is);
+		}
+		final Map<String, Entry> entries = new TreeMap<String, Entry>();
+		for (String key : properties.stringPropertyNames()) {
+			if (!OPTIONS_KEY.equals(key)) {
+				entries.put(key, Entry.parse(properties.getProperty(key)));
+			}
+		}
+		return new BuildState(properties.getProperty(OPTIONS_KEY), entries);
+	}
+
+	/**
+	 * Stores the build state in the given file.
+	 *
+	 * @param file
+	 *            state file.
+	 * @throws IOException
+	 *             If the file could not be written.
+	 */
+	public void store(File file) throws IOException {
+		final Properties properties = new Properties();
+		if (optionsDigest != null) {
+			properties.setProperty(OPTIONS_KEY, optionsDigest);
+		}
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			if (entry.getValue().digest != null) {
+				properties.setProperty(entry.getKey(), entry.getValue().toString());
+			}
+		}
+		final File parentFile = file.getParentFile();
+		if (parentFile != null) {
+			parentFile.mkdirs();
+		}
+		try (OutputStream os = Files.newOutputStream(file.toPath())) {
+			properties.store(os, "XJC build state");
+		}
+	}
+
+	/**
+	 * Checks if all the digests of this state are known.
+	 *
+	 * @return <code>true</code> if all the digests could be computed.
+	 */
+	public boolean isComplete() {
+		if (optionsDigest == null) {
+			return false;
+		}
+		for (Entry entry : entries.values()) {
+			if (entry.digest == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns keys of the resources which differ in this and the given state.
+	 *
+	 * @param that
+	 *            other state.
+	 * @return Changed resources, empty if states are equal.
+	 */
+	public List<String> getChanges(BuildState that) {
+		final Stream<String> options = Objects.equals(this.optionsDigest, that.optionsDigest)
+				? Stream.<String>empty()
+				: Stream.of(OPTIONS_KEY);
+		final Map<String, String> theseDigests = getDigests();
+		final Map<String, String> thoseDigests = that.getDigests();
+		final Stream<String> resources = Stream
+				.concat(theseDigests.keySet().stream(), thoseDigests.keySet().stream()).distinct()
+				.filter(key -> theseDigests.get(key) == null
+						|| !theseDigests.get(key).equals(thoseDigests.get(key)));
+		return Stream.concat(options, resources).sorted().collect(Collectors.toList());
+	}
+
+	private Map<String, String> getDigests() {
+		final Map<String, String> digests = new TreeMap<String, String>();
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			digests.put(entry.getKey(), entry.getValue().digest);
+		}
+		return Collections.unmodifiableMap(digests);
+	}
+
+	private static String digest(String value) {
+		if (value == null) {
+			return null;
+		}
+		final MessageDigest messageDigest = createMessageDigest();
+		return toHex(messageDigest.digest(value.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException nsaex) {
+			throw new IllegalStateException("Algorithm [" + ALGORITHM + "] is not available.", nsaex);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		final StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	private static final class Entry {
+
+		private final long size;
+		// Last modification timestamp of a file, CRC-32 of an archive entry
+		private final long stamp;
+		private final String digest;
+
+		private Entry(long size, long stamp, String digest) {
+			this.size = size;
+			this.stamp = stamp;
+			this.digest = digest;
+		}
+
+		static Entry create(URI uri, Entry previous, JarResources jarResources) {
+			if (uri == null) {
+				return new Entry(-1, -1, null);
+			}
+			try {
+				if (jarResources != null && JarResources.isJarURI(uri)) {
+					final Path path = jarResources.getPath(uri);
+					final long size = jarResources.getSize(uri);
+					final long crc = jarResources.getCrc(uri);
+					if (previous != null && previous.digest != null && previous.size == size
+							&& previous.stamp == crc) {
+						return previous;
+					}
+					final MessageDigest messageDigest = createMessageDigest();
+					update(messageDigest, path);
+					return new Entry(size, crc, toHex(messageDigest.digest()));
+				} else if ("file".equalsIgnoreCase(uri.getScheme())) {
+					final Path path = Paths.get(uri);
+					if (Files.isDirectory(path)) {
+						return new Entry(-1, -1, digestDirectory(path));
+					}
+					final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					final long size = attributes.size();
+					final long lastModified = attributes.lastModifiedTime().toMillis();
+					if (previous != null && previous.digest != null && previous.size == size
+							&& previous.stamp == lastModified) {
+						return previous;
+					}
+					final MessageDigest messageDigest = createMessageDigest();
+					update(messageDigest, path);
+					return new Entry(size, lastModified, toHex(messageDigest.digest()));
+				} else {
+					final MessageDigest messageDigest = createMessageDigest();
+					try (InputStream is = uri.toURL().openStream()) {
+						final byte[] buffer = new byte[BUFFER_SIZE];
+						int read;
+						while ((read = is.read(buffer)) != -1) {
+							messageDigest.update(buffer, 0, read);
+						}
+					}
+					return new Entry(-1, -1, toHex(messageDigest.digest()));
+				}
+			} catch (IOException | RuntimeException ex) {
+				// Unknown digest is never equal to anything
+				return new Entry(-1, -1, null);
+			}
+		}
+
+		private static String digestDirectory(Path directory) throws IOException {
+			final MessageDigest messageDigest = createMessageDigest();
+			final List<Path> files;
+			try (Stream<Path> paths = Files.walk(directory)) {
+				files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+			}
+			for (Path file : files) {
+				messageDigest.update(directory.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+				update(messageDigest, file);
+			}
+			return toHex(messageDigest.digest());
+		}
+
+		private static void update(MessageDigest messageDigest, Path file) throws IOException {
+			try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+				final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				while (channel.read(buffer) != -1) {
+					buffer.flip();
+					messageDigest.update(buffer);
+					buffer.clear();
+				}
+			}
+		}
+
+		static Entry parse(String value) {
+			final String[] parts = value.split(",", 3);
+			if (parts.length != 3) {
+				return new Entry(-1, -1, null);
+			}
+			try {
+				return new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+			} catch (NumberFormatException nfex) {
+				return new Entry(-1, -1, null);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return size + "," + stamp + "," + digest;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.execution.MavenSession;
+import org.jvnet.jaxb.maven.util.JarScanner;
+
+/**
+ * Caches the resolution of dependency resources within a Maven session.
+ * <p>
+ * Artifacts are resolved once per coordinates, wildcard resources are matched
+ * once per artifact file and pattern and entries of artifact JARs are read
+ * only once. The cache is shared by all executions of the session, including
+ * the executions in other modules of the reactor. Artifact files are keyed by
+ * their size and last modification timestamp, so that JARs rebuilt during the
+ * session are read again.
+ * </p>
+ */
+public final class DependencyResourceCache {
+
+	/*
+	 * Keyed by the execution request which, unlike the session, is shared by
+	 * the per-project copies of the session in a multithreaded build.
+	 */
+	private static final Map<Object, DependencyResourceCache> CACHES = new WeakHashMap<Object, DependencyResourceCache>();
+
+	private final ConcurrentMap<String, File> artifactFiles = new ConcurrentHashMap<String, File>();
+
+	private final ConcurrentMap<String, List<String>> jarEntryNames = new ConcurrentHashMap<String, List<String>>();
+
+	private final ConcurrentMap<String, List<URI>> resourceUris = new ConcurrentHashMap<String, List<URI>>();
+
+	DependencyResourceCache() {
+	}
+
+	/**
+	 * Returns the cache of the given session.
+	 *
+	 * @param mavenSession
+	 *            current session, may be <code>null</code>.
+	 * @return Cache of the session or a new cache if there's no session.
+	 */
+	public static DependencyResourceCache getInstance(MavenSession mavenSession) {
+		final Object key = mavenSession == null ? null : mavenSession
+				.getRequest();
+		if (key == null) {
+			return new DependencyResourceCache();
+		}
+		synchronized (CACHES) {
+			return CACHES.computeIfAbsent(key, k -> new DependencyResourceCache());
+		}
+	}
+
+	/**
+	 * Returns the file of the artifact with the given coordinates or
+	 * <code>null</code> if it was not resolved yet.
+	 */
+	public File getArtifactFile(String coordinates) {
+		return artifactFiles.get(coordinates);
+	}
+
+	public void putArtifactFile(String coordinates, File artifactFile) {
+		if (artifactFile != null) {
+			artifactFiles.put(coordinates, artifactFile);
+		}
+	}
+
+	/**
+	 * Returns the resource URIs matched by the given pattern in the given
+	 * artifact file or <code>null</code> if they were not matched yet.
+	 */
+	public List<URI> getResourceUris(File artifactFile, String pattern) {
+		return resourceUris.get(getKey(artifactFile) + '!' + pattern);
+	}
+
+	public void putResourceUris(File artifactFile, String pattern,
+			List<URI> uris) {
+		resourceUris.put(getKey(artifactFile) + '!' + pattern,
+				Collections.unmodifiableList(new ArrayList<URI>(uris)));
+	}
+
+	/**
+	 * Returns the names of the entries of the given JAR, the JAR is read on
+	 * first access.
+	 */
+	public List<String> getJarEntryNames(File jar) throws IOException {
+		final String key = getKey(jar);
+		final List<String> cachedNames = jarEntryNames.get(key);
+		if (cachedNames != null) {
+			return cachedNames;
+		}
+		final List<String> unmodifiableNames = Collections
+				.unmodifiableList(JarScanner.readEntryNames(jar));
+		jarEntryNames.putIfAbsent(key, unmodifiableNames);
+		return unmodifiableNames;
+	}
+
+	private static String getKey(File file) {
+		return file.getAbsolutePath() + '|' + file.lastModified() + '|'
+				+ file.length();
+	}
+}
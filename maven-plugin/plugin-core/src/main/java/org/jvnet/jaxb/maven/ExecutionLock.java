@@ -0,0 +1,81 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coordinates XJC executions running in the same JVM (for instance in a
+ * <code>mvn -T</code> build).
+ * <p>
+ * An exclusive execution runs alone, just like all executions did before the
+ * concurrent mode was introduced. A shared execution may run concurrently with
+ * other shared executions, unless they write to the same output directory.
+ * Executions which change JVM-wide state (like the default locale) must be
+ * exclusive.
+ * </p>
+ */
+public final class ExecutionLock implements AutoCloseable {
+
+	private static final ReentrantReadWriteLock GLOBAL_LOCK = new ReentrantReadWriteLock();
+
+	private static final ConcurrentMap<String, Lock> OUTPUT_LOCKS = new ConcurrentHashMap<String, Lock>();
+
+	private final Lock outputLock;
+
+	private final Lock globalLock;
+
+	private ExecutionLock(Lock outputLock, Lock globalLock) {
+		this.outputLock = outputLock;
+		this.globalLock = globalLock;
+	}
+
+	/**
+	 * Acquires the lock for an execution writing to the given output directory.
+	 *
+	 * @param outputDirectory
+	 *            output directory of the execution, may be <code>null</code>.
+	 * @param exclusive
+	 *            if <code>true</code>, no other execution may run at the same
+	 *            time.
+	 * @return Acquired lock, must be closed after the execution.
+	 */
+	public static ExecutionLock acquire(File outputDirectory, boolean exclusive) {
+		// Output lock is always taken first to keep the locking order stable
+		final Lock outputLock = outputDirectory == null ? null
+				: OUTPUT_LOCKS.computeIfAbsent(getKey(outputDirectory), key -> new ReentrantLock());
+		if (outputLock != null) {
+			outputLock.lock();
+		}
+		final Lock globalLock = exclusive ? GLOBAL_LOCK.writeLock() : GLOBAL_LOCK.readLock();
+		try {
+			globalLock.lock();
+		} catch (RuntimeException rex) {
+			if (outputLock != null) {
+				outputLock.unlock();
+			}
+			throw rex;
+		}
+		return new ExecutionLock(outputLock, globalLock);
+	}
+
+	private static String getKey(File outputDirectory) {
+		try {
+			return outputDirectory.getCanonicalPath();
+		} catch (IOException ioex) {
+			return outputDirectory.getAbsolutePath();
+		}
+	}
+
+	@Override
+	public void close() {
+		globalLock.unlock();
+		if (outputLock != null) {
+			outputLock.unlock();
+		}
+	}
+}
@@ -0,0 +1,336 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Records wall time, allocated bytes and GC time of the phases of an XJC
+ * execution.
+ * <p>
+ * Allocated bytes are measured for the calling thread only, allocations of
+ * other threads (like the <code>writeCodeThreads</code> workers) are not
+ * included. They are only reported if the JVM supports thread allocation
+ * accounting. GC time is JVM-wide, so it includes collections caused by other
+ * threads. A plugin may be recorded more than once (model post-processing and
+ * run), the entries of a plugin are summed up in the log.
+ * </p>
+ */
+public class ExecutionProfile {
+
+	/**
+	 * Category of the phases of the execution.
+	 */
+	public static final String PHASE = "phase";
+
+	/**
+	 * Category of the XJC plugin runs.
+	 */
+	public static final String PLUGIN = "plugin";
+
+	private static final Sample NO_SAMPLE = new Sample(null, null, null) {
+		@Override
+		public void close() {
+		}
+	};
+
+	private final boolean enabled;
+
+	private final long startNanos = System.nanoTime();
+
+	private final List<Entry> entries = Collections.synchronizedList(new ArrayList<Entry>());
+
+	public ExecutionProfile(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts measuring a phase or a plugin run.
+	 *
+	 * @param category
+	 *            category of the measured entry, {@link #PHASE} or
+	 *            {@link #PLUGIN}.
+	 * @param name
+	 *            name of the measured entry.
+	 * @return Started sample, must be closed at the end of the measured code.
+	 */
+	public Sample start(String category, String name) {
+		return enabled ? new Sample(this, category, name) : NO_SAMPLE;
+	}
+
+	public List<Entry> getEntries() {
+		synchronized (entries) {
+			return new ArrayList<Entry>(entries);
+		}
+	}
+
+	public List<Entry> getEntries(String category) {
+		final List<Entry> result = new ArrayList<Entry>();
+		for (Entry entry : getEntries()) {
+			if (entry.getCategory().equals(category)) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	public long getTotalMillis() {
+		return (System.nanoTime() - startNanos) / 1000000L;
+	}
+
+	/**
+	 * Logs the phases and the plugin runs, slowest plugins first.
+	 */
+	public void log(Log log, String executionId) {
+		final StringBuilder phases = new StringBuilder();
+		for (Entry phase : getEntries(PHASE)) {
+			phases.append(phases.length() == 0 ? "" : ", ").append(phase.getName()).append(' ')
+					.append(phase.getMillis()).append(" ms");
+		}
+		log.info(MessageFormat.format("XJC execution [{0}] took [{1}] ms: {2}.", executionId,
+				Long.toString(getTotalMillis()), phases));
+		final Map<String, Entry> pluginsByName = new LinkedHashMap<String, Entry>();
+		for (Entry plugin : getEntries(PLUGIN)) {
+			pluginsByName.merge(plugin.getName(), plugin, Entry::add);
+		}
+		final List<Entry> plugins = new ArrayList<Entry>(pluginsByName.values());
+		plugins.sort(Comparator.comparingLong(Entry::getNanos).reversed());
+		long pluginNanos = 0;
+		for (Entry plugin : plugins) {
+			pluginNanos += plugin.getNanos();
+		}
+		if (!plugins.isEmpty()) {
+			log.info(MessageFormat.format("XJC plugins took [{0}] ms:", Long.toString(pluginNanos / 1000000L)));
+			for (Entry plugin : plugins) {
+				log.info(MessageFormat.format("  -{0}: {1} ms{2}", plugin.getName(),
+						Long.toString(plugin.getMillis()), plugin.getAllocatedBytes() < 0 ? ""
+								: ", " + (plugin.getAllocatedBytes() / (1024 * 1024)) + " MiB allocated by the calling thread"));
+			}
+		}
+	}
+
+	/**
+	 * Writes the recorded entries as JSON.
+	 */
+	public void write(File file, String executionId) throws IOException {
+		final File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null) {
+			Files.createDirectories(directory.toPath());
+		}
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(toJson(executionId));
+		}
+	}
+
+	public String toJson(String executionId) {
+		final StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		json.append("  \"executionId\": ").append(quote(executionId)).append(",\n");
+		json.append("  \"totalMillis\": ").append(getTotalMillis()).append(",\n");
+		appendEntries(json, "phases", getEntries(PHASE));
+		json.append(",\n");
+		appendEntries(json, "plugins", getEntries(PLUGIN));
+		json.append("\n}\n");
+		return json.toString();
+	}
+
+	private static void appendEntries(StringBuilder json, String name, List<Entry> entries) {
+		json.append("  ").append(quote(name)).append(": [");
+		for (int index = 0; index < entries.size(); index++) {
+			final Entry entry = entries.get(index);
+			json.append(index == 0 ? "\n" : ",\n");
+			json.append("    { \"name\": ").append(quote(entry.getName()));
+			json.append(", \"millis\": ").append(entry.getMillis());
+			json.append(", \"nanos\": ").append(entry.getNanos());
+			if (entry.getAllocatedBytes() >= 0) {
+				json.append(", \"callingThreadAllocatedBytes\": ").append(entry.getAllocatedBytes());
+			}
+			if (entry.getGcMillis() >= 0) {
+				json.append(", \"gcMillis\": ").append(entry.getGcMillis());
+			}
+			json.append(" }");
+		}
+		json.append(entries.isEmpty() ? "]" : "\n  ]");
+	}
+
+	private static String quote(String value) {
+		if (value == null) {
+			return "null";
+		}
+		final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (int index = 0; index < value.length(); index++) {
+			final char c = value.charAt(index);
+			if (c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			} else if (c < 0x20) {
+				quoted.append(String.format("\\u%04x", (int) c));
+			} else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	private static long getAllocatedBytes() {
+		try {
+			return Allocation.getCurrentThreadAllocatedBytes();
+		} catch (LinkageError e) {
+			return -1;
+		}
+	}
+
+	private static long getGcMillis() {
+		long total = -1;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			final long time = bean.getCollectionTime();
+			if (time >= 0) {
+				total = Math.max(total, 0) + time;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Measurement of a phase or a plugin run in progress.
+	 */
+	public static class Sample implements AutoCloseable {
+
+		private final ExecutionProfile profile;
+		private final String category;
+		private final String name;
+		private final long startNanos;
+		private final long startAllocatedBytes;
+		private final long startGcMillis;
+		private boolean closed;
+
+		private Sample(ExecutionProfile profile, String category, String name) {
+			this.profile = profile;
+			this.category = category;
+			this.name = name;
+			this.startAllocatedBytes = profile == null ? -1 : getAllocatedBytes();
+			this.startGcMillis = profile == null ? -1 : getGcMillis();
+			this.startNanos = System.nanoTime();
+		}
+
+		/**
+		 * Records the sample, subsequent calls have no effect.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			final long nanos = System.nanoTime() - startNanos;
+			final long allocatedBytes = getAllocatedBytes();
+			final long gcMillis = getGcMillis();
+			profile.entries.add(new Entry(category, name, nanos,
+					startAllocatedBytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes - startAllocatedBytes,
+					startGcMillis < 0 || gcMillis < 0 ? -1 : gcMillis - startGcMillis));
+		}
+	}
+
+	/**
+	 * Recorded phase or plugin run.
+	 */
+	public static class Entry {
+
+		private final String category;
+		private final String name;
+		private final long nanos;
+		private final long allocatedBytes;
+		private final long gcMillis;
+
+		Entry(String category, String name, long nanos, long allocatedBytes, long gcMillis) {
+			this.category = category;
+			this.name = name;
+			this.nanos = nanos;
+			this.allocatedBytes = allocatedBytes;
+			this.gcMillis = gcMillis;
+		}
+
+		Entry add(Entry that) {
+			return new Entry(category, name, nanos + that.nanos,
+					allocatedBytes < 0 || that.allocatedBytes < 0 ? -1 : allocatedBytes + that.allocatedBytes,
+					gcMillis < 0 || that.gcMillis < 0 ? -1 : gcMillis + that.gcMillis);
+		}
+
+		public String getCategory() {
+			return category;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		public long getMillis() {
+			return nanos / 1000000L;
+		}
+
+		/**
+		 * @return bytes allocated by the calling thread or <code>-1</code> if
+		 *         not supported by the JVM.
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		/**
+		 * @return JVM-wide GC time or <code>-1</code> if not supported by the
+		 *         JVM.
+		 */
+		public long getGcMillis() {
+			return gcMillis;
+		}
+	}
+
+	/**
+	 * Isolates the <code>com.sun.management</code> API which is not available
+	 * on every JVM.
+	 */
+	private static class Allocation {
+
+		private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = createThreadMXBean();
+
+		private static com.sun.management.ThreadMXBean createThreadMXBean() {
+			try {
+				final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+				if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+					final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadMXBean;
+					if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+						return bean;
+					}
+				}
+			} catch (LinkageError | RuntimeException e) {
+				// Not supported
+			}
+			return null;
+		}
+
+		static long getCurrentThreadAllocatedBytes() {
+			return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+	}
+}
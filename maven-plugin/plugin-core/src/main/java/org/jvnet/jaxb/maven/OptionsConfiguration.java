@@ -240,6 +240,67 @@ public class OptionsConfiguration {
 
 	}
 
+	/**
+	 * Returns the string representation of the options which affect the
+	 * generated code, to be digested by the content-based up-to-date check.
+	 * Logging options like <code>verbose</code> and <code>debugMode</code>
+	 * are not included.
+	 */
+	public String toDigestString() {
+		return MessageFormat.format(
+				"specVersion={0}\n" +
+				//
+						"generateDirectory={1}\n" +
+						//
+						"generatePackage={2}\n" +
+						//
+						"schemaLanguage={3}\n" +
+						//
+						"encoding={4}\n" +
+						//
+						"grammars.systemIds={5}\n" +
+						//
+						"bindFiles.systemIds={6}\n" +
+						//
+						"plugins={7}\n" +
+						//
+						"readOnly={8}\n" +
+						//
+						"packageLevelAnnotations={9}\n" +
+						//
+						"noFileHeader={10}\n" +
+						//
+						"enableIntrospection={11}\n" +
+						//
+						"disableXmlSecurity={12}\n" +
+						//
+						"accessExternalSchema={13}\n" +
+						//
+						"accessExternalDTD={14}\n" +
+						//
+						"enableExternalEntityProcessing={15}\n" +
+						//
+						"contentForWildcard={16}\n" +
+						//
+						"extension={17}\n" +
+						//
+						"strict={18}\n" +
+						//
+						"arguments={19}",
+				// 0
+				specVersion, generateDirectory, generatePackage,
+				schemaLanguage, encoding,
+				// 5
+				getSystemIds(grammars), getSystemIds(bindFiles), plugins,
+				readOnly, packageLevelAnnotations,
+				// 10
+				noFileHeader, enableIntrospection, disableXmlSecurity,
+				accessExternalSchema, accessExternalDTD,
+				// 15
+				enableExternalEntityProcessing, contentForWildcard, extension,
+				strict, arguments);
+	}
+
 	private List<String> getSystemIds(List<InputSource> inputSources) {
 		if (inputSources == null) {
 			return null;
@@ -70,7 +70,9 @@ import org.jvnet.jaxb.maven.resolver.tools.RelativeCatalog;
 import org.jvnet.jaxb.maven.util.ArtifactUtils;
 import org.jvnet.jaxb.maven.util.CollectionUtils;
 import org.jvnet.jaxb.maven.util.IOUtils;
+import org.jvnet.jaxb.maven.util.JarResources;
 import org.jvnet.jaxb.maven.util.LocaleUtils;
+import org.jvnet.jaxb.maven.util.StringUtils;
 import org.jvnet.jaxb.maven.util.CollectionUtils.Function;
 import org.sonatype.plexus.build.incremental.BuildContext;
 import org.sonatype.plexus.build.incremental.ThreadBuildContext;
@@ -308,14 +310,14 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 		return producesURIs;
 	}
 
-	private static final Object lock = new Object();
-
 	/**
 	 * Execute the maven2 mojo to invoke the xjc2 compiler based on any
 	 * configuration settings.
 	 */
 	public void execute() throws MojoExecutionException {
-		synchronized (lock) {
+		try (ExecutionLock lock = ExecutionLock.acquire(getGenerateDirectory(), isExclusiveExecution());
+				JarResources jarResources = new JarResources()) {
+            this.jarResources = jarResources;
             injectDependencyDefaults();
             resolveArtifacts();
 
@@ -335,7 +337,45 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
                 // Set back the old classloader
                 Thread.currentThread().setContextClassLoader(currentClassLoader);
             }
+		} catch (IOException ioex) {
+			throw new MojoExecutionException("Could not close the archives opened by the execution.", ioex);
+		} finally {
+			this.jarResources = null;
+		}
+	}
+
+	private JarResources jarResources;
+
+	/**
+	 * Returns the archives opened by the current execution, entries of
+	 * dependency archives are read from them.
+	 *
+	 * @return Archives of the current execution or <code>null</code> if the
+	 *         mojo is not being executed.
+	 */
+	protected JarResources getJarResources() {
+		return jarResources;
+	}
+
+	/**
+	 * Checks if this execution must not run concurrently with other executions.
+	 * The context class loader is set per thread, however the default locale
+	 * and the system properties set for XML access, external entity
+	 * processing and verbose XJC plugin discovery are JVM-wide, so executions
+	 * which change them from the defaults stay exclusive.
+	 *
+	 * @return <code>true</code> if this execution must run alone.
+	 */
+	protected boolean isExclusiveExecution() {
+		if (!getConcurrentExecution()) {
+			return true;
 		}
+		return !StringUtils.isEmpty(getLocale())
+				|| !"all".equals(getAccessExternalSchema())
+				|| !"all".equals(getAccessExternalDTD())
+				|| isEnableExternalEntityProcessing()
+				// See setupLogging()
+				|| getVerbose() || getLog().isDebugEnabled();
 	}
 
 	/**
@@ -434,6 +474,8 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 	}
 
 	protected void doExecute() throws MojoExecutionException {
+		executionProfile = new ExecutionProfile(getProfileExecution());
+		final ExecutionProfile.Sample setupSample = executionProfile.start(ExecutionProfile.PHASE, "setup");
 		setupLogging();
 		if (getVerbose())
 			getLog().info("Started execution.");
@@ -462,11 +504,17 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 		checkCatalogsInStrictMode();
 
 		if (getGrammars().isEmpty()) {
+			setupSample.close();
 			getLog().warn("No schemas to compile. Skipping XJC execution. ");
 		} else {
             final boolean configurationPhase = this.getBuildContext() instanceof ThreadBuildContext
                 && ThreadBuildContext.getContext().getClass().getName().endsWith("EclipseEmptyBuildContext");
 			final O options = getOptionsFactory().createOptions(optionsConfiguration);
+			setupSample.close();
+			final ExecutionProfile.Sample upToDateSample = executionProfile.start(ExecutionProfile.PHASE, "upToDateCheck");
+			final BuildState buildState = getContentUpToDateCheck() && !configurationPhase
+					? createBuildState(optionsConfiguration)
+					: null;
 
             if (!configurationPhase) {
                 if (getForceRegenerate()) {
@@ -478,20 +526,34 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
                         + "Consider removing this setting from your plugin configuration.\n");
                     getLog().info("The [forceRegenerate] switch is turned on, XJC will be executed.");
                 } else {
-                    final boolean isUpToDate = isUpToDate();
+                    final boolean isUpToDate = buildState == null ? isUpToDate() : isUpToDate(buildState);
+                    upToDateSample.close();
                     if (!isUpToDate) {
                         getLog().info("Sources are not up-to-date, XJC (version " + getVersion().getRaw() + ") will be executed.");
                     } else {
                         getLog().info("Sources are up-to-date, XJC (version " + getVersion().getRaw() + ") will be skipped.");
+                        if (buildState != null) {
+                            // Refresh recorded timestamps so that unchanged files are not rehashed next time
+                            storeBuildState(buildState);
+                        }
+                        reportExecutionProfile();
                         return;
                     }
                 }
             }
 
+			upToDateSample.close();
 			setupDirectories();
             if (!configurationPhase) {
+                if (buildState != null) {
+                    // State of a failed execution must not be mistaken for the previous one
+                    deleteBuildState();
+                }
                 doExecute(options);
                 addIfExistsToEpisodeSchemaBindings();
+                if (buildState != null) {
+                    storeBuildState(buildState);
+                }
             } else {
                 getLog().info("Sources will not be generated since running in EclipseEmptyBuildContext, XJC will be skipped.");
             }
@@ -499,6 +561,7 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 			getLog().debug(MessageFormat.format("Refreshing the generated directory [{0}].",
 					getGenerateDirectory().getAbsolutePath()));
 			buildContext.refresh(getGenerateDirectory());
+			reportExecutionProfile();
 		}
 
 		if (getVerbose()) {
@@ -895,7 +958,9 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 			catalogManager.setVerbosity(Integer.MAX_VALUE);
 		}
 		if (getCatalogResolver() == null) {
-			return new MavenCatalogResolver(catalogManager, this, getLog());
+			final MavenCatalogResolver mavenCatalogResolver = new MavenCatalogResolver(catalogManager, this, getLog());
+			mavenCatalogResolver.setJarResources(getJarResources());
+			return mavenCatalogResolver;
 		} else {
 			final String catalogResolverClassName = getCatalogResolver().trim();
 			return createCatalogResolverByClassName(catalogResolverClassName);
@@ -1006,6 +1071,95 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 		return upToDate;
 	}
 
+	private BuildState previousBuildState;
+
+	protected BuildState createBuildState(OptionsConfiguration optionsConfiguration) {
+		final File buildStateFile = getBuildStateFile();
+		try {
+			this.previousBuildState = BuildState.load(buildStateFile);
+		} catch (IOException ioex) {
+			getLog().warn(MessageFormat.format("Could not read the build state file [{0}].", buildStateFile), ioex);
+			this.previousBuildState = null;
+		}
+		return BuildState.create(getDependsURIs(), optionsConfiguration.toDigestString(), getXjcPluginURLs(),
+				this.previousBuildState, getJarResources());
+	}
+
+	/**
+	 * @return true to indicate results are up-to-date, that is, when the
+	 *         content of the input resources, the options and the plugin
+	 *         classpath are the same as during the previous execution and the
+	 *         target resources exist.
+	 */
+	protected boolean isUpToDate(BuildState buildState) {
+		if (previousBuildState == null) {
+			getLog().info(MessageFormat.format("Build state file [{0}] does not exist or could not be read.",
+					getBuildStateFile()));
+			return false;
+		}
+		if (!buildState.isComplete()) {
+			getLog().info("Digests of some of the source resources could not be computed.");
+			return false;
+		}
+		final List<String> changes = buildState.getChanges(previousBuildState);
+		if (!changes.isEmpty()) {
+			getLog().info(MessageFormat.format("Following resources were changed since the previous execution: {0}.",
+					changes));
+			return false;
+		}
+		if (getProducesURIs().isEmpty()) {
+			getLog().info("Source resources were not changed, but there are no target resources.");
+			return false;
+		}
+		getLog().info("Source resources were not changed since the previous execution.");
+		return true;
+	}
+
+	private void storeBuildState(BuildState buildState) {
+		final File buildStateFile = getBuildStateFile();
+		if (buildStateFile == null) {
+			return;
+		}
+		try {
+			buildState.store(buildStateFile);
+		} catch (IOException ioex) {
+			getLog().warn(MessageFormat.format("Could not write the build state file [{0}].", buildStateFile), ioex);
+		}
+	}
+
+	private ExecutionProfile executionProfile = new ExecutionProfile(false);
+
+	/**
+	 * Returns the profile of the current execution, phases of the XJC
+	 * execution should be recorded there.
+	 */
+	protected ExecutionProfile getExecutionProfile() {
+		return executionProfile;
+	}
+
+	private void reportExecutionProfile() {
+		if (!executionProfile.isEnabled()) {
+			return;
+		}
+		executionProfile.log(getLog(), getExecutionId());
+		final File executionProfileFile = getExecutionProfileFile();
+		if (executionProfileFile != null) {
+			try {
+				executionProfile.write(executionProfileFile, getExecutionId());
+			} catch (IOException ioex) {
+				getLog().warn(MessageFormat.format("Could not write the execution profile file [{0}].",
+						executionProfileFile), ioex);
+			}
+		}
+	}
+
+	private void deleteBuildState() {
+		final File buildStateFile = getBuildStateFile();
+		if (buildStateFile != null && buildStateFile.isFile() && !buildStateFile.delete()) {
+			getLog().warn(MessageFormat.format("Could not delete the build state file [{0}].", buildStateFile));
+		}
+	}
+
 	protected String getCustomHttpproxy() {
 		final String proxyHost = getProxyHost();
 		final int proxyPort = getProxyPort();
@@ -1202,6 +1356,8 @@ public abstract class RawXJCMojo<O> extends AbstractXJCMojo<O> {
 			final InputSource resolvedInputSource = getEntityResolver().resolveEntity(inputSource.getPublicId(), inputSource.getSystemId());
 			if (resolvedInputSource != null) {
 				inputSource = resolvedInputSource;
+			} else if (getJarResources() != null && JarResources.isJarURI(uri)) {
+				inputSource = getJarResources().getInputSource(uri);
 			}
 			inputSources.add(inputSource);
 		}
@@ -1,5 +1,6 @@
 package org.jvnet.jaxb.maven.resolver.tools;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -9,6 +10,8 @@ import org.apache.maven.plugin.logging.Log;
 import org.jvnet.jaxb.maven.DependencyResource;
 import org.jvnet.jaxb.maven.DependencyResourceResolver;
 import org.jvnet.jaxb.maven.plugin.logging.NullLog;
+import org.jvnet.jaxb.maven.util.JarResources;
+import org.xml.sax.InputSource;
 
 import org.apache.xml.resolver.CatalogManager;
 
@@ -18,6 +21,7 @@ public class MavenCatalogResolver extends
 	public static final String URI_SCHEME_MAVEN = "maven";
 	private final DependencyResourceResolver dependencyResourceResolver;
 	private final Log log;
+	private JarResources jarResources;
 
 	public MavenCatalogResolver(CatalogManager catalogManager,
 			DependencyResourceResolver dependencyResourceResolver) {
@@ -39,6 +43,50 @@ public class MavenCatalogResolver extends
 		return log;
 	}
 
+	public JarResources getJarResources() {
+		return jarResources;
+	}
+
+	/**
+	 * Sets the resources to read resolved archive entries from, instead of
+	 * opening them as URLs.
+	 */
+	public void setJarResources(JarResources jarResources) {
+		this.jarResources = jarResources;
+	}
+
+	@Override
+	public InputSource resolveEntity(String publicId, String systemId) {
+		final String resolved = getResolvedEntity(publicId, systemId);
+		if (resolved == null) {
+			return null;
+		}
+		final InputSource inputSource = new InputSource(resolved);
+		inputSource.setPublicId(publicId);
+		try {
+			final URI uri = getJarResources() == null ? null : toURI(resolved);
+			if (JarResources.isJarURI(uri)) {
+				inputSource.setByteStream(getJarResources().newInputStream(uri));
+			} else {
+				inputSource.setByteStream(new URL(resolved).openStream());
+			}
+			return inputSource;
+		} catch (IOException | RuntimeException ex) {
+			getLog().debug(
+					MessageFormat.format("MavenCatalogResolver : Failed to create the input source for [{0}].",
+							resolved), ex);
+			return null;
+		}
+	}
+
+	private static URI toURI(String uri) {
+		try {
+			return new URI(uri);
+		} catch (URISyntaxException urisex) {
+			return null;
+		}
+	}
+
 	@Override
 	public String getResolvedEntity(String publicId, String systemId) {
 		getLog().debug(
@@ -119,8 +119,19 @@ public class IOUtils {
     public static List<URI> scanJarForFiles(
         BuildContext buildContext, final File artifactFile,
         final String[] includes, final String[] excludes, boolean defaultExcludes) throws MojoExecutionException {
+        return scanJarForFiles(buildContext, artifactFile, null, includes, excludes, defaultExcludes);
+    }
+
+    /**
+     * Scans the given jar for files, using the already read names of the jar
+     * entries if they are given.
+     */
+    public static List<URI> scanJarForFiles(
+        BuildContext buildContext, final File artifactFile, final List<String> entryNames,
+        final String[] includes, final String[] excludes, boolean defaultExcludes) throws MojoExecutionException {
         final JarScanner jarScanner = new JarScanner();
         jarScanner.setFile(artifactFile);
+        jarScanner.setEntryNames(entryNames);
         jarScanner.setIncludes(includes);
         jarScanner.setExcludes(excludes);
 
@@ -0,0 +1,197 @@
+package org.jvnet.jaxb.maven.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.xml.sax.InputSource;
+
+/**
+ * Serves resources addressed by <code>jar:file:...!/path</code> URIs from zip
+ * file systems.
+ * <p>
+ * Each archive is opened once as a {@link FileSystem} and stays open until the
+ * resources are closed, entries are read through buffered channels instead of
+ * {@link java.net.JarURLConnection}s and their JVM-wide JAR file cache. Entry
+ * attributes like the CRC-32 are read from the central directory without
+ * inflating the entry.
+ * </p>
+ */
+public class JarResources implements AutoCloseable {
+
+	public static final String SCHEME = "jar";
+
+	public static final String SEPARATOR = "!/";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Map<Path, FileSystem> fileSystems = new HashMap<Path, FileSystem>();
+
+	private boolean closed;
+
+	/**
+	 * Checks if the given URI addresses an entry of an archive in the file
+	 * system (nested archives are not supported).
+	 */
+	public static boolean isJarURI(URI uri) {
+		if (uri == null || !SCHEME.equalsIgnoreCase(uri.getScheme())) {
+			return false;
+		}
+		final String specificPart = uri.getRawSchemeSpecificPart();
+		return specificPart.regionMatches(true, 0, "file:", 0, 5)
+				&& specificPart.indexOf(SEPARATOR) > 0;
+	}
+
+	/**
+	 * Returns the path of the archive entry addressed by the given URI, the
+	 * archive is opened on first access.
+	 */
+	public Path getPath(URI uri) throws IOException {
+		if (!isJarURI(uri)) {
+			throw new IllegalArgumentException(MessageFormat.format(
+					"URI [{0}] does not address an archive entry.", uri));
+		}
+		final String specificPart = uri.getRawSchemeSpecificPart();
+		final int separatorPosition = specificPart.indexOf(SEPARATOR);
+		final Path archive;
+		final String entryName;
+		try {
+			archive = Paths.get(
+					new URI(specificPart.substring(0, separatorPosition)))
+					.toAbsolutePath();
+			entryName = new URI("/")
+					.resolve(specificPart.substring(separatorPosition + 1))
+					.getPath();
+		} catch (URISyntaxException | IllegalArgumentException ex) {
+			throw new IOException(MessageFormat.format(
+					"Could not parse the archive entry URI [{0}].", uri), ex);
+		}
+		return getFileSystem(archive).getPath(entryName);
+	}
+
+	private FileSystem getFileSystem(Path archive) throws IOException {
+		synchronized (fileSystems) {
+			if (closed) {
+				throw new IllegalStateException("Resources are closed.");
+			}
+			FileSystem fileSystem = fileSystems.get(archive);
+			if (fileSystem == null) {
+				// Not registered with the provider, so it does not clash with
+				// file systems opened by others for the same archive
+				fileSystem = FileSystems.newFileSystem(archive,
+						(ClassLoader) null);
+				fileSystems.put(archive, fileSystem);
+			}
+			return fileSystem;
+		}
+	}
+
+	/**
+	 * Creates an input source for the given archive entry URI. The system id
+	 * of the input source is the URI.
+	 * <p>
+	 * XJC parses grammars more than once, so the input source holds no
+	 * stream: each call of {@link InputSource#getByteStream()} opens a new
+	 * stream of the entry which the caller must close.
+	 * </p>
+	 */
+	public InputSource getInputSource(URI uri) throws IOException {
+		return new EntryInputSource(StringUtils.escapeSpace(uri.toString()),
+				getPath(uri));
+	}
+
+	/**
+	 * Returns the size of the given archive entry.
+	 */
+	public long getSize(URI uri) throws IOException {
+		return Files.size(getPath(uri));
+	}
+
+	/**
+	 * Returns the CRC-32 of the given archive entry, as recorded in the
+	 * archive.
+	 */
+	public long getCrc(URI uri) throws IOException {
+		return ((Number) Files.getAttribute(getPath(uri), "zip:crc"))
+				.longValue();
+	}
+
+	/**
+	 * Opens the given archive entry for reading.
+	 */
+	public InputStream newInputStream(URI uri) throws IOException {
+		return newInputStream(getPath(uri));
+	}
+
+	private static InputStream newInputStream(Path path) throws IOException {
+		return new BufferedInputStream(Channels.newInputStream(Files
+				.newByteChannel(path)), BUFFER_SIZE);
+	}
+
+	/**
+	 * Closes all opened archives, entries can't be read afterwards.
+	 */
+	@Override
+	public void close() throws IOException {
+		IOException exception = null;
+		synchronized (fileSystems) {
+			closed = true;
+			for (FileSystem fileSystem : fileSystems.values()) {
+				try {
+					fileSystem.close();
+				} catch (IOException ioex) {
+					if (exception == null) {
+						exception = ioex;
+					} else {
+						exception.addSuppressed(ioex);
+					}
+				}
+			}
+			fileSystems.clear();
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	private static class EntryInputSource extends InputSource {
+
+		private final Path path;
+
+		public EntryInputSource(String systemId, Path path) {
+			super(systemId);
+			this.path = path;
+		}
+
+		/**
+		 * Opens a new stream of the entry on every call, unless a stream was
+		 * set explicitly.
+		 */
+		@Override
+		public InputStream getByteStream() {
+			final InputStream byteStream = super.getByteStream();
+			if (byteStream != null || getCharacterStream() != null) {
+				return byteStream;
+			}
+			try {
+				return newInputStream(path);
+			} catch (IOException ioex) {
+				throw new UncheckedIOException(MessageFormat.format(
+						"Could not open the archive entry [{0}].",
+						getSystemId()), ioex);
+			}
+		}
+	}
+}
@@ -22,6 +22,10 @@ public class JarScanner extends AbstractScanner {
      * The jar artifact to be scanned.
      */
     protected File file;
+    /**
+     * Names of the entries of the jar, read from the jar if not set.
+     */
+    protected List<String> entryNames;
     /**
      * The files which matched at least one include and no excludes.
      */
@@ -49,14 +53,12 @@ public class JarScanner extends AbstractScanner {
         filesIncluded = new ArrayList<>();
         filesExcluded = new ArrayList<>();
 
-        try (JarFile jarFile = new JarFile(file)) {
-            final Enumeration<JarEntry> jarFileEntries = jarFile.entries();
-            while (jarFileEntries.hasMoreElements()) {
-                JarEntry entry = jarFileEntries.nextElement();
-                String name = entry.getName();
+        try {
+            final List<String> names = entryNames != null ? entryNames : readEntryNames(file);
+            for (String name : names) {
                 File file = new File(destinationDir, name);
                 if ((name != null && name.startsWith("..")) || !file.toPath().normalize().startsWith(destinationDir.toPath())) {
-                    throw new IOException("Bad zip entry for " + entry.getName());
+                    throw new IOException("Bad zip entry for " + name);
                 }
                 char[][] tokenizedName = tokenizePathToCharArray(name, File.separator);
                 if (name.endsWith("/")) {
@@ -77,6 +79,20 @@ public class JarScanner extends AbstractScanner {
         }
     }
 
+    /**
+     * Reads the names of the entries of the given jar.
+     */
+    public static List<String> readEntryNames(File file) throws IOException {
+        final List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(file)) {
+            final Enumeration<JarEntry> jarFileEntries = jarFile.entries();
+            while (jarFileEntries.hasMoreElements()) {
+                names.add(jarFileEntries.nextElement().getName());
+            }
+        }
+        return names;
+    }
+
     @Override
     public String[] getIncludedFiles() {
         return filesIncluded.toArray(EMPTY_STRING_ARRAY);
@@ -108,6 +124,10 @@ public class JarScanner extends AbstractScanner {
         this.file = file;
     }
 
+    public void setEntryNames(List<String> entryNames) {
+        this.entryNames = entryNames;
+    }
+
     // copy of MatchPattern package-private methods
 
     static String[] tokenizePathToString(String path, String separator) {
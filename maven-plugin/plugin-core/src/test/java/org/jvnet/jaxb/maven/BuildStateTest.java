@@ -0,0 +1,107 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.jaxb.maven.util.JarResources;
+
+public class BuildStateTest {
+
+    @TempDir
+    public File temporaryFolder;
+
+    private File schemaFile;
+
+    private File stateFile;
+
+    @BeforeEach
+    public void createFiles() throws Exception {
+        schemaFile = new File(temporaryFolder, "schema.xsd");
+        Files.write(schemaFile.toPath(), "<schema/>".getBytes(StandardCharsets.UTF_8));
+        stateFile = new File(temporaryFolder, "state/execution.properties");
+    }
+
+    @Test
+    public void touchedFileIsUnchanged() throws Exception {
+        final List<URI> dependsURIs = Arrays.asList(schemaFile.toURI());
+        BuildState.create(dependsURIs, "options", Collections.emptyList(), null).store(stateFile);
+
+        Assertions.assertTrue(schemaFile.setLastModified(schemaFile.lastModified() + 10000));
+
+        final BuildState previous = BuildState.load(stateFile);
+        final BuildState current = BuildState.create(dependsURIs, "options", Collections.emptyList(), previous);
+        Assertions.assertTrue(current.isComplete());
+        Assertions.assertEquals(Collections.emptyList(), current.getChanges(previous));
+    }
+
+    @Test
+    public void changedContentAndOptionsAreDetected() throws Exception {
+        final List<URI> dependsURIs = Arrays.asList(schemaFile.toURI());
+        BuildState.create(dependsURIs, "options", Collections.emptyList(), null).store(stateFile);
+
+        Files.write(schemaFile.toPath(), "<schema></schema>".getBytes(StandardCharsets.UTF_8));
+
+        final BuildState previous = BuildState.load(stateFile);
+        final BuildState current = BuildState.create(dependsURIs, "other options", Collections.emptyList(), previous);
+        Assertions.assertEquals(Arrays.asList("depends." + schemaFile.toURI(), "options"),
+                current.getChanges(previous));
+    }
+
+    @Test
+    public void missingFileIsIncomplete() throws Exception {
+        final BuildState current = BuildState.create(
+                Arrays.asList(new File(temporaryFolder, "missing.xsd").toURI()), "options",
+                Collections.emptyList(), null);
+        Assertions.assertFalse(current.isComplete());
+        Assertions.assertNull(BuildState.load(stateFile));
+    }
+
+    private static void createJar(File jar, long time, String content) throws Exception {
+        try (JarOutputStream os = new JarOutputStream(new FileOutputStream(jar))) {
+            final JarEntry entry = new JarEntry("schema.xsd");
+            entry.setTime(time);
+            os.putNextEntry(entry);
+            os.write(content.getBytes(StandardCharsets.UTF_8));
+            os.closeEntry();
+        }
+    }
+
+    @Test
+    public void archiveEntriesAreComparedByContent() throws Exception {
+        final File jar = new File(temporaryFolder, "schemas.jar");
+        final List<URI> dependsURIs = Arrays.asList(new URI("jar:" + jar.toURI() + "!/schema.xsd"));
+        createJar(jar, 1000000000000L, "<schema/>");
+        try (JarResources jarResources = new JarResources()) {
+            BuildState.create(dependsURIs, "options", Collections.emptyList(), null, jarResources).store(stateFile);
+        }
+
+        createJar(jar, 1500000000000L, "<schema/>");
+        try (JarResources jarResources = new JarResources()) {
+            final BuildState previous = BuildState.load(stateFile);
+            final BuildState current = BuildState.create(dependsURIs, "options", Collections.emptyList(), previous,
+                    jarResources);
+            Assertions.assertTrue(current.isComplete());
+            Assertions.assertEquals(Collections.emptyList(), current.getChanges(previous));
+        }
+
+        createJar(jar, 1500000000000L, "<schema></schema>");
+        try (JarResources jarResources = new JarResources()) {
+            final BuildState previous = BuildState.load(stateFile);
+            final BuildState current = BuildState.create(dependsURIs, "options", Collections.emptyList(), previous,
+                    jarResources);
+            Assertions.assertEquals(Arrays.asList("depends." + dependsURIs.get(0)), current.getChanges(previous));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DependencyResourceCacheTest {
+
+    @TempDir
+    public File temporaryFolder;
+
+    private static void createJar(File jar, String... names) throws Exception {
+        try (JarOutputStream os = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String name : names) {
+                os.putNextEntry(new JarEntry(name));
+                os.write(name.getBytes("UTF-8"));
+                os.closeEntry();
+            }
+        }
+    }
+
+    @Test
+    public void readsJarEntriesOnce() throws Exception {
+        final File jar = new File(temporaryFolder, "schemas.jar");
+        createJar(jar, "a.xsd", "b/b.xsd");
+        final DependencyResourceCache cache = DependencyResourceCache.getInstance(null);
+        final List<String> names = cache.getJarEntryNames(jar);
+        Assertions.assertEquals(Arrays.asList("a.xsd", "b/b.xsd"), names);
+        Assertions.assertSame(names, cache.getJarEntryNames(jar));
+
+        createJar(jar, "a.xsd", "b/b.xsd", "c/c.xsd");
+        Assertions.assertEquals(Arrays.asList("a.xsd", "b/b.xsd", "c/c.xsd"), cache.getJarEntryNames(jar));
+    }
+
+    @Test
+    public void cachesArtifactFilesAndResourceUris() throws Exception {
+        final File jar = new File(temporaryFolder, "schemas.jar");
+        createJar(jar, "a.xsd");
+        final DependencyResourceCache cache = DependencyResourceCache.getInstance(null);
+        Assertions.assertNull(cache.getArtifactFile("g:a:jar:null:1.0"));
+        cache.putArtifactFile("g:a:jar:null:1.0", jar);
+        Assertions.assertEquals(jar, cache.getArtifactFile("g:a:jar:null:1.0"));
+        Assertions.assertNull(DependencyResourceCache.getInstance(null).getArtifactFile("g:a:jar:null:1.0"));
+
+        Assertions.assertNull(cache.getResourceUris(jar, "*.xsd"));
+        final List<URI> uris = Collections.singletonList(new URI("jar:" + jar.toURI() + "!/a.xsd"));
+        cache.putResourceUris(jar, "*.xsd", uris);
+        Assertions.assertEquals(uris, cache.getResourceUris(jar, "*.xsd"));
+        Assertions.assertNull(cache.getResourceUris(jar, "*.xjb"));
+    }
+}
@@ -0,0 +1,56 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExecutionLockTest {
+
+    @TempDir
+    public File temporaryFolder;
+
+    @Test
+    public void sharedExecutionsWithDifferentOutputsRunConcurrently() throws Exception {
+        try (ExecutionLock a = ExecutionLock.acquire(new File(temporaryFolder, "a"), false)) {
+            final CompletableFuture<Void> b = CompletableFuture.runAsync(() -> {
+                try (ExecutionLock lock = ExecutionLock.acquire(new File(temporaryFolder, "b"), false)) {
+                    // Nothing to do
+                }
+            });
+            b.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void executionsWithSameOutputAreSerialized() throws Exception {
+        final CompletableFuture<Void> b;
+        try (ExecutionLock a = ExecutionLock.acquire(new File(temporaryFolder, "a"), false)) {
+            b = CompletableFuture.runAsync(() -> {
+                try (ExecutionLock lock = ExecutionLock.acquire(new File(temporaryFolder, "a/../a"), false)) {
+                    // Nothing to do
+                }
+            });
+            Assertions.assertThrows(TimeoutException.class, () -> b.get(200, TimeUnit.MILLISECONDS));
+        }
+        b.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void exclusiveExecutionWaitsForSharedExecutions() throws Exception {
+        final CompletableFuture<Void> b;
+        try (ExecutionLock a = ExecutionLock.acquire(new File(temporaryFolder, "a"), false)) {
+            b = CompletableFuture.runAsync(() -> {
+                try (ExecutionLock lock = ExecutionLock.acquire(new File(temporaryFolder, "b"), true)) {
+                    // Nothing to do
+                }
+            });
+            Assertions.assertThrows(TimeoutException.class, () -> b.get(200, TimeUnit.MILLISECONDS));
+        }
+        b.get(5, TimeUnit.SECONDS);
+    }
+}
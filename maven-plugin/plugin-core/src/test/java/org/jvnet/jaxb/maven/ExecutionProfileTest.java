@@ -0,0 +1,68 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExecutionProfileTest {
+
+    @TempDir
+    public File temporaryFolder;
+
+    @Test
+    public void recordsPhasesAndPlugins() throws Exception {
+        final ExecutionProfile profile = new ExecutionProfile(true);
+        try (ExecutionProfile.Sample sample = profile.start(ExecutionProfile.PHASE, "generate")) {
+            try (ExecutionProfile.Sample pluginSample = profile.start(ExecutionProfile.PLUGIN, "X\"equals\"")) {
+                Assertions.assertNotNull(new byte[1024]);
+            }
+        }
+        final ExecutionProfile.Sample closedTwice = profile.start(ExecutionProfile.PHASE, "write");
+        closedTwice.close();
+        closedTwice.close();
+
+        final List<ExecutionProfile.Entry> phases = profile.getEntries(ExecutionProfile.PHASE);
+        Assertions.assertEquals(2, phases.size());
+        Assertions.assertEquals("generate", phases.get(0).getName());
+        Assertions.assertEquals(1, profile.getEntries(ExecutionProfile.PLUGIN).size());
+
+        final File file = new File(temporaryFolder, "profile/default.json");
+        profile.write(file, "default");
+        final String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Assertions.assertTrue(json.contains("\"executionId\": \"default\""));
+        Assertions.assertTrue(json.contains("{ \"name\": \"generate\", \"millis\": "));
+        Assertions.assertTrue(json.contains("{ \"name\": \"X\\\"equals\\\"\", \"millis\": "));
+    }
+
+    @Test
+    public void logsPluginEntriesSummedUpByName() {
+        final ExecutionProfile profile = new ExecutionProfile(true);
+        profile.start(ExecutionProfile.PLUGIN, "Xequals").close();
+        profile.start(ExecutionProfile.PLUGIN, "Xequals").close();
+        final List<String> messages = new ArrayList<String>();
+        profile.log(new SystemStreamLog() {
+            @Override
+            public void info(CharSequence content) {
+                messages.add(content.toString());
+            }
+        }, "default");
+        Assertions.assertEquals(3, messages.size());
+        Assertions.assertTrue(messages.get(2).startsWith("  -Xequals: "));
+    }
+
+    @Test
+    public void disabledProfileRecordsNothing() {
+        final ExecutionProfile profile = new ExecutionProfile(false);
+        try (ExecutionProfile.Sample sample = profile.start(ExecutionProfile.PHASE, "parse")) {
+            Assertions.assertFalse(profile.isEnabled());
+        }
+        Assertions.assertTrue(profile.getEntries().isEmpty());
+    }
+}
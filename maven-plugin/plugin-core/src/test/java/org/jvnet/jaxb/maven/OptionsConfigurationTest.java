@@ -0,0 +1,31 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OptionsConfigurationTest {
+
+    private static OptionsConfiguration create(String encoding, boolean enableExternalEntityProcessing,
+            boolean verbose, boolean debugMode) {
+        return new OptionsConfiguration(encoding, "XMLSCHEMA", Collections.emptyList(), Collections.emptyList(),
+                null, "org.example", new File("target/generated-sources/xjc"), false, false, false, false,
+                false, "all", "all", enableExternalEntityProcessing, false, false, true, verbose, debugMode,
+                Collections.emptyList(), Collections.emptyList(), "3.0");
+    }
+
+    @Test
+    public void digestStringIncludesOutputOptions() {
+        final String digestString = create("UTF-8", false, false, false).toDigestString();
+        Assertions.assertNotEquals(digestString, create("ISO-8859-1", false, false, false).toDigestString());
+        Assertions.assertNotEquals(digestString, create("UTF-8", true, false, false).toDigestString());
+    }
+
+    @Test
+    public void digestStringExcludesLoggingOptions() {
+        Assertions.assertEquals(create("UTF-8", false, false, false).toDigestString(),
+                create("UTF-8", false, true, true).toDigestString());
+    }
+}
@@ -0,0 +1,71 @@
+package org.jvnet.jaxb.maven.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.InputSource;
+
+public class JarResourcesTest {
+
+    private static final String CONTENT = "<schema/>";
+
+    @TempDir
+    public File temporaryFolder;
+
+    private URI createJar() throws Exception {
+        final File jar = new File(temporaryFolder, "my schemas.jar");
+        try (JarOutputStream os = new JarOutputStream(new FileOutputStream(jar))) {
+            final JarEntry entry = new JarEntry("a b/schema.xsd");
+            os.putNextEntry(entry);
+            os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+            os.closeEntry();
+        }
+        return new URI("jar:" + jar.toURI() + "!/a%20b/schema.xsd");
+    }
+
+    @Test
+    public void readsEntries() throws Exception {
+        final URI uri = createJar();
+        Assertions.assertTrue(JarResources.isJarURI(uri));
+        Assertions.assertFalse(JarResources.isJarURI(new URI("jar:http://example.org/a.jar!/a.xsd")));
+        Assertions.assertFalse(JarResources.isJarURI(new File(temporaryFolder, "a.xsd").toURI()));
+
+        try (JarResources jarResources = new JarResources()) {
+            final CRC32 crc = new CRC32();
+            crc.update(CONTENT.getBytes(StandardCharsets.UTF_8));
+            Assertions.assertEquals(crc.getValue(), jarResources.getCrc(uri));
+            Assertions.assertEquals(CONTENT.length(), jarResources.getSize(uri));
+
+            final InputSource inputSource = jarResources.getInputSource(uri);
+            Assertions.assertEquals(uri.toString(), inputSource.getSystemId());
+            // Every call opens a new stream, so the input source may be parsed more than once
+            for (int index = 0; index < 2; index++) {
+                try (InputStream is = inputSource.getByteStream()) {
+                    Assertions.assertEquals(CONTENT, IOUtils.toString(is, StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void closesArchives() throws Exception {
+        final URI uri = createJar();
+        final JarResources jarResources = new JarResources();
+        final Path path = jarResources.getPath(uri);
+        Assertions.assertTrue(path.getFileSystem().isOpen());
+        jarResources.close();
+        Assertions.assertFalse(path.getFileSystem().isOpen());
+        Assertions.assertThrows(IllegalStateException.class, () -> jarResources.getPath(uri));
+    }
+}
@@ -0,0 +1,240 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Code writer which only writes files whose content has changed. Each file is
+ * rendered into a reusable in-memory buffer and compared to the file on disk,
+ * so unchanged files keep their timestamps and are not recompiled.
+ * <p>
+ * The <code>Generated on</code> line of the XJC file header is ignored when
+ * comparing, otherwise every file would differ from the previous run.
+ * </p>
+ * <p>
+ * On {@link #close()}, files in the written package directories which were not
+ * produced by this run are deleted, if configured.
+ * </p>
+ * <p>
+ * Files may be opened and written concurrently.
+ * </p>
+ */
+public class IncrementalFileCodeWriter extends CodeWriter {
+
+	private static final byte[] GENERATED_ON = "// Generated on: ".getBytes(StandardCharsets.US_ASCII);
+
+	private static final int HEADER_LENGTH = 1024;
+
+	private final File target;
+
+	private final boolean readOnly;
+
+	private final boolean deleteStaleFiles;
+
+	private final Set<File> directories = ConcurrentHashMap.newKeySet();
+
+	private final Set<File> producedFiles = ConcurrentHashMap.newKeySet();
+
+	private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<Buffer>();
+
+	private final AtomicInteger writtenCount = new AtomicInteger();
+
+	private final AtomicInteger unchangedCount = new AtomicInteger();
+
+	private final AtomicInteger deletedCount = new AtomicInteger();
+
+	public IncrementalFileCodeWriter(File target, boolean readOnly, String encoding, boolean deleteStaleFiles)
+			throws IOException {
+		this.target = target;
+		this.readOnly = readOnly;
+		this.encoding = encoding;
+		this.deleteStaleFiles = deleteStaleFiles;
+		if (!target.exists() || !target.isDirectory()) {
+			throw new IOException(target + ": non-existent directory");
+		}
+	}
+
+	public int getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	public int getUnchangedCount() {
+		return unchangedCount.get();
+	}
+
+	public int getDeletedCount() {
+		return deletedCount.get();
+	}
+
+	@Override
+	public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+		final File directory;
+		if (pkg == null || pkg.isUnnamed()) {
+			directory = target;
+		} else {
+			directory = new File(target, pkg.name().replace('.', File.separatorChar));
+		}
+		final File file = new File(directory, fileName);
+		directories.add(directory);
+		producedFiles.add(file);
+		// Reuse the buffer of a previously closed file
+		final Buffer buffer = buffers.poll();
+		final Buffer output = buffer == null ? new Buffer() : buffer;
+		output.open(file);
+		return output;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (deleteStaleFiles) {
+			for (File directory : directories) {
+				final File[] files = directory.listFiles(new FileFilter() {
+					public boolean accept(File file) {
+						return file.isFile();
+					}
+				});
+				if (files != null) {
+					for (File file : files) {
+						if (!producedFiles.contains(file) && file.delete()) {
+							deletedCount.incrementAndGet();
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void commit(Buffer output) throws IOException {
+		final File file = output.file;
+		if (isUnchanged(output)) {
+			unchangedCount.incrementAndGet();
+		} else {
+			final File directory = file.getParentFile();
+			if (!directory.exists()) {
+				directory.mkdirs();
+			}
+			if (file.exists() && !file.canWrite()) {
+				file.setWritable(true);
+			}
+			try (OutputStream os = new FileOutputStream(file)) {
+				os.write(output.array(), 0, output.size());
+			}
+			if (readOnly) {
+				file.setReadOnly();
+			}
+			writtenCount.incrementAndGet();
+		}
+		buffers.offer(output);
+	}
+
+	private boolean isUnchanged(Buffer output) throws IOException {
+		final File file = output.file;
+		final byte[] content = output.array();
+		final int length = output.size();
+		if (!file.isFile()) {
+			return false;
+		}
+		final long fileLength = file.length();
+		// Only the header timestamp may differ in length
+		if (Math.abs(fileLength - length) > HEADER_LENGTH) {
+			return false;
+		}
+		final int existingLength = (int) fileLength;
+		final byte[] existing = output.existing(existingLength);
+		int read = 0;
+		try (InputStream is = Files.newInputStream(file.toPath())) {
+			int n;
+			while (read < existingLength && (n = is.read(existing, read, existingLength - read)) != -1) {
+				read += n;
+			}
+		}
+		if (read != existingLength) {
+			return false;
+		}
+		final int contentLine = indexOf(content, length, GENERATED_ON);
+		final int existingLine = indexOf(existing, existingLength, GENERATED_ON);
+		if (contentLine >= 0 && contentLine == existingLine) {
+			final int contentLineEnd = endOfLine(content, contentLine, length);
+			final int existingLineEnd = endOfLine(existing, existingLine, existingLength);
+			return Arrays.equals(content, 0, contentLine, existing, 0, existingLine)
+					&& Arrays.equals(content, contentLineEnd, length, existing, existingLineEnd, existingLength);
+		} else {
+			return Arrays.equals(content, 0, length, existing, 0, existingLength);
+		}
+	}
+
+	private static int indexOf(byte[] bytes, int length, byte[] pattern) {
+		final int limit = Math.min(length, HEADER_LENGTH) - pattern.length;
+		outer: for (int index = 0; index <= limit; index++) {
+			for (int offset = 0; offset < pattern.length; offset++) {
+				if (bytes[index + offset] != pattern[offset]) {
+					continue outer;
+				}
+			}
+			return index;
+		}
+		return -1;
+	}
+
+	private static int endOfLine(byte[] bytes, int start, int length) {
+		int index = start;
+		while (index < length && bytes[index] != '\n') {
+			index++;
+		}
+		return index;
+	}
+
+	private final class Buffer extends ByteArrayOutputStream {
+
+		private File file;
+
+		private boolean open;
+
+		private byte[] existing = new byte[8 * 1024];
+
+		Buffer() {
+			super(16 * 1024);
+		}
+
+		void open(File file) {
+			this.file = file;
+			this.open = true;
+			reset();
+		}
+
+		byte[] array() {
+			return buf;
+		}
+
+		byte[] existing(int length) {
+			if (existing.length < length) {
+				existing = new byte[Math.max(length, existing.length * 2)];
+			}
+			return existing;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (open) {
+				open = false;
+				commit(this);
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.writer.FilterCodeWriter;
+
+/**
+ * Builds a code model writing the generated files on a pool of worker threads.
+ * <p>
+ * The code model is formatted serially by
+ * {@link JCodeModel#build(CodeWriter, CodeWriter)} on the calling thread, each
+ * file is formatted into an in-memory buffer. Once a file is complete, its
+ * buffer is written to the target code writer on a worker thread, so only the
+ * file I/O runs in parallel and the produced files are identical to the ones
+ * of the serial build.
+ * </p>
+ */
+public class ParallelCodeModelBuilder {
+
+	private final int threads;
+
+	public ParallelCodeModelBuilder(int threads) {
+		this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Builds the code model. The code writers must be safe for concurrent
+	 * {@link CodeWriter#openSource(JPackage, String)} calls, see
+	 * {@link #synchronizedCodeWriter(CodeWriter)}.
+	 */
+	public void build(JCodeModel codeModel, CodeWriter source, CodeWriter resource) throws IOException {
+		if (threads < 2) {
+			codeModel.build(source, resource);
+			return;
+		}
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ThreadFactory threadFactory = runnable -> {
+			final Thread thread = new Thread(runnable, "xjc-write-code-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+		final ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+		try {
+			final BufferingCodeWriter bufferingSource = new BufferingCodeWriter(source, executor);
+			final BufferingCodeWriter bufferingResource = resource == source ? bufferingSource
+					: new BufferingCodeWriter(resource, executor);
+			codeModel.build(bufferingSource, bufferingResource);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Wraps the given code writer so that files are opened one at a time.
+	 * Opened writers and streams may then be written concurrently.
+	 */
+	public static CodeWriter synchronizedCodeWriter(CodeWriter core) {
+		return new FilterCodeWriter(core) {
+			@Override
+			public synchronized OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+				return super.openBinary(pkg, fileName);
+			}
+
+			@Override
+			public synchronized Writer openSource(JPackage pkg, String fileName) throws IOException {
+				return super.openSource(pkg, fileName);
+			}
+
+			@Override
+			public synchronized void close() throws IOException {
+				super.close();
+			}
+		};
+	}
+
+	/**
+	 * Buffers the files opened by the code model and writes the complete
+	 * files to the core code writer on the executor. Files are opened and
+	 * closed by the code model on a single thread.
+	 */
+	private static class BufferingCodeWriter extends CodeWriter {
+
+		private final CodeWriter core;
+
+		private final ExecutorService executor;
+
+		private final List<Future<?>> writes = new ArrayList<Future<?>>();
+
+		public BufferingCodeWriter(CodeWriter core, ExecutorService executor) {
+			this.core = core;
+			this.executor = executor;
+		}
+
+		@Override
+		public Writer openSource(final JPackage pkg, final String fileName) throws IOException {
+			return new CharArrayWriter() {
+				@Override
+				public void close() {
+					writes.add(executor.submit(() -> {
+						try (Writer writer = core.openSource(pkg, fileName)) {
+							writeTo(writer);
+						}
+						return null;
+					}));
+				}
+			};
+		}
+
+		@Override
+		public OutputStream openBinary(final JPackage pkg, final String fileName) throws IOException {
+			return new ByteArrayOutputStream() {
+				@Override
+				public void close() {
+					writes.add(executor.submit(() -> {
+						try (OutputStream os = core.openBinary(pkg, fileName)) {
+							writeTo(os);
+						}
+						return null;
+					}));
+				}
+			};
+		}
+
+		/**
+		 * Waits for the pending writes and closes the core code writer.
+		 */
+		@Override
+		public void close() throws IOException {
+			try {
+				for (Future<?> write : writes) {
+					write.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while writing code.", e);
+			} catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				} else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				} else {
+					throw new IOException(cause);
+				}
+			} finally {
+				writes.clear();
+			}
+			core.close();
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import com.sun.tools.xjc.BadCommandLineException;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
+import com.sun.tools.xjc.model.Model;
+import com.sun.tools.xjc.outline.Outline;
+
+/**
+ * Plugin which records the model post-processing and the runs of the wrapped
+ * XJC plugin in the execution profile.
+ */
+public class ProfilingPlugin extends Plugin {
+
+	private final Plugin plugin;
+
+	private final ExecutionProfile executionProfile;
+
+	public ProfilingPlugin(Plugin plugin, ExecutionProfile executionProfile) {
+		this.plugin = plugin;
+		this.executionProfile = executionProfile;
+	}
+
+	public Plugin getPlugin() {
+		return plugin;
+	}
+
+	@Override
+	public String getOptionName() {
+		return plugin.getOptionName();
+	}
+
+	@Override
+	public String getUsage() {
+		return plugin.getUsage();
+	}
+
+	@Override
+	public int parseArgument(Options opt, String[] args, int i) throws BadCommandLineException, IOException {
+		return plugin.parseArgument(opt, args, i);
+	}
+
+	@Override
+	public List<String> getCustomizationURIs() {
+		return plugin.getCustomizationURIs();
+	}
+
+	@Override
+	public boolean isCustomizationTagName(String nsUri, String localName) {
+		return plugin.isCustomizationTagName(nsUri, localName);
+	}
+
+	@Override
+	public void onActivated(Options opts) throws BadCommandLineException {
+		plugin.onActivated(opts);
+	}
+
+	@Override
+	public void postProcessModel(Model model, ErrorHandler errorHandler) {
+		try (ExecutionProfile.Sample sample = executionProfile.start(ExecutionProfile.PLUGIN,
+				plugin.getOptionName())) {
+			plugin.postProcessModel(model, errorHandler);
+		}
+	}
+
+	@Override
+	public boolean run(Outline outline, Options opt, ErrorHandler errorHandler) throws SAXException {
+		try (ExecutionProfile.Sample sample = executionProfile.start(ExecutionProfile.PLUGIN,
+				plugin.getOptionName())) {
+			return plugin.run(outline, opt, errorHandler);
+		}
+	}
+}
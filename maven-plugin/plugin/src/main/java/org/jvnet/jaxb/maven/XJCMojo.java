@@ -3,7 +3,9 @@ package org.jvnet.jaxb.maven;
 import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import com.sun.tools.xjc.Messages;
@@ -16,8 +18,10 @@ import com.sun.codemodel.CodeWriter;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JPackage;
+import com.sun.codemodel.writer.FileCodeWriter;
 import com.sun.tools.xjc.ModelLoader;
 import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
 import com.sun.tools.xjc.model.Model;
 import com.sun.tools.xjc.outline.Outline;
 
@@ -46,10 +50,34 @@ public class XJCMojo extends RawXJCMojo<Options> {
 
 	@Override
 	public void doExecute(Options options) throws MojoExecutionException {
-		final Model model = loadModel(options);
-		final Outline outline = generateCode(model);
-		writeCode(outline);
-
+		final ExecutionProfile executionProfile = getExecutionProfile();
+		// Plugins post-process the model while parsing and run while generating
+		final List<Plugin> activePlugins = options.activePlugins;
+		final List<Plugin> plugins = new ArrayList<Plugin>(activePlugins);
+		if (executionProfile.isEnabled()) {
+			activePlugins.clear();
+			for (Plugin plugin : plugins) {
+				activePlugins.add(new ProfilingPlugin(plugin, executionProfile));
+			}
+		}
+		final Outline outline;
+		try {
+			final Model model;
+			try (ExecutionProfile.Sample sample = executionProfile.start(ExecutionProfile.PHASE, "parse")) {
+				model = loadModel(options);
+			}
+			try (ExecutionProfile.Sample sample = executionProfile.start(ExecutionProfile.PHASE, "generate")) {
+				outline = generateCode(model);
+			}
+		} finally {
+			if (executionProfile.isEnabled()) {
+				activePlugins.clear();
+				activePlugins.addAll(plugins);
+			}
+		}
+		try (ExecutionProfile.Sample sample = executionProfile.start(ExecutionProfile.PHASE, "write")) {
+			writeCode(outline);
+		}
 	}
 
 	protected Model loadModel(Options options) throws MojoExecutionException {
@@ -98,17 +126,45 @@ public class XJCMojo extends RawXJCMojo<Options> {
 						MessageFormat.format("Writing output to [{0}].",
 								targetDirectory.getAbsolutePath()));
 			}
+			final ParallelCodeModelBuilder codeModelBuilder = new ParallelCodeModelBuilder(
+					getWriteCodeThreads());
+			if (getVerbose() && codeModelBuilder.getThreads() > 1) {
+				getLog().info(
+						MessageFormat.format("Writing code using [{0}] threads.",
+								codeModelBuilder.getThreads()));
+			}
 			try {
-				if (getCleanPackageDirectories()) {
-					if (getVerbose()) {
-						getLog().info("Cleaning package directories.");
+				if (getWriteChangedFilesOnly()) {
+					final IncrementalFileCodeWriter incrementalCodeWriter = new IncrementalFileCodeWriter(
+							targetDirectory, model.options.readOnly,
+							model.options.encoding, getCleanPackageDirectories());
+					final CodeWriter codeWriter = new LoggingCodeWriter(
+							model.options.createCodeWriter(incrementalCodeWriter),
+							getLog(), getVerbose());
+					codeModelBuilder.build(codeModel, codeWriter, codeWriter);
+					getLog().info(MessageFormat.format(
+							"Wrote [{0}] changed file(s), kept [{1}] unchanged file(s), deleted [{2}] stale file(s).",
+							incrementalCodeWriter.getWrittenCount(),
+							incrementalCodeWriter.getUnchangedCount(),
+							incrementalCodeWriter.getDeletedCount()));
+				} else {
+					if (getCleanPackageDirectories()) {
+						if (getVerbose()) {
+							getLog().info("Cleaning package directories.");
+						}
+						cleanPackageDirectories(targetDirectory, codeModel);
 					}
-					cleanPackageDirectories(targetDirectory, codeModel);
+					final CodeWriter coreCodeWriter = codeModelBuilder.getThreads() > 1 ?
+							ParallelCodeModelBuilder.synchronizedCodeWriter(new FileCodeWriter(
+									targetDirectory, model.options.readOnly,
+									model.options.encoding)) :
+							new FileCodeWriter(targetDirectory, model.options.readOnly,
+									model.options.encoding);
+					final CodeWriter codeWriter = new LoggingCodeWriter(
+							model.options.createCodeWriter(coreCodeWriter), getLog(),
+							getVerbose());
+					codeModelBuilder.build(codeModel, codeWriter, codeWriter);
 				}
-				final CodeWriter codeWriter = new LoggingCodeWriter(
-						model.options.createCodeWriter(), getLog(),
-						getVerbose());
-				codeModel.build(codeWriter);
 			} catch (IOException e) {
 				throw new MojoExecutionException("Unable to write files: "
 						+ e.getMessage(), e);
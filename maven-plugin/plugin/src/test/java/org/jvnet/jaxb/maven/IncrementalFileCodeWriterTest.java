@@ -0,0 +1,67 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.writer.PrologCodeWriter;
+
+public class IncrementalFileCodeWriterTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	@Test
+	public void writesChangedFilesOnly() throws Exception {
+		build("first", "A", "B");
+		final File a = new File(temporaryFolder, "org/example/A.java");
+		final File b = new File(temporaryFolder, "org/example/B.java");
+		final File stale = new File(temporaryFolder, "org/example/Stale.java");
+		Files.write(stale.toPath(), "stale".getBytes(StandardCharsets.UTF_8));
+		Assertions.assertTrue(a.setLastModified(1000L));
+		Assertions.assertTrue(b.setLastModified(1000L));
+
+		final IncrementalFileCodeWriter codeWriter = build("second, but longer", "A");
+
+		Assertions.assertEquals(1, codeWriter.getUnchangedCount());
+		Assertions.assertEquals(0, codeWriter.getWrittenCount());
+		Assertions.assertEquals(2, codeWriter.getDeletedCount());
+		Assertions.assertEquals(1000L, a.lastModified());
+		Assertions.assertFalse(b.exists());
+		Assertions.assertFalse(stale.exists());
+	}
+
+	@Test
+	public void rewritesChangedFiles() throws Exception {
+		build("first", "A");
+		final File a = new File(temporaryFolder, "org/example/A.java");
+		Assertions.assertTrue(a.setLastModified(1000L));
+
+		final JCodeModel codeModel = new JCodeModel();
+		codeModel._class("org.example.A").field(JMod.PRIVATE, codeModel.INT, "value");
+		final IncrementalFileCodeWriter codeWriter = new IncrementalFileCodeWriter(temporaryFolder, false, "UTF-8",
+				true);
+		codeModel.build(codeWriter);
+
+		Assertions.assertEquals(1, codeWriter.getWrittenCount());
+		Assertions.assertNotEquals(1000L, a.lastModified());
+		Assertions.assertTrue(new String(Files.readAllBytes(a.toPath()), StandardCharsets.UTF_8).contains("value"));
+	}
+
+	private IncrementalFileCodeWriter build(String generatedOn, String... classNames) throws Exception {
+		final JCodeModel codeModel = new JCodeModel();
+		for (String className : classNames) {
+			codeModel._class("org.example." + className);
+		}
+		final IncrementalFileCodeWriter codeWriter = new IncrementalFileCodeWriter(temporaryFolder, false, "UTF-8",
+				true);
+		codeModel.build(new PrologCodeWriter(codeWriter, "Header\nGenerated on: " + generatedOn));
+		return codeWriter;
+	}
+}
@@ -0,0 +1,83 @@
+package org.jvnet.jaxb.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.fmt.JTextFile;
+import com.sun.codemodel.writer.FileCodeWriter;
+
+public class ParallelCodeModelBuilderTest {
+
+	@TempDir
+	public File temporaryFolder;
+
+	@Test
+	public void writesSameFilesAsSerialBuild() throws Exception {
+		final File serial = new File(temporaryFolder, "serial");
+		final File parallel = new File(temporaryFolder, "parallel");
+		Assertions.assertTrue(serial.mkdirs());
+		Assertions.assertTrue(parallel.mkdirs());
+
+		createCodeModel().build(new FileCodeWriter(serial, "UTF-8"));
+		final CodeWriter codeWriter = ParallelCodeModelBuilder
+				.synchronizedCodeWriter(new FileCodeWriter(parallel, "UTF-8"));
+		new ParallelCodeModelBuilder(4).build(createCodeModel(), codeWriter, codeWriter);
+
+		final Map<String, String> serialFiles = read(serial);
+		Assertions.assertEquals(60, serialFiles.size());
+		Assertions.assertEquals(serialFiles, read(parallel));
+	}
+
+	private static JCodeModel createCodeModel() throws Exception {
+		final JCodeModel codeModel = new JCodeModel();
+		final JClass directClass = codeModel.directClass("org.example.external.Value");
+		for (int p = 0; p < 5; p++) {
+			final String packageName = "org.example.p" + p;
+			codeModel._package(packageName).javadoc().add("Package " + p);
+			final JTextFile resourceFile = new JTextFile("resource.txt");
+			resourceFile.setContents("p" + p);
+			codeModel._package(packageName).addResourceFile(resourceFile);
+			for (int c = 0; c < 10; c++) {
+				final JDefinedClass theClass = codeModel._class(packageName + ".C" + c);
+				theClass.field(JMod.PRIVATE, codeModel.ref(List.class).narrow(directClass), "values");
+				theClass.field(JMod.PRIVATE, codeModel.ref("org.example.p" + ((p + 1) % 5) + ".C" + c), "next");
+				final JMethod method = theClass.method(JMod.PUBLIC, codeModel.ref(Map.class)
+						.narrow(String.class, Object.class), "toMap");
+				method.body()._return(JExpr._new(codeModel.ref(TreeMap.class).narrow(String.class, Object.class)));
+			}
+		}
+		return codeModel;
+	}
+
+	private static Map<String, String> read(File directory) throws IOException {
+		final Path root = directory.toPath();
+		try (Stream<Path> paths = Files.walk(root)) {
+			return paths.filter(Files::isRegularFile).collect(Collectors.toMap(
+					path -> root.relativize(path).toString(), path -> {
+						try {
+							return new String(Files.readAllBytes(path), "UTF-8");
+						} catch (IOException e) {
+							throw new IllegalStateException(e);
+						}
+					}, (a, b) -> a, TreeMap::new));
+		}
+	}
+}